@@ -0,0 +1,158 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code AnimationClock} class is the simulation clock of a table,
+ * pacing both the model waits and the view animations.
+ * Durations are written at normal speed and multiplied by the time scale :
+ *  - 1 plays at normal speed, 0.1 ten times faster, 2 twice slower
+ *  - 0 is the instant mode, animations completing at once
+ * The clock can also be paused, model waits and view animations
+ * resuming where they stopped
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see GameModel
+ */
+public class AnimationClock {
+    private volatile double timeScale;
+    private volatile boolean paused;
+    private final List<Runnable> listeners;
+
+    /**
+     * Constructs a clock at normal speed
+     * @since v1.1.0
+     */
+    public AnimationClock() {
+        timeScale = 1;
+        paused = false;
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Scale a duration written at normal speed
+     * @since v1.1.0
+     *
+     * @param millis the duration at normal speed, in milliseconds
+     * @return the duration at the clock speed, in milliseconds
+     */
+    public long scale(long millis) {
+        return Math.round(millis * timeScale);
+    }
+
+    /**
+     * Wait for a duration at the clock speed, not counting the time the clock is paused
+     * @since v1.1.0
+     *
+     * @param millis the duration at normal speed, in milliseconds
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    public synchronized void sleep(long millis) throws InterruptedException {
+        long remaining = TimeUnit.MILLISECONDS.toNanos(scale(millis));
+        while ( remaining > 0 || paused) {
+            if ( paused) {
+                wait();
+                continue;
+            }
+            long start = System.nanoTime();
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining -= System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Change the clock speed, for the next waits and the running animations
+     * @since v1.1.0
+     *
+     * @param timeScale the factor applied to durations, 0 for the instant mode
+     * @throws IllegalArgumentException if the time scale is negative or not a number
+     */
+    public void setTimeScale(double timeScale) {
+        if ( !(timeScale >= 0) || Double.isInfinite(timeScale))
+            throw new IllegalArgumentException("Time scale must be a positive number : " + timeScale);
+        synchronized (this) {
+            this.timeScale = timeScale;
+            notifyAll();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Pause the clock : model waits and view animations are suspended
+     * @since v1.1.0
+     */
+    public void pause() {
+        synchronized (this) {
+            paused = true;
+            notifyAll();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Resume the clock where it was paused
+     * @since v1.1.0
+     */
+    public void resume() {
+        synchronized (this) {
+            paused = false;
+            notifyAll();
+        }
+        fireChanged();
+    }
+
+    /**
+     * Add a listener called, on the thread changing the clock,
+     * when the speed changes or the clock is paused or resumed
+     * @since v1.1.0
+     *
+     * @param listener the listener
+     */
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a listener of the clock changes
+     * @since v1.1.0
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : listeners)
+            listener.run();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public double getTimeScale() {
+        return timeScale;
+    }
+    public boolean isInstant() {
+        return timeScale == 0;
+    }
+    public boolean isPaused() {
+        return paused;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code BidAdvice} class holds the taker scores of sampled deals
+ * for each contract, and the bid they suggest.
+ * It is filled concurrently by the advisor tasks
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see BidAdvisor
+ */
+public class BidAdvice {
+    private static final Bids[] BIDS = Bids.values();
+
+    private final long[] scoreSums;
+    private long nbSamples;
+    private boolean budgetExpired;
+
+    /**
+     * Constructs an empty advice
+     * @since v1.1.0
+     */
+    public BidAdvice() {
+        scoreSums = new long[BIDS.length];
+        nbSamples = 0;
+        budgetExpired = false;
+    }
+
+    /**
+     * Add the taker scores of a sampled deal
+     * @since v1.1.0
+     *
+     * @param takerScores the taker score of each contract, indexed by bid ordinal
+     */
+    public synchronized void addSample(int[] takerScores) {
+        for (int i = 0; i < scoreSums.length; i++)
+            scoreSums[i] += takerScores[i];
+        nbSamples++;
+    }
+
+    /**
+     * Copy the samples added so far
+     * @since v1.1.0
+     *
+     * @param budgetExpired a boolean indicating if sampling was stopped by the time budget
+     * @return a copy that isn't modified by late samples
+     */
+    synchronized BidAdvice snapshot(boolean budgetExpired) {
+        BidAdvice copy = new BidAdvice();
+        System.arraycopy(scoreSums, 0, copy.scoreSums, 0, scoreSums.length);
+        copy.nbSamples = nbSamples;
+        copy.budgetExpired = budgetExpired;
+        return copy;
+    }
+
+    /**
+     * Get the expected taker score of a contract
+     * @since v1.1.0
+     *
+     * @param bid the contract, Pass scoring 0
+     * @return the mean score of the samples, 0 if there is none
+     */
+    public synchronized double getExpectedScore(Bids bid) {
+        return (nbSamples == 0) ? 0 : (double) scoreSums[bid.ordinal()] / nbSamples;
+    }
+
+    /**
+     * Get the contract of highest expected score,
+     * or Pass if every contract is expected to fail
+     * @since v1.1.0
+     *
+     * @return the suggested bid
+     */
+    public synchronized Bids getBestBid() {
+        Bids best = Bids.Pass;
+        for (Bids bid : BIDS)
+            if ( getExpectedScore(bid) > getExpectedScore(best))
+                best = bid;
+        return best;
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (Bids bid : BIDS)
+            if ( bid != Bids.Pass)
+                builder.append(bid).append(" : ").append(Math.round(getExpectedScore(bid))).append("  ");
+        return builder.append("(").append(nbSamples).append(" deals)").toString();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public synchronized long getNbSamples() {
+        return nbSamples;
+    }
+    public synchronized boolean isBudgetExpired() {
+        return budgetExpired;
+    }
+    public synchronized long[] getScoreSums() {
+        return Arrays.copyOf(scoreSums, scoreSums.length);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The {@code BidAdvisor} class suggests a bid for a hand by Monte Carlo :
+ * unseen cards are dealt at random to the other players and the talon,
+ * then each sampled deal is played out with random legal cards
+ * and scored for each contract :
+ *  - Small and Guard, the talon being taken in hand and the lowest allowed cards discarded
+ *  - Guard without and against the Kitty, the talon going to the taker or the defense
+ *
+ * Sampling is spread over a ForkJoin pool and stops when the time budget expires,
+ * the advice then holding the samples done so far
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see BidAdvice
+ * @see DealPlayout
+ */
+public class BidAdvisor {
+    public static final long DEFAULT_BUDGET_MILLIS = 200;
+    public static final int DEFAULT_MAX_SAMPLES = 100000;
+    private static final int TASKS_PER_THREAD = 2;
+    private static final int HAND_SIZE = 18;
+    private static final int EXCUSE_ID = Card.getSuitFirstId(Suit.Excuse);
+    private static final long TRUMP_LOW_MASK = CardSet.getSuitLowMask(Suit.Trump);
+    private static final long EXCUSE_HIGH_MASK = 1L << (EXCUSE_ID - 64);
+    private static final long TRUMP_OUDLERS_LOW_MASK =
+            (1L << Card.valueOfTrump(1).getId()) | (1L << Card.valueOfTrump(21).getId());
+    private static final CardSet KINGS = new CardSet();
+
+    static {
+        for (Suit suit : new Suit[]{Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club})
+            KINGS.add(Card.valueOf(suit, Rank.King).getId());
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs an advisor running on the common pool
+     * @since v1.1.0
+     */
+    public BidAdvisor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs an advisor running on a given pool
+     * @since v1.1.0
+     *
+     * @param pool the pool running the sampling tasks
+     */
+    public BidAdvisor(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Suggest a bid for a hand with the default budget
+     * @since v1.1.0
+     *
+     * @param hand the hand of the player
+     * @param takerSeat the seat of the player
+     * @param leaderSeat the seat leading the first trick
+     * @param random the random source, split for each task
+     * @return the advice
+     */
+    public BidAdvice advise(CardGroup hand, int takerSeat, int leaderSeat, SplittableRandom random) {
+        return advise(hand.getLowMask(), hand.getHighMask(), takerSeat, leaderSeat,
+                DEFAULT_BUDGET_MILLIS, DEFAULT_MAX_SAMPLES, random);
+    }
+
+    /**
+     * Suggest a bid for a hand
+     * @since v1.1.0
+     *
+     * @param handLow the hand mask of ids 0 to 63
+     * @param handHigh the hand mask of ids 64 to 77
+     * @param takerSeat the seat of the player
+     * @param leaderSeat the seat leading the first trick
+     * @param budgetMillis the time budget in milliseconds
+     * @param maxSamples the number of sampled deals after which sampling stops
+     * @param random the random source, split for each task
+     * @return the advice, holding the samples done before the budget expired
+     */
+    public BidAdvice advise(long handLow, long handHigh, int takerSeat, int leaderSeat,
+                            long budgetMillis, int maxSamples, SplittableRandom random) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        BidAdvice advice = new BidAdvice();
+
+        int nbTasks = Math.max(1, pool.getParallelism() * TASKS_PER_THREAD);
+        int samplesPerTask = (int) (((long) maxSamples + nbTasks - 1) / nbTasks);
+        SampleTask[] tasks = new SampleTask[nbTasks];
+        for (int i = 0; i < nbTasks; i++)
+            tasks[i] = new SampleTask(handLow, handHigh, takerSeat, leaderSeat,
+                    samplesPerTask, deadline, random.split(), advice);
+        for (SampleTask task : tasks)
+            pool.execute(task);
+
+        boolean budgetExpired = false;
+        for (SampleTask task : tasks) {
+            try {
+                task.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                budgetExpired = true;
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                budgetExpired = true;
+                break;
+            } catch (ExecutionException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        if ( budgetExpired)
+            for (SampleTask task : tasks)
+                task.cancel(false);
+        else
+            budgetExpired = advice.getNbSamples() < (long) samplesPerTask * nbTasks;
+        return advice.snapshot(budgetExpired);
+    }
+
+    /**
+     * Discard the cards of lowest value that can be put in the Ecart,
+     * following {@code GameModel} rules
+     * @since v1.1.0
+     *
+     * @param hands the hands masks
+     * @param seat the seat of the taker
+     * @param nbCards the number of cards to discard
+     * @param ecart the set receiving the discarded cards
+     */
+    static void discardLowest(long[] hands, int seat, int nbCards, CardSet ecart) {
+        ecart.clear();
+        for (int n = 0; n < nbCards; n++) {
+            long low = hands[2 * seat];
+            long high = hands[2 * seat + 1];
+            long allowedLow = low & ~TRUMP_LOW_MASK & ~KINGS.getLow();
+            long allowedHigh = high & ~EXCUSE_HIGH_MASK & ~KINGS.getHigh();
+            if ( (allowedLow | allowedHigh) == 0)
+                allowedLow = low & TRUMP_LOW_MASK & ~TRUMP_OUDLERS_LOW_MASK;
+
+            int discarded = -1;
+            for (long word = allowedLow; word != 0; word &= word - 1)
+                discarded = lowerCard(discarded, Long.numberOfTrailingZeros(word));
+            for (long word = allowedHigh; word != 0; word &= word - 1)
+                discarded = lowerCard(discarded, 64 + Long.numberOfTrailingZeros(word));
+            if ( discarded < 0)
+                return;
+
+            ecart.add(discarded);
+            if ( discarded < 64)
+                hands[2 * seat] &= ~(1L << discarded);
+            else
+                hands[2 * seat + 1] &= ~(1L << (discarded - 64));
+        }
+    }
+
+    /**
+     * Get the card of lowest value between two cards
+     * @since v1.1.0
+     *
+     * @param id the current card id, or -1
+     * @param otherId the other card id
+     * @return the id of the lowest card, the current one on equality
+     */
+    private static int lowerCard(int id, int otherId) {
+        if ( id < 0 || Card.valueOf(otherId).getHalfPoints() < Card.valueOf(id).getHalfPoints())
+            return otherId;
+        return id;
+    }
+
+
+    /**
+     * The {@code SampleTask} class samples and plays out deals
+     * until it has done its share or the deadline is reached
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private static class SampleTask extends RecursiveAction {
+        private final long handLow;
+        private final long handHigh;
+        private final int takerSeat;
+        private final int leaderSeat;
+        private final int nbSamples;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final BidAdvice advice;
+
+        SampleTask(long handLow, long handHigh, int takerSeat, int leaderSeat, int nbSamples,
+                   long deadline, SplittableRandom random, BidAdvice advice) {
+            this.handLow = handLow;
+            this.handHigh = handHigh;
+            this.takerSeat = takerSeat;
+            this.leaderSeat = leaderSeat;
+            this.nbSamples = nbSamples;
+            this.deadline = deadline;
+            this.random = random;
+            this.advice = advice;
+        }
+
+        @Override
+        protected void compute() {
+            CardSet hand = new CardSet(handLow, handHigh);
+            byte[] unseen = new byte[CardSet.NB_IDS - hand.size()];
+            int nbUnseen = 0;
+            for (int id = 0; id < CardSet.NB_IDS; id++)
+                if ( !hand.contains(id))
+                    unseen[nbUnseen++] = (byte) id;
+
+            DealPlayout playout = new DealPlayout();
+            long[] withTalon = new long[DealPlayout.HANDS_LENGTH];
+            long[] withoutTalon = new long[DealPlayout.HANDS_LENGTH];
+            CardSet ecart = new CardSet();
+            DealScore[] ecartScores = {new DealScore(), new DealScore()};
+            DealScore[] talonScores = {new DealScore(), new DealScore()};
+            int[] takerScores = new int[Bids.values().length];
+
+            for (int n = 0; n < nbSamples && System.nanoTime() < deadline && !isCancelled(); n++) {
+                for (int i = nbUnseen - 1; i > 0; i--) {
+                    int j = random.nextInt(i + 1);
+                    byte id = unseen[i];
+                    unseen[i] = unseen[j];
+                    unseen[j] = id;
+                }
+
+                long talonLow = 0;
+                long talonHigh = 0;
+                Arrays.fill(withoutTalon, 0L);
+                withoutTalon[2 * takerSeat] = handLow;
+                withoutTalon[2 * takerSeat + 1] = handHigh;
+                int next = 0;
+                for (int seat = 0; seat < Trick.NB_SEATS; seat++) {
+                    if ( seat == takerSeat)
+                        continue;
+                    for (int k = 0; k < HAND_SIZE; k++, next++)
+                        setBit(withoutTalon, seat, unseen[next]);
+                }
+                for (; next < nbUnseen; next++) {
+                    if ( unseen[next] < 64)
+                        talonLow |= 1L << unseen[next];
+                    else
+                        talonHigh |= 1L << (unseen[next] - 64);
+                }
+
+                //Small and Guard : talon in hand, then ecart
+                System.arraycopy(withoutTalon, 0, withTalon, 0, DealPlayout.HANDS_LENGTH);
+                withTalon[2 * takerSeat] |= talonLow;
+                withTalon[2 * takerSeat + 1] |= talonHigh;
+                discardLowest(withTalon, takerSeat, Long.bitCount(talonLow) + Long.bitCount(talonHigh), ecart);
+                ecartScores[0].start(Bids.Small, takerSeat);
+                ecartScores[1].start(Bids.Guard, takerSeat);
+                for (DealScore score : ecartScores) {
+                    declarePoignees(score, withTalon);
+                    score.addTalon(ecart.getLow(), ecart.getHigh(), true);
+                }
+                playout.play(withTalon, 0, leaderSeat, random, ecartScores);
+
+                //Guard without and against the Kitty : talon left aside
+                talonScores[0].start(Bids.GuardWithoutTheKitty, takerSeat);
+                talonScores[1].start(Bids.GuardAgainstTheKitty, takerSeat);
+                for (DealScore score : talonScores) {
+                    declarePoignees(score, withoutTalon);
+                    score.addTalon(talonLow, talonHigh, score.getBid() == Bids.GuardWithoutTheKitty);
+                }
+                playout.play(withoutTalon, 0, leaderSeat, random, talonScores);
+
+                for (DealScore score : ecartScores)
+                    takerScores[score.getBid().ordinal()] = score.getTakerScore();
+                for (DealScore score : talonScores)
+                    takerScores[score.getBid().ordinal()] = score.getTakerScore();
+                advice.addSample(takerScores);
+            }
+        }
+
+        private static void setBit(long[] hands, int seat, int id) {
+            if ( id < 64)
+                hands[2 * seat] |= 1L << id;
+            else
+                hands[2 * seat + 1] |= 1L << (id - 64);
+        }
+
+        private static void declarePoignees(DealScore score, long[] hands) {
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                score.declarePoignee(Long.bitCount(hands[2 * seat] & TRUMP_LOW_MASK)
+                        + Long.bitCount(hands[2 * seat + 1] & EXCUSE_HIGH_MASK));
+        }
+    }
+}
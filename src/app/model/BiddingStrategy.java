@@ -0,0 +1,39 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code BiddingStrategy} interface chooses the bid
+ * of a player that isn't driven by the user.
+ * A strategy can be set for each seat of a {@code GameModel}
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see HeuristicBiddingStrategy
+ * @see GameModel
+ */
+public interface BiddingStrategy {
+
+    /**
+     * Choose the bid of a player
+     * A bid that isn't higher than the highest one is a pass
+     * @since v1.1.0
+     *
+     * @param hand the player's hand, before the talon is shown
+     * @param highestBid the highest bid of previous players, or null if they all passed
+     * @return the chosen bid
+     */
+    Bids chooseBid(Hand hand, Bids highestBid);
+}
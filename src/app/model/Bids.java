@@ -17,7 +17,7 @@ package app.model;
  * The {@code Bids} enumeration defines
  * all bids that are possible
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.6
  */
 public enum Bids {
@@ -58,4 +58,37 @@ public enum Bids {
         }
         return result;
     }
+
+    /**
+     * Gets the multiplier applied to the contract score
+     * and to the Petit au bout bonus
+     * @since v1.1.0
+     *
+     * @return the bid multiplier, 0 for Pass
+     */
+    public int getMultiplier() {
+        switch (this) {
+            case Small:
+                return 1;
+            case Guard:
+                return 2;
+            case GuardWithoutTheKitty:
+                return 4;
+            case GuardAgainstTheKitty:
+                return 6;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Checks if this bid overbids another one
+     * @since v1.1.0
+     *
+     * @param other the other bid, null if there is none
+     * @return a boolean indicating if this bid is higher, Pass never being
+     */
+    public boolean isHigherThan(Bids other) {
+        return this != Pass && (other == null || other == Pass || ordinal() > other.ordinal());
+    }
 }
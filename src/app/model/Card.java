@@ -16,15 +16,14 @@ package app.model;
 import exceptions.CardNumberException;
 import exceptions.CardUniquenessException;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 /**
- * The {@code Card} class contains all the information a card can contain,
- * statistics on cards type, number and max number and a list of already
- * instantiated cards to check card uniqueness
+ * The {@code Card} class contains all the information a card can contain.
+ * Cards are immutable : the 78 canonical cards are preallocated in a registry
+ * and shared by all games, they are got with {@code valueOf()} methods.
+ * Card constructors are kept with statistics on cards number and a list
+ * of already instantiated cards to check card uniqueness
  * because there can't be multiple card with same suit and rank
  *
  * In this game there are only 78 cards :
@@ -33,7 +32,7 @@ import java.util.Objects;
  *  - 1  Excuse card
  *
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.1
  *
  * @see Suit
@@ -42,15 +41,55 @@ import java.util.Objects;
 public class Card{
     private static final int NB_MAX_CARDS = 78;
     private static final int NB_MAX_TRUMPS = 21;
+    private static final int NO_ID = -1;
+
+    //First id and number of cards of each suit, indexed by suit ordinal
+    private static final int[] SUIT_FIRST_ID = {0, 14, 28, 49, 63, 77};
+    private static final int[] SUIT_SIZE = {14, 14, 21, 14, 14, 1};
+    private static final Map<String, Integer> NAME_TO_ID = new HashMap<>();
+
+    static {
+        for (Suit s : Suit.values()) {
+            if ( s == Suit.Excuse)
+                NAME_TO_ID.put(String.valueOf(s), computeId(s, null, -1));
+            else if ( s == Suit.Trump)
+                for (int i = 1; i <= NB_MAX_TRUMPS; i++)
+                    NAME_TO_ID.put(String.valueOf(s) + String.valueOf(i), computeId(s, null, i));
+            else
+                for (Rank r : Rank.values())
+                    NAME_TO_ID.put(String.valueOf(s) + String.valueOf(r), computeId(s, r, -1));
+        }
+    }
+
+    private static final Card[] REGISTRY = new Card[NB_MAX_CARDS];
+    private static final List<Card> ALL_CARDS;
+
+    static {
+        for (Suit s : Suit.values()) {
+            if ( s == Suit.Excuse)
+                REGISTRY[computeId(s, null, -1)] = new Card(s, null, -1);
+            else if ( s == Suit.Trump)
+                for (int i = 1; i <= NB_MAX_TRUMPS; i++)
+                    REGISTRY[computeId(s, null, i)] = new Card(s, null, i);
+            else
+                for (Rank r : Rank.values())
+                    REGISTRY[computeId(s, r, -1)] = new Card(s, r, -1);
+        }
+        ALL_CARDS = Collections.unmodifiableList(Arrays.asList(REGISTRY));
+    }
+
+    private static final CardComparator COMPARATOR = new CardComparator();
 
     private static int nb = 0;
     private static List<String> cardList = new ArrayList<>();
-    private boolean shown;
 
     private final String name;
     private final Suit suit;
     private final Rank rank;
     private final int trumpRank;
+    private final int id;
+    private final boolean oudler;
+    private final int halfPoints;
 
     /**
      * Constructs a void card
@@ -68,7 +107,9 @@ public class Card{
         rank = null;
         name = "";
         trumpRank = -1;
-        shown = false;
+        id = NO_ID;
+        oudler = false;
+        halfPoints = 0;
     }
 
     /**
@@ -96,6 +137,9 @@ public class Card{
         this.rank = rank;
         this.name = String.valueOf(suit)+String.valueOf(rank);
         trumpRank = -1;
+        id = computeId(suit, rank, trumpRank);
+        oudler = computeOudler(suit, trumpRank);
+        halfPoints = computeHalfPoints(suit, rank, trumpRank);
         cardList.add(name);
     }
 
@@ -131,9 +175,142 @@ public class Card{
             this.name = String.valueOf(suit);
             trumpRank = -1;
         }
+        id = computeId(suit, null, trumpRank);
+        oudler = computeOudler(suit, trumpRank);
+        halfPoints = computeHalfPoints(suit, null, trumpRank);
         cardList.add(name);
     }
 
+    /**
+     * Constructs a canonical card of the registry
+     * It neither counts nor checks uniqueness since the registry is built once
+     * @since v1.1.0
+     *
+     * @param suit defines card suit
+     * @param rank defines card rank for classic cards
+     * @param trumpRank defines card rank for trumps
+     */
+    private Card(Suit suit, Rank rank, int trumpRank) {
+        this.suit = suit;
+        this.rank = rank;
+        this.trumpRank = trumpRank;
+        if ( suit == Suit.Trump)
+            this.name = String.valueOf(suit) + String.valueOf(trumpRank);
+        else if ( suit == Suit.Excuse)
+            this.name = String.valueOf(suit);
+        else
+            this.name = String.valueOf(suit) + String.valueOf(rank);
+        this.id = computeId(suit, rank, trumpRank);
+        this.oudler = computeOudler(suit, trumpRank);
+        this.halfPoints = computeHalfPoints(suit, rank, trumpRank);
+    }
+
+    /**
+     * Get the canonical card of an id
+     * @since v1.1.0
+     *
+     * @param id the card id, between 0 and 77
+     * @return the canonical card
+     */
+    public static Card valueOf(int id) {
+        return REGISTRY[id];
+    }
+
+    /**
+     * Get the canonical classic card of a suit and a rank
+     * @since v1.1.0
+     *
+     * @param suit the card suit (neither Trump nor Excuse)
+     * @param rank the card rank
+     * @return the canonical card
+     */
+    public static Card valueOf(Suit suit, Rank rank) {
+        return REGISTRY[computeId(suit, rank, -1)];
+    }
+
+    /**
+     * Get the canonical trump of a trump rank
+     * @since v1.1.0
+     *
+     * @param trumpRank the trump rank, between 1 and 21
+     * @return the canonical trump
+     */
+    public static Card valueOfTrump(int trumpRank) {
+        return REGISTRY[computeId(Suit.Trump, null, trumpRank)];
+    }
+
+    /**
+     * Get the canonical Excuse
+     * @since v1.1.0
+     *
+     * @return the Excuse
+     */
+    public static Card valueOfExcuse() {
+        return REGISTRY[computeId(Suit.Excuse, null, -1)];
+    }
+
+    /**
+     * Computes the fixed id of a card from its suit and rank
+     * Ids follow suit ordinal order then rank order, from 0 (SpadeAce)
+     * to 77 (Excuse), so that they can be used as bit positions in a {@code CardSet}
+     * @since v1.1.0
+     *
+     * @param suit the card suit
+     * @param rank the card rank, only used by classic suits
+     * @param trumpRank the card trump rank, only used by trumps
+     * @return the card id or -1 if suit and rank don't describe a Tarot card
+     */
+    static int computeId(Suit suit, Rank rank, int trumpRank) {
+        if ( suit == null)
+            return NO_ID;
+        else if ( suit == Suit.Excuse)
+            return SUIT_FIRST_ID[suit.ordinal()];
+        else if ( suit == Suit.Trump)
+            return ( trumpRank >= 1 && trumpRank <= NB_MAX_TRUMPS)?
+                    SUIT_FIRST_ID[suit.ordinal()] + trumpRank - 1 : NO_ID;
+        else
+            return ( rank != null)? SUIT_FIRST_ID[suit.ordinal()] + rank.ordinal() : NO_ID;
+    }
+
+    /**
+     * Check if a card is an oudler : the Petit (Trump1), the Monde (Trump21) or the Excuse
+     * @since v1.1.0
+     *
+     * @param suit the card suit
+     * @param trumpRank the card trump rank
+     * @return a boolean indicating if the card is an oudler
+     */
+    private static boolean computeOudler(Suit suit, int trumpRank) {
+        return suit == Suit.Excuse
+                || (suit == Suit.Trump && (trumpRank == 1 || trumpRank == NB_MAX_TRUMPS));
+    }
+
+    /**
+     * Compute the points of a card, counted in half points
+     * so that they are integers : oudlers and kings are worth 4.5 points,
+     * queens 3.5, knights 2.5, jacks 1.5 and other cards 0.5
+     * @since v1.1.0
+     *
+     * @param suit the card suit
+     * @param rank the card rank
+     * @param trumpRank the card trump rank
+     * @return the card half points
+     */
+    private static int computeHalfPoints(Suit suit, Rank rank, int trumpRank) {
+        if ( suit == null)
+            return 0;
+        else if ( computeOudler(suit, trumpRank) || rank == Rank.King)
+            return 9;
+        else if ( rank == Rank.Queen)
+            return 7;
+        else if ( rank == Rank.Knight)
+            return 5;
+        else if ( rank == Rank.Jack)
+            return 3;
+        else
+            return 1;
+    }
+
     /**
      * Reset static field
      * @since v0.5
@@ -146,36 +323,18 @@ public class Card{
     /**
      The {@code CardComparator} class compares two cards
      following their Rank and Suit
+     Cards are compared by sort key : their id, void cards being last
      * @author Arthur
-     * @version v1.0.0
+     * @version v1.1.0
      * @since v0.7.2
      */
     public static class CardComparator implements Comparator<Card> {
         public int compare(Card c1, Card c2){
-            //=== Cards are identical
-            if ( c1 == c2)
-                return 0;
-            //=== Cards have same suit
-            if ( c1.suit == c2.suit) {
-                if ( c1.suit != Suit.Trump)
-                    if (c1.rank != null && c2.rank != null)
-                        return ( c1.rank.ordinal() < c2.rank.ordinal() )? -1: 1;
-                    else
-                        return 0;
-                else
-                    return ( c1.trumpRank < c2.trumpRank )? -1: 1;
-            }
-            //=== Card have different suit
-            else {
-                if (c1.suit != null && c2.suit != null)
-                    return (c1.suit.ordinal() < c2.suit.ordinal()) ? -1 : 1;
-                else
-                    return 0;
-            }
+            return Integer.compare(c1.getSortKey(), c2.getSortKey());
         }
     }
 
-    //GETTERS & SETTERS - no documentation needed
+    //GETTERS - no documentation needed
 
     public static int getNbCards() {
         return nb;
@@ -186,6 +345,33 @@ public class Card{
     public static int getNbMaxTrumps() {
         return NB_MAX_TRUMPS;
     }
+    public static int getSuitFirstId(Suit suit) {
+        return SUIT_FIRST_ID[suit.ordinal()];
+    }
+    public static int getSuitSize(Suit suit) {
+        return SUIT_SIZE[suit.ordinal()];
+    }
+    public static int getIdFromName(String name) {
+        return NAME_TO_ID.getOrDefault(name, NO_ID);
+    }
+    public static List<Card> getAllCards() {
+        return ALL_CARDS;
+    }
+    public int getId() {
+        return id;
+    }
+    public int getSortKey() {
+        return (id == NO_ID) ? NB_MAX_CARDS : id;
+    }
+    public static CardComparator getComparator() {
+        return COMPARATOR;
+    }
+    public boolean isOudler() {
+        return oudler;
+    }
+    public int getHalfPoints() {
+        return halfPoints;
+    }
     public String getName() {
         return name;
     }
@@ -195,11 +381,7 @@ public class Card{
     public Rank getRank() {
         return rank;
     }
-    public boolean isShown() {
-        return shown;
-    }
-
-    public void setShown(boolean shown) {
-        this.shown = shown;
+    public int getTrumpRank() {
+        return trumpRank;
     }
 }
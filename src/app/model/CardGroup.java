@@ -16,36 +16,71 @@ package app.model;
 
 import exceptions.CardGroupNumberException;
 
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
 
 /**
  * The {@code CardGroup} class consists in a group of cards.
- * It extends {@code ArrayList} class of jav.util package
+ * Cards are kept in order in a circular array sized to the group capacity,
+ * so that taking or giving a card at the top or the bottom of the group
+ * doesn't shift the others.
+ * Group membership is also kept in a {@code CardSet} mask
+ * making card search and suit counts O(1)
  * @author Arthur
  * @author Alexandre
- * @version v1.0.2
+ * @version v1.1.0
  * @since v0.1
  *
- * @see ArrayList
+ * @see AbstractList
+ * @see CardSet
  */
-public class CardGroup extends ArrayList<Card> {
+public class CardGroup extends AbstractList<Card> implements RandomAccess {
     private final int NB_MAX_CARDS;
     private int id;
-    private static int nbInstances = 0;
+    private final TableContext table;
+
+    private final Card[] cards;
+    private int head;
+    private int size;
+    private final CardSet cardSet;
+    private final Card[] cardsById;
+    private final byte[] idOccurrences;
 
     /**
-     * Constructs a CardGroup
+     * Constructs a CardGroup on the default table
      *
      * @param NB_MAX_CARDS the max number of card a subclass of CardGroup can have
      * @throws CardGroupNumberException if user tries to create too much cardGroup
      * @since v0.1
      */
     public CardGroup(int NB_MAX_CARDS) throws CardGroupNumberException {
+        this(TableContext.getDefault(), NB_MAX_CARDS);
+    }
+
+    /**
+     * Constructs a CardGroup on a table
+     *
+     * @param table the table owning the group
+     * @param NB_MAX_CARDS the max number of card a subclass of CardGroup can have
+     * @throws CardGroupNumberException if user tries to create too much cardGroup
+     * @since v1.1.0
+     */
+    public CardGroup(TableContext table, int NB_MAX_CARDS) throws CardGroupNumberException {
         super();
-        id = nbInstances++;
+        this.table = table;
+        id = table.registerCardGroup();
         this.NB_MAX_CARDS = NB_MAX_CARDS;
+        cards = new Card[Math.max(NB_MAX_CARDS, 1)];
+        head = 0;
+        size = 0;
+        cardSet = new CardSet();
+        cardsById = new Card[CardSet.NB_IDS];
+        idOccurrences = new byte[CardSet.NB_IDS];
     }
 
     /**
@@ -59,11 +94,45 @@ public class CardGroup extends ArrayList<Card> {
         if (size() >= NB_MAX_CARDS) {
             return false;
         } else {
-            super.add(card);
+            cards[physicalIndex(size)] = card;
+            size++;
+            modCount++;
+            register(card);
             return true;
         }
     }
 
+    /**
+     * Insert a card at a specific position
+     * Cards are shifted from the nearest end of the group
+     *
+     * @param index the position of the inserted card
+     * @param card the card which is inserted
+     * @throws IllegalStateException if the group is full
+     * @since v1.1.0
+     */
+    @Override
+    public void add(int index, Card card) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        if (size() >= NB_MAX_CARDS)
+            throw new IllegalStateException("Card group is full : " + NB_MAX_CARDS + " cards");
+
+        if (index < size / 2) {
+            head = (head == 0) ? cards.length - 1 : head - 1;
+            for (int i = 0; i < index; i++)
+                cards[physicalIndex(i)] = cards[physicalIndex(i + 1)];
+        }
+        else {
+            for (int i = size; i > index; i--)
+                cards[physicalIndex(i)] = cards[physicalIndex(i - 1)];
+        }
+        cards[physicalIndex(index)] = card;
+        size++;
+        modCount++;
+        register(card);
+    }
+
     /**
      * Add all cards
      *
@@ -82,17 +151,292 @@ public class CardGroup extends ArrayList<Card> {
         return wasAdded;
     }
 
+    /**
+     * Remove the card at a specific position
+     * Cards are shifted from the nearest end of the group,
+     * so that removing the top or bottom card is O(1)
+     *
+     * @param index the position of the removed card
+     * @return the removed card
+     * @since v1.1.0
+     */
+    @Override
+    public Card remove(int index) {
+        rangeCheck(index);
+        Card removed = cards[physicalIndex(index)];
+
+        if (index < size / 2) {
+            for (int i = index; i > 0; i--)
+                cards[physicalIndex(i)] = cards[physicalIndex(i - 1)];
+            cards[head] = null;
+            head = physicalIndex(1);
+        }
+        else {
+            for (int i = index; i < size - 1; i++)
+                cards[physicalIndex(i)] = cards[physicalIndex(i + 1)];
+            cards[physicalIndex(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        unregister(removed);
+        return removed;
+    }
+
+    /**
+     * Remove a card
+     * A card that isn't in the group is rejected in O(1)
+     *
+     * @param o the card to remove
+     * @return a boolean indicating if the card has been removed
+     * @since v1.1.0
+     */
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Replace the card at a specific position
+     *
+     * @param index the position of the replaced card
+     * @param card the new card
+     * @return the replaced card
+     * @since v1.1.0
+     */
+    @Override
+    public Card set(int index, Card card) {
+        rangeCheck(index);
+        int physicalIndex = physicalIndex(index);
+        Card replaced = cards[physicalIndex];
+        cards[physicalIndex] = card;
+        register(card);
+        unregister(replaced);
+        return replaced;
+    }
+
+    /**
+     * Remove all cards of the group
+     *
+     * @since v1.1.0
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(cards, null);
+        Arrays.fill(cardsById, null);
+        Arrays.fill(idOccurrences, (byte) 0);
+        cardSet.clear();
+        head = 0;
+        size = 0;
+        modCount++;
+        groupCleared();
+    }
+
+    /**
+     * Check if a card is in the group
+     * It is O(1) for Tarot cards (cards with an id)
+     *
+     * @param o the searched card
+     * @return a boolean indicating card presence
+     * @since v1.1.0
+     */
+    @Override
+    public boolean contains(Object o) {
+        if (o instanceof Card && ((Card) o).getId() >= 0) {
+            Card card = (Card) o;
+            return cardSet.contains(card.getId())
+                    && (cardsById[card.getId()] == card || super.contains(o));
+        }
+        return super.contains(o);
+    }
+
+    /**
+     * Get the position of a card in the group
+     * A card that isn't in the group is rejected in O(1),
+     * top and bottom cards are checked first
+     *
+     * @param o the searched card
+     * @return the card position or -1 if the card isn't in the group
+     * @since v1.1.0
+     */
+    @Override
+    public int indexOf(Object o) {
+        if (o instanceof Card && !isPossibleMember((Card) o))
+            return -1;
+        if (size > 0 && Objects.equals(o, cards[head]))
+            return 0;
+        if (size > 0 && Objects.equals(o, cards[physicalIndex(size - 1)]))
+            return size - 1;
+        for (int i = 1; i < size - 1; i++)
+            if (Objects.equals(o, cards[physicalIndex(i)]))
+                return i;
+        return -1;
+    }
+
+    /**
+     * Get the last position of a card in the group
+     *
+     * @param o the searched card
+     * @return the card position or -1 if the card isn't in the group
+     * @since v1.1.0
+     */
+    @Override
+    public int lastIndexOf(Object o) {
+        if (o instanceof Card && !isPossibleMember((Card) o))
+            return -1;
+        for (int i = size - 1; i >= 0; i--)
+            if (Objects.equals(o, cards[physicalIndex(i)]))
+                return i;
+        return -1;
+    }
+
+
+    /**
+     * Shuffle the group in place (Fisher–Yates)
+     * Group membership doesn't change, so the mask is kept as is
+     *
+     * @param random the random generator drawing the permutation
+     * @since v1.1.0
+     */
+    public void shuffle(SplittableRandom random) {
+        for (int i = size - 1; i > 0; i--) {
+            int swappedIndex = physicalIndex(random.nextInt(i + 1));
+            int physicalIndex = physicalIndex(i);
+            Card swapped = cards[physicalIndex];
+            cards[physicalIndex] = cards[swappedIndex];
+            cards[swappedIndex] = swapped;
+        }
+        modCount++;
+    }
+
+
+    /**
+     * Sort the group
+     * Sorting following cards order is done in linear time
+     * without allocation (see {@code sortByKey})
+     *
+     * @param comparator the cards comparator
+     * @since v1.1.0
+     */
+    @Override
+    public void sort(Comparator<? super Card> comparator) {
+        if (comparator instanceof Card.CardComparator)
+            sortByKey();
+        else
+            super.sort(comparator);
+    }
+
+    /**
+     * Sort the group following cards sort keys
+     * When each card is a Tarot card present once, cards are
+     * read back from the mask in id order, which is the sort order.
+     * Otherwise, a stable sort is used
+     *
+     * @since v1.1.0
+     */
+    public void sortByKey() {
+        if (cardSet.size() == size) {
+            int i = 0;
+            for (int cardId = cardSet.nextId(0); cardId >= 0; cardId = cardSet.nextId(cardId + 1))
+                cards[i++] = cardsById[cardId];
+            Arrays.fill(cards, size, cards.length, null);
+            head = 0;
+            modCount++;
+        }
+        else
+            super.sort(Card.getComparator());
+    }
+
+
+    /**
+     * Rotate the group in place : the card at a position
+     * becomes the top card and the cards before it go under the others
+     * It is O(1) when the group is full, one reversal pass otherwise
+     *
+     * @param distance the position of the new top card, taken modulo the group size
+     * @since v1.1.0
+     */
+    public void rotate(int distance) {
+        if (size == 0)
+            return;
+        distance = Math.floorMod(distance, size);
+        if (distance == 0)
+            return;
+
+        if (size == cards.length)
+            head = physicalIndex(distance);
+        else {
+            reverse(0, distance);
+            reverse(distance, size);
+            reverse(0, size);
+        }
+        modCount++;
+    }
+
+    /**
+     * Cut the group : the top cards are put under the others
+     *
+     * @param nbCards the number of cards of the top part
+     * @since v1.1.0
+     */
+    public void cut(int nbCards) {
+        if (nbCards < 0 || nbCards > size)
+            throw new IndexOutOfBoundsException("Cut: " + nbCards + ", Size: " + size);
+        rotate(nbCards);
+    }
+
+    /**
+     * Move the top cards of the group under the cards of another group
+     * Moving stops if the target group is full
+     *
+     * @param nbCards the number of cards to move
+     * @param target the group receiving the cards
+     * @return the number of moved cards
+     * @since v1.1.0
+     */
+    public int takeTop(int nbCards, CardGroup target) {
+        int nbMoved = 0;
+        while (nbMoved < nbCards && size > 0 && target.size() < target.getNbMaxCards()) {
+            Card card = cards[head];
+            cards[head] = null;
+            head = physicalIndex(1);
+            size--;
+            unregister(card);
+            target.add(card);
+            nbMoved++;
+        }
+        if (nbMoved > 0)
+            modCount++;
+        return nbMoved;
+    }
+
+
+    /**
+     * Count the cards of a suit in the group
+     *
+     * @param suit the suit whose cards are counted
+     * @return the number of cards of this suit
+     * @since v1.1.0
+     */
+    public int countSuit(Suit suit) {
+        return cardSet.countSuit(suit);
+    }
+
 
     /**
      * Display all the cards of a card group
      *
      * @return a string containing all CardGroup's cards name
      * @since v0.6
+     * @param shownCards the cards whose face is shown
      */
-    public String cardListToString() {
+    public String cardListToString(CardSet shownCards) {
         StringBuilder result = new StringBuilder();
         for (Card c : this) {
-            if (c.isShown())
+            if (shownCards.contains(c.getId()))
                 result.append(c.getName()).append("; ");
             else
                 result.append("?? ; ");
@@ -108,10 +452,7 @@ public class CardGroup extends ArrayList<Card> {
      * @param nameToFind the name searched
      */
     public boolean findInCardsList(String nameToFind) {
-        for (Card c : this)
-            if (Objects.equals(c.getName(), nameToFind))
-                return true;
-        return false;
+        return getInCardsList(nameToFind) != null;
     }
 
     /**
@@ -122,12 +463,126 @@ public class CardGroup extends ArrayList<Card> {
      * @param nameToFind the name searched
      */
     public Card getInCardsList(String nameToFind) {
+        int cardId = Card.getIdFromName(nameToFind);
+        if (cardId >= 0)
+            return cardSet.contains(cardId) ? cardsById[cardId] : null;
+
         for (Card c : this)
             if (Objects.equals(c.getName(), nameToFind))
                 return c;
         return null;
     }
 
+
+    /**
+     * Get the position in the circular array of a group position
+     * @since v1.1.0
+     *
+     * @param index the group position
+     * @return the array position
+     */
+    private int physicalIndex(int index) {
+        int physicalIndex = head + index;
+        return (physicalIndex >= cards.length) ? physicalIndex - cards.length : physicalIndex;
+    }
+
+    /**
+     * Reverse the order of the cards between two group positions
+     * @since v1.1.0
+     *
+     * @param from the first position (included)
+     * @param to the last position (excluded)
+     */
+    private void reverse(int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            int physicalI = physicalIndex(i);
+            int physicalJ = physicalIndex(j);
+            Card swapped = cards[physicalI];
+            cards[physicalI] = cards[physicalJ];
+            cards[physicalJ] = swapped;
+        }
+    }
+
+    /**
+     * Check if a position is inside the group
+     * @since v1.1.0
+     *
+     * @param index the checked position
+     */
+    private void rangeCheck(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+
+    /**
+     * Check with the mask if a card can be in the group
+     * Cards without id can't be checked and are always possible members
+     * @since v1.1.0
+     *
+     * @param card the checked card
+     * @return false if the card is surely not in the group
+     */
+    private boolean isPossibleMember(Card card) {
+        return card.getId() < 0 || cardSet.contains(card.getId());
+    }
+
+    /**
+     * Record a card that enters the group in the mask
+     * @since v1.1.0
+     *
+     * @param card the entering card
+     */
+    private void register(Card card) {
+        if (card != null && card.getId() >= 0) {
+            if (idOccurrences[card.getId()]++ == 0)
+                cardSet.add(card.getId());
+            cardsById[card.getId()] = card;
+        }
+        if (card != null)
+            cardAdded(card);
+    }
+
+    /**
+     * Remove a card that leaves the group from the mask
+     * @since v1.1.0
+     *
+     * @param card the leaving card
+     */
+    private void unregister(Card card) {
+        if (card != null && card.getId() >= 0 && --idOccurrences[card.getId()] == 0) {
+            cardSet.remove(card.getId());
+            cardsById[card.getId()] = null;
+        }
+        if (card != null)
+            cardRemoved(card);
+    }
+
+    /**
+     * Called each time a card enters the group,
+     * allowing subclasses to keep statistics up to date
+     * @since v1.1.0
+     *
+     * @param card the entering card
+     */
+    protected void cardAdded(Card card) {
+    }
+
+    /**
+     * Called each time a card leaves the group
+     * @since v1.1.0
+     *
+     * @param card the leaving card
+     */
+    protected void cardRemoved(Card card) {
+    }
+
+    /**
+     * Called when all cards leave the group at once
+     * @since v1.1.0
+     */
+    protected void groupCleared() {
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -148,8 +603,28 @@ public class CardGroup extends ArrayList<Card> {
 
     //GETTERS - no documentation needed
 
+    @Override
+    public Card get(int index) {
+        rangeCheck(index);
+        return cards[physicalIndex(index)];
+    }
+    @Override
+    public int size() {
+        return size;
+    }
     public int getNbMaxCards() {
         return NB_MAX_CARDS;
     }
-
-}
\ No newline at end of file
+    public TableContext getTable() {
+        return table;
+    }
+    public long getLowMask() {
+        return cardSet.getLow();
+    }
+    public long getHighMask() {
+        return cardSet.getHigh();
+    }
+    public Card getCardById(int cardId) {
+        return cardSet.contains(cardId) ? cardsById[cardId] : null;
+    }
+}
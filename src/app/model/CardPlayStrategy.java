@@ -0,0 +1,41 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code CardPlayStrategy} interface chooses the card
+ * a player that isn't driven by the user puts in a trick.
+ * A strategy can be set for each seat of a {@code GameModel}
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see RandomCardPlayStrategy
+ * @see IsmctsCardPlayStrategy
+ * @see GameModel
+ */
+public interface CardPlayStrategy {
+
+    /**
+     * Choose the card of a player
+     * @since v1.1.0
+     *
+     * @param seat the player's seat
+     * @param hand the player's hand
+     * @param trick the trick being played, empty if the player leads
+     * @param history the cards played since the beginning of the deal, current trick included
+     * @param tracker the inferences drawn from the played cards
+     * @return the id of a legal card of the hand
+     */
+    int chooseCard(int seat, CardGroup hand, Trick trick, PlayHistory history, CardTracker tracker);
+}
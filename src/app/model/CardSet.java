@@ -0,0 +1,259 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code CardSet} class is a set of cards stored as a 128 bits mask.
+ * Each of the 78 cards has a fixed id (see {@code Card.getId()})
+ * which is its bit position : ids 0 to 63 are in the low word,
+ * ids 64 to 77 in the high word.
+ *
+ * Membership, add, remove and suit counts are O(1)
+ * and iteration follows id order, which is the cards sort order
+ *
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Card
+ * @see CardGroup
+ */
+public class CardSet {
+    public static final int NB_IDS = 78;
+
+    private static final long[] SUIT_LOW_MASKS = new long[Suit.values().length];
+    private static final long[] SUIT_HIGH_MASKS = new long[Suit.values().length];
+
+    static {
+        for (Suit s : Suit.values()) {
+            for (int id = Card.getSuitFirstId(s); id < Card.getSuitFirstId(s) + Card.getSuitSize(s); id++) {
+                if ( id < 64)
+                    SUIT_LOW_MASKS[s.ordinal()] |= 1L << id;
+                else
+                    SUIT_HIGH_MASKS[s.ordinal()] |= 1L << (id - 64);
+            }
+        }
+    }
+
+    private long low;
+    private long high;
+
+    /**
+     * Constructs an empty card set
+     * @since v1.1.0
+     */
+    public CardSet() {
+        low = 0L;
+        high = 0L;
+    }
+
+    /**
+     * Constructs a card set from its two mask words
+     * @since v1.1.0
+     *
+     * @param low the mask of ids 0 to 63
+     * @param high the mask of ids 64 to 77
+     */
+    public CardSet(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+
+    /**
+     * Add a card id to the set
+     * @since v1.1.0
+     *
+     * @param id the card id
+     * @return a boolean indicating if the set has changed
+     */
+    public boolean add(int id) {
+        boolean wasAdded = !contains(id);
+        if ( id < 0 || id >= NB_IDS)
+            return false;
+        else if ( id < 64)
+            low |= 1L << id;
+        else
+            high |= 1L << (id - 64);
+        return wasAdded;
+    }
+
+    /**
+     * Remove a card id from the set
+     * @since v1.1.0
+     *
+     * @param id the card id
+     * @return a boolean indicating if the set has changed
+     */
+    public boolean remove(int id) {
+        boolean wasRemoved = contains(id);
+        if ( !wasRemoved)
+            return false;
+        else if ( id < 64)
+            low &= ~(1L << id);
+        else
+            high &= ~(1L << (id - 64));
+        return wasRemoved;
+    }
+
+    /**
+     * Check if a card id belongs to the set
+     * @since v1.1.0
+     *
+     * @param id the card id
+     * @return a boolean indicating card presence
+     */
+    public boolean contains(int id) {
+        if ( id < 0 || id >= NB_IDS)
+            return false;
+        else if ( id < 64)
+            return (low & (1L << id)) != 0;
+        else
+            return (high & (1L << (id - 64))) != 0;
+    }
+
+    /**
+     * Count the cards of a suit in the set
+     * @since v1.1.0
+     *
+     * @param suit the suit whose cards are counted
+     * @return the number of cards of the suit
+     */
+    public int countSuit(Suit suit) {
+        return Long.bitCount(low & SUIT_LOW_MASKS[suit.ordinal()])
+                + Long.bitCount(high & SUIT_HIGH_MASKS[suit.ordinal()]);
+    }
+
+    /**
+     * Check if the set has Petit Sec :
+     * the Petit as only Trump and no Excuse
+     * @since v1.1.0
+     *
+     * @return a boolean indicating "Petit Sec" presence
+     */
+    public boolean hasPetitSec() {
+        return hasPetitSec(low, high);
+    }
+
+    /**
+     * Check if a mask has Petit Sec, without instantiating a set
+     * @since v1.1.0
+     *
+     * @param low the mask of ids 0 to 63
+     * @param high the mask of ids 64 to 77
+     * @return a boolean indicating "Petit Sec" presence
+     */
+    public static boolean hasPetitSec(long low, long high) {
+        int petitId = Card.getSuitFirstId(Suit.Trump);
+        int excuseId = Card.getSuitFirstId(Suit.Excuse);
+        return (low & SUIT_LOW_MASKS[Suit.Trump.ordinal()]) == 1L << petitId
+                && (high & SUIT_HIGH_MASKS[Suit.Trump.ordinal()]) == 0
+                && (high & (1L << (excuseId - 64))) == 0;
+    }
+
+    /**
+     * Get the first id of the set that is greater or equal to a given id
+     * This allows ordered iteration :
+     * {@code for (int id = set.nextId(0); id >= 0; id = set.nextId(id+1))}
+     * @since v1.1.0
+     *
+     * @param fromId the id from which the search starts
+     * @return the next id or -1 if there is none
+     */
+    public int nextId(int fromId) {
+        if ( fromId < 64) {
+            long word = low & (-1L << Math.max(fromId, 0));
+            if ( word != 0)
+                return Long.numberOfTrailingZeros(word);
+            fromId = 64;
+        }
+        if ( fromId < NB_IDS) {
+            long word = high & (-1L << (fromId - 64));
+            if ( word != 0)
+                return 64 + Long.numberOfTrailingZeros(word);
+        }
+        return -1;
+    }
+
+    /**
+     * Get the id of the set at a given rank in id order
+     * @since v1.1.0
+     *
+     * @param n the rank of the id, between 0 and size()-1
+     * @return the n-th id of the set, or -1 if the set is smaller
+     */
+    public int getNthId(int n) {
+        int lowCount = Long.bitCount(low);
+        long word = low;
+        int base = 0;
+        if ( n >= lowCount) {
+            n -= lowCount;
+            word = high;
+            base = 64;
+        }
+        for (int i = 0; i < n && word != 0; i++)
+            word &= word - 1;
+        return (word == 0) ? -1 : base + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Remove all cards from the set
+     * @since v1.1.0
+     */
+    public void clear() {
+        low = 0L;
+        high = 0L;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        CardSet cardSet = (CardSet) o;
+
+        return low == cardSet.low && high == cardSet.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(low) + Long.hashCode(high);
+    }
+
+
+    //GETTERS & SETTERS - no documentation needed
+
+    public static long getSuitLowMask(Suit suit) {
+        return SUIT_LOW_MASKS[suit.ordinal()];
+    }
+    public static long getSuitHighMask(Suit suit) {
+        return SUIT_HIGH_MASKS[suit.ordinal()];
+    }
+    public long getLow() {
+        return low;
+    }
+    public long getHigh() {
+        return high;
+    }
+    public int size() {
+        return Long.bitCount(low) + Long.bitCount(high);
+    }
+    public boolean isEmpty() {
+        return (low | high) == 0;
+    }
+
+    public void set(long low, long high) {
+        this.low = low;
+        this.high = high;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code CardTracker} class keeps what every player knows about the cards of a deal
+ * being played, updated on each played card without looking back at the previous tricks :
+ *  - the played cards, and the number of cards played by each player
+ *  - the suits each player is void in : a player not following the led suit is void in it,
+ *    and out of Trumps if a Trump isn't played either
+ *  - the highest Trump each player may still hold : a player not overtrumping
+ *    when he has to has no higher Trump
+ * Queries are O(1) mask operations, and nothing is allocated when a card is played.
+ *
+ * Its {@code Sampler} deals the cards unseen by a player to the others,
+ * consistently with these inferences
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Trick
+ * @see CardPlayStrategy
+ */
+public class CardTracker {
+    public static final int ASIDE = Trick.NB_SEATS;
+    private static final int MAX_SAMPLING_TRIES = 20;
+    private static final long ALL_LOW_MASK = -1L;
+    private static final long ALL_HIGH_MASK = (1L << (CardSet.NB_IDS - 64)) - 1;
+    private static final int TRUMP_BIT = 1 << Suit.Trump.ordinal();
+    private static final int HIGHEST_TRUMP_ID = Card.valueOfTrump(21).getId();
+
+    private final int[] nbPlayed;
+    private final int[] voidSuits;
+    private final int[] maxTrumpIds;
+    private final Trick trick;
+    private long playedLow;
+    private long playedHigh;
+    private int nbCards;
+
+    /**
+     * Constructs a tracker for a deal not started yet
+     * @since v1.1.0
+     */
+    public CardTracker() {
+        nbPlayed = new int[Trick.NB_SEATS];
+        voidSuits = new int[Trick.NB_SEATS];
+        maxTrumpIds = new int[Trick.NB_SEATS];
+        trick = new Trick();
+        start();
+    }
+
+    /**
+     * Forget everything for a new deal
+     * @since v1.1.0
+     */
+    public void start() {
+        for (int seat = 0; seat < Trick.NB_SEATS; seat++) {
+            nbPlayed[seat] = 0;
+            voidSuits[seat] = 0;
+            maxTrumpIds[seat] = HIGHEST_TRUMP_ID;
+        }
+        trick.reset();
+        playedLow = 0;
+        playedHigh = 0;
+        nbCards = 0;
+    }
+
+    /**
+     * Update the inferences with a played card
+     * A trick being 4 cards, the tracker follows tricks by itself
+     * @since v1.1.0
+     *
+     * @param seat the seat of the player
+     * @param cardId the played card id
+     */
+    public void cardPlayed(int seat, int cardId) {
+        if ( trick.isComplete())
+            trick.reset();
+        Suit suit = Card.valueOf(cardId).getSuit();
+        Suit ledSuit = trick.getLedSuit();
+        if ( ledSuit != null && suit != Suit.Excuse) {
+            if ( suit != ledSuit && suit != Suit.Trump) {
+                voidSuits[seat] |= (1 << ledSuit.ordinal()) | TRUMP_BIT;
+                maxTrumpIds[seat] = -1;
+            }
+            else if ( suit != ledSuit)
+                voidSuits[seat] |= 1 << ledSuit.ordinal();
+            if ( suit == Suit.Trump && cardId < trick.getHighestTrumpId())
+                maxTrumpIds[seat] = Math.min(maxTrumpIds[seat], trick.getHighestTrumpId() - 1);
+        }
+        trick.play(seat, cardId);
+
+        if ( cardId < 64)
+            playedLow |= 1L << cardId;
+        else
+            playedHigh |= 1L << (cardId - 64);
+        nbPlayed[seat]++;
+        nbCards++;
+    }
+
+    /**
+     * Create a sampler of the cards unseen by a player
+     * @since v1.1.0
+     *
+     * @param seat the player's seat
+     * @param handLow the player's hand mask of ids 0 to 63
+     * @param handHigh the player's hand mask of ids 64 to 77
+     * @param asideLow the mask of ids 0 to 63 the player knows are put aside (its Ecart)
+     * @param asideHigh the mask of ids 64 to 77 the player knows are put aside
+     * @return a sampler, which has to be used by one thread only
+     */
+    public Sampler newSampler(int seat, long handLow, long handHigh, long asideLow, long asideHigh) {
+        return new Sampler(seat, handLow, handHigh, asideLow, asideHigh);
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public boolean isPlayed(int cardId) {
+        return (((cardId < 64) ? playedLow >>> cardId : playedHigh >>> (cardId - 64)) & 1) != 0;
+    }
+    public long getPlayedLow() {
+        return playedLow;
+    }
+    public long getPlayedHigh() {
+        return playedHigh;
+    }
+    public long getUnseenLow(long handLow) {
+        return ALL_LOW_MASK & ~playedLow & ~handLow;
+    }
+    public long getUnseenHigh(long handHigh) {
+        return ALL_HIGH_MASK & ~playedHigh & ~handHigh;
+    }
+    public int getNbCards() {
+        return nbCards;
+    }
+    public int getNbPlayed(int seat) {
+        return nbPlayed[seat];
+    }
+    public boolean isVoid(int seat, Suit suit) {
+        return (voidSuits[seat] & (1 << suit.ordinal())) != 0;
+    }
+    public int getVoidSuits(int seat) {
+        return voidSuits[seat];
+    }
+    public int getMaxTrumpId(int seat) {
+        return maxTrumpIds[seat];
+    }
+
+
+    /**
+     * The {@code Sampler} class deals the cards unseen by a player to the other players
+     * and aside, each one receiving its exact number of cards.
+     * A card only goes to a player who may hold it, in proportion of the cards players miss,
+     * the most constrained cards first. After too many dead ends, inferences are ignored.
+     * Its constraints are read when it is created, sampling allocates nothing
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    public class Sampler {
+        private final int seat;
+        private final long handLow;
+        private final long handHigh;
+        private final int[] unseenIds;
+        private final int[] receiverMasks;
+        private final int[] cardCounts;
+        private final int[] capacities;
+        private final int nbUnseen;
+
+        private Sampler(int seat, long handLow, long handHigh, long asideLow, long asideHigh) {
+            this.seat = seat;
+            this.handLow = handLow;
+            this.handHigh = handHigh;
+            long unseenLow = getUnseenLow(handLow) & ~asideLow;
+            long unseenHigh = getUnseenHigh(handHigh) & ~asideHigh;
+            nbUnseen = Long.bitCount(unseenLow) + Long.bitCount(unseenHigh);
+            unseenIds = new int[nbUnseen];
+            receiverMasks = new int[nbUnseen];
+            cardCounts = new int[Trick.NB_SEATS + 1];
+            capacities = new int[Trick.NB_SEATS + 1];
+
+            int nbAside = nbUnseen;
+            int handSize = Long.bitCount(handLow) + Long.bitCount(handHigh);
+            for (int i = 0; i < Trick.NB_SEATS; i++) {
+                cardCounts[i] = (i == seat) ? 0 : handSize + nbPlayed[seat] - nbPlayed[i];
+                nbAside -= cardCounts[i];
+            }
+            cardCounts[ASIDE] = nbAside;
+
+            //most constrained cards first, to avoid dead ends
+            CardSet unseen = new CardSet(unseenLow, unseenHigh);
+            int n = 0;
+            for (int nbReceivers = 1; nbReceivers <= Trick.NB_SEATS + 1; nbReceivers++) {
+                for (int id = unseen.nextId(0); id >= 0; id = unseen.nextId(id + 1)) {
+                    int mask = getReceiverMask(id);
+                    if ( Integer.bitCount(mask) == nbReceivers) {
+                        unseenIds[n] = id;
+                        receiverMasks[n++] = mask;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get the players who may hold a card, aside included
+         */
+        private int getReceiverMask(int id) {
+            Card card = Card.valueOf(id);
+            int mask = 1 << ASIDE;
+            for (int i = 0; i < Trick.NB_SEATS; i++) {
+                if ( i == seat || (voidSuits[i] & (1 << card.getSuit().ordinal())) != 0)
+                    continue;
+                if ( card.getSuit() == Suit.Trump && id > maxTrumpIds[i])
+                    continue;
+                mask |= 1 << i;
+            }
+            return mask;
+        }
+
+        /**
+         * Deal the unseen cards
+         * @since v1.1.0
+         *
+         * @param random the random source
+         * @param hands the buffer receiving the 4 hands masks, the player's hand included
+         * @return a boolean indicating if the deal respects all inferences
+         */
+        public boolean sample(SplittableRandom random, long[] hands) {
+            for (int tries = 0; tries < MAX_SAMPLING_TRIES; tries++)
+                if ( tryDeal(random, hands, true))
+                    return true;
+            tryDeal(random, hands, false);
+            return false;
+        }
+
+        private boolean tryDeal(SplittableRandom random, long[] hands, boolean withInferences) {
+            for (int i = 0; i < DealPlayout.HANDS_LENGTH; i++)
+                hands[i] = 0;
+            hands[2 * seat] = handLow;
+            hands[2 * seat + 1] = handHigh;
+            System.arraycopy(cardCounts, 0, capacities, 0, capacities.length);
+
+            for (int n = 0; n < nbUnseen; n++) {
+                int mask = withInferences ? receiverMasks[n] : (1 << (ASIDE + 1)) - 1;
+                int total = 0;
+                for (int i = 0; i <= ASIDE; i++)
+                    if ( (mask >>> i & 1) != 0)
+                        total += capacities[i];
+                if ( total == 0)
+                    return false;
+
+                int drawn = random.nextInt(total);
+                int receiver = 0;
+                for (; receiver < ASIDE; receiver++) {
+                    if ( (mask >>> receiver & 1) != 0) {
+                        drawn -= capacities[receiver];
+                        if ( drawn < 0)
+                            break;
+                    }
+                }
+                capacities[receiver]--;
+                int id = unseenIds[n];
+                if ( receiver < ASIDE) {
+                    if ( id < 64)
+                        hands[2 * receiver] |= 1L << id;
+                    else
+                        hands[2 * receiver + 1] |= 1L << (id - 64);
+                }
+            }
+            return true;
+        }
+
+
+        //GETTERS - no documentation needed
+
+        public int getNbUnseen() {
+            return nbUnseen;
+        }
+        public int getCardCount(int receiver) {
+            return cardCounts[receiver];
+        }
+    }
+}
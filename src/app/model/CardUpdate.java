@@ -13,13 +13,19 @@ limitations under the License.
 
 package app.model;
 
-import app.presenter.AppPresenter;
 import com.sun.istack.internal.NotNull;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * This class is a container which is passed when calling notifyObservers() method.
+ * This class is a container which is published on the model card updates channel.
  * It indicate to view what action to perform on a specific card with sometimes a specific cardGroup.
  * @author Alexandre
  * @version v1.0.0
@@ -30,8 +36,32 @@ public class CardUpdate {
     private CardGroup cardGroup;
     private Card card;
     private CardUpdateType type;
-    private boolean animationFinished = false;
+    private final AtomicBoolean animationFinished = new AtomicBoolean(false);
+    private final AtomicInteger pendingAnimations = new AtomicInteger(1);
+    private final AtomicReference<CardUpdate> parent = new AtomicReference<>();
     private ArrayList<CardUpdate> subUpdates = new ArrayList<>();
+    private final CompletableFuture<CardUpdate> completion = new CompletableFuture<>();
+    private ArrayList<CardUpdate> moves = new ArrayList<>();
+    private ArrayList<Long> moveStartOffsets = new ArrayList<>();
+
+
+    /**
+     * Constructs an empty batch of moves, filled with {@code addMove}
+     * @since v1.1.0
+     *
+     * @param type the type, which must be MOVE_CARDS
+     */
+    public CardUpdate(CardUpdateType type) {
+        if (type != CardUpdateType.MOVE_CARDS) {
+            System.err.println("Cannot do the specific action : " + type.toString()
+                    + " without specifying the card or the group. The update will be canceled.");
+            this.type = null;
+        }
+        else
+            this.type = type;
+        this.card = null;
+        this.cardGroup = null;
+    }
 
 
     /**
@@ -98,6 +128,8 @@ public class CardUpdate {
 
     /**
      * Add a sub-Update to cardUpdate
+     * The update is only completed once all its sub-updates are,
+     * a sub-update already completed being ignored
      * @since v0.9
      *
      * @param cardUpdate the cardUpdate on which to add sub-update
@@ -105,75 +137,106 @@ public class CardUpdate {
     public void addSubUpdate(CardUpdate cardUpdate)
     {
         subUpdates.add(cardUpdate);
+        pendingAnimations.incrementAndGet();
+        if ( !cardUpdate.parent.compareAndSet(null, this))
+            endAnimation();
+    }
+
+
+    /**
+     * Add a move to a batch of moves
+     * Moves are animated in the order they are added,
+     * each one starting at its offset from the start of the batch animation
+     * @since v1.1.0
+     *
+     * @param card the moved card
+     * @param target the cardGroup receiving the card
+     * @param startOffsetMillis the start of the move animation, in milliseconds
+     */
+    public void addMove(@NotNull Card card, CardGroup target, long startOffsetMillis)
+    {
+        moves.add(new CardUpdate(CardUpdateType.MOVE_CARD_BETWEEN_GROUPS, card, target));
+        moveStartOffsets.add(startOffsetMillis);
     }
 
 
     /**
      * Set an animation as finished for model to resume its logic
+     * Only the first call is counted
      * @since v0.9
      */
     public void setAnimationFinished()
     {
-        synchronized (CardUpdate.class)
-        {
-            animationFinished = true;
-            CardUpdate.class.notifyAll();
-        }
+        if ( animationFinished.compareAndSet(false, true))
+            endAnimation();
     }
 
 
     /**
-     * Wait animation to finish before resuming
-     * @since v0.9
-     *
-     * @param appPresenter the MVP presenter
+     * Count the end of the update own animation or of one of its sub-updates.
+     * The last one completes the update and ends an animation of its parent,
+     * so that completion goes up the tree without any thread nor lock
+     * @since v1.1.0
      */
-    public void waitAnimations(AppPresenter appPresenter)
+    private void endAnimation()
     {
-        CardUpdate thisCU = this;
-        class WaitThread extends Thread
-        {
-            @Override
-            public void run()
-            {
-                synchronized (CardUpdate.class)
-                {
-                    while (!checkUpdatesFinished(thisCU)) {
-                        try {
-                            CardUpdate.class.wait();
-                        } catch (InterruptedException e) {
-                            System.err.println(e.getMessage());
-                        }
-                    }
-                    appPresenter.notifyEndAnimation(thisCU);
-                }
-            }
-
-            private boolean checkUpdatesFinished(CardUpdate cardUpdate)
-            {
-                if (cardUpdate.subUpdates.size() == 0)
-                {
-                    return cardUpdate.animationFinished;
-                } else {
-                    boolean isFinished = true;
-                    for (CardUpdate children : cardUpdate.subUpdates)
-                    {
-                        isFinished = isFinished && checkUpdatesFinished(children);
-                        if (!isFinished)
-                            break;
-                    }
-                    return isFinished;
-                }
-            }
+        if ( pendingAnimations.decrementAndGet() == 0) {
+            complete();
+            CardUpdate parentUpdate = parent.getAndSet(this);
+            if ( parentUpdate != null)
+                parentUpdate.endAnimation();
         }
+    }
+
+
+    /**
+     * Complete the update, releasing the model waiting for it
+     * It is done when its animation and all its sub-updates ones are finished,
+     * or at once when the update can't be rendered.
+     * Completing an update twice has no effect
+     * @since v1.1.0
+     */
+    public void complete() {
+        completion.complete(this);
+    }
+
 
-        WaitThread thread = new WaitThread();
-        thread.start();
+    /**
+     * Get a future completed when all the updates of a batch are completed
+     * @since v1.1.0
+     *
+     * @param cardUpdates the batch of updates
+     * @return the composite future
+     */
+    public static CompletableFuture<Void> allCompleted(Collection<CardUpdate> cardUpdates) {
+        return CompletableFuture.allOf(cardUpdates.stream()
+                .map(CardUpdate::getCompletion).toArray(CompletableFuture[]::new));
     }
 
 
     //GETTERS - no documentation needed
 
+    public CompletableFuture<CardUpdate> getCompletion() {
+        return completion;
+    }
+    public boolean isCompleted() {
+        return completion.isDone();
+    }
+    public boolean isAnimationFinished() {
+        return animationFinished.get();
+    }
+    public int getNbPendingAnimations() {
+        return pendingAnimations.get();
+    }
+    public List<CardUpdate> getMoves() {
+        return Collections.unmodifiableList(moves);
+    }
+    public long getMoveStartOffset(int index) {
+        return moveStartOffsets.get(index);
+    }
+    public int getNbMoves() {
+        return moves.size();
+    }
     public CardGroup getCardGroup() {
         return cardGroup;
     }
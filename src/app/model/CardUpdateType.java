@@ -33,4 +33,5 @@ public enum CardUpdateType {
     CUT_DECK,                   //To cut the deck
     SPREAD_CARDS,               //To spread all cards for initial choice
     GATHER_CARDS,               //To gather all cards after choice
+    MOVE_CARDS,                 //To move a batch of cards between groups in one animation
 }
@@ -0,0 +1,84 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code Deal} class is the result of a card dealing :
+ * the four hands and the talon, each one stored as a {@code CardSet} mask.
+ * Seats are numbered in dealing order, seat 0 receiving the first packet
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see DealGenerator
+ * @see CardSet
+ */
+public class Deal {
+    public static final int NB_SEATS = 4;
+    public static final int TALON = NB_SEATS;
+    public static final int DEAL_LENGTH = 2 * (NB_SEATS + 1);
+
+    private final long[] masks;
+
+    /**
+     * Constructs a deal from its masks, stored in a buffer
+     * following {@code DealGenerator} layout :
+     * low and high words of each seat, then of the talon
+     * @since v1.1.0
+     *
+     * @param buffer the buffer containing the deal
+     * @param offset the position of the deal in the buffer
+     */
+    public Deal(long[] buffer, int offset) {
+        masks = new long[DEAL_LENGTH];
+        System.arraycopy(buffer, offset, masks, 0, DEAL_LENGTH);
+    }
+
+    /**
+     * Get the cards dealt to a seat
+     * @since v1.1.0
+     *
+     * @param seat the seat, from 0 to 3, or {@code TALON}
+     * @return a new set containing the seat cards
+     */
+    public CardSet getCards(int seat) {
+        return new CardSet(masks[2 * seat], masks[2 * seat + 1]);
+    }
+
+
+    /**
+     * Get the seat having Petit Sec
+     * @since v1.1.0
+     *
+     * @return the first seat having Petit Sec, or -1 if there is none
+     */
+    public int getPetitSecSeat() {
+        for (int seat = 0; seat < NB_SEATS; seat++)
+            if ( CardSet.hasPetitSec(masks[2 * seat], masks[2 * seat + 1]))
+                return seat;
+        return -1;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public CardSet getHand(int seat) {
+        if ( seat < 0 || seat >= NB_SEATS)
+            throw new IndexOutOfBoundsException("Seat: " + seat);
+        return getCards(seat);
+    }
+    public CardSet getTalon() {
+        return getCards(TALON);
+    }
+}
@@ -0,0 +1,367 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The {@code DealGenerator} class generates deals in bulk, without any
+ * {@code GameModel}, following the same steps as a game :
+ * shuffling, cutting and dealing by packets of 3 cards
+ * with talon cards put between packets.
+ *
+ * Deals are generated by chunks spread across all cores.
+ * Each chunk has its own {@code SplittableRandom}, split from the
+ * generator one before generation starts, so that results only depend
+ * on the seed and on the calls sequence, not on threads scheduling.
+ *
+ * A generator instance isn't thread-safe, but each call is parallel
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Deal
+ * @see SplittableRandom
+ */
+public class DealGenerator {
+    public static final int DEALS_PER_CHUNK = 1024;
+    public static final int CARDS_PER_PACKET = 3;
+    public static final int NB_PACKETS = 24;
+    public static final int NB_TALON_CARDS = 6;
+    public static final int MIN_CUT = 5;
+    public static final int MAX_CUT = 74;
+
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a deal generator
+     * @since v1.1.0
+     *
+     * @param seed the seed from which all deals are generated
+     */
+    public DealGenerator(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generate deals into a buffer
+     * Each deal takes {@code Deal.DEAL_LENGTH} longs :
+     * low and high mask words of each seat, then of the talon
+     * @since v1.1.0
+     *
+     * @param buffer the buffer receiving deals
+     * @param offset the position of the first deal in the buffer
+     * @param nbDeals the number of deals to generate
+     */
+    public void generate(long[] buffer, int offset, int nbDeals) {
+        generate(buffer, offset, nbDeals, null);
+    }
+
+    /**
+     * Generate deals into a buffer, dealing again when a seat has Petit Sec
+     * A deal is thrown away as soon as a completed hand has Petit Sec,
+     * before the other hands are dealt
+     * @since v1.1.0
+     *
+     * @param buffer the buffer receiving deals
+     * @param offset the position of the first deal in the buffer
+     * @param nbDeals the number of deals to generate
+     * @param statistics the statistics receiving redeals counts,
+     *                   or null to keep Petit Sec deals
+     */
+    public void generate(long[] buffer, int offset, int nbDeals, RedealStatistics statistics) {
+        if ( offset < 0 || nbDeals < 0 || (long) offset + (long) nbDeals * Deal.DEAL_LENGTH > buffer.length)
+            throw new IndexOutOfBoundsException("Buffer is too small for " + nbDeals + " deals");
+
+        SplittableRandom[] chunkRandoms = splitChunks(nbDeals);
+        IntStream.range(0, chunkRandoms.length).parallel().forEach(chunk -> {
+            int firstDeal = chunk * DEALS_PER_CHUNK;
+            RedealStatistics chunkStatistics = (statistics == null) ? null : new RedealStatistics();
+            generateChunk(chunkRandoms[chunk], buffer, offset + firstDeal * Deal.DEAL_LENGTH,
+                    Math.min(DEALS_PER_CHUNK, nbDeals - firstDeal), chunkStatistics);
+            if ( statistics != null)
+                statistics.add(chunkStatistics);
+        });
+    }
+
+    /**
+     * Generate shuffled and cut decks into a buffer, without dealing them
+     * Each deck takes 78 bytes : the card ids from the top to the bottom of the deck
+     * @since v1.1.0
+     *
+     * @param buffer the buffer receiving decks
+     * @param offset the position of the first deck in the buffer
+     * @param nbDecks the number of decks to generate
+     */
+    public void generateDecks(byte[] buffer, int offset, int nbDecks) {
+        int deckLength = Card.getNbMaxCards();
+        if ( offset < 0 || nbDecks < 0 || (long) offset + (long) nbDecks * deckLength > buffer.length)
+            throw new IndexOutOfBoundsException("Buffer is too small for " + nbDecks + " decks");
+
+        SplittableRandom[] chunkRandoms = splitChunks(nbDecks);
+        IntStream.range(0, chunkRandoms.length).parallel().forEach(chunk -> {
+            int firstDeck = chunk * DEALS_PER_CHUNK;
+            int chunkSize = Math.min(DEALS_PER_CHUNK, nbDecks - firstDeck);
+            int chunkOffset = offset + firstDeck * deckLength;
+
+            byte[] deck = newDeck();
+            for (int i = 0; i < chunkSize; i++) {
+                shuffle(deck, chunkRandoms[chunk]);
+                System.arraycopy(deck, 0, buffer, chunkOffset + i * deckLength, deckLength);
+            }
+            cutDecks(buffer, chunkOffset, chunkSize, chunkRandoms[chunk]);
+        });
+    }
+
+    /**
+     * Generate deals as a parallel stream
+     * @since v1.1.0
+     *
+     * @param nbDeals the number of deals to generate
+     * @return a stream of deals, in generation order if it is consumed in order
+     */
+    public Stream<Deal> stream(int nbDeals) {
+        if ( nbDeals < 0)
+            throw new IllegalArgumentException("Negative number of deals: " + nbDeals);
+
+        SplittableRandom[] chunkRandoms = splitChunks(nbDeals);
+        return IntStream.range(0, chunkRandoms.length).parallel().boxed().flatMap(chunk -> {
+            int chunkSize = Math.min(DEALS_PER_CHUNK, nbDeals - chunk * DEALS_PER_CHUNK);
+            long[] chunkBuffer = new long[chunkSize * Deal.DEAL_LENGTH];
+            generateChunk(chunkRandoms[chunk], chunkBuffer, 0, chunkSize, null);
+            return IntStream.range(0, chunkSize).mapToObj(i -> new Deal(chunkBuffer, i * Deal.DEAL_LENGTH));
+        });
+    }
+
+    /**
+     * Split one random generator per chunk of deals
+     * @since v1.1.0
+     *
+     * @param nbDeals the number of deals to generate
+     * @return the chunks random generators
+     */
+    private SplittableRandom[] splitChunks(int nbDeals) {
+        SplittableRandom[] chunkRandoms = new SplittableRandom[(nbDeals + DEALS_PER_CHUNK - 1) / DEALS_PER_CHUNK];
+        for (int chunk = 0; chunk < chunkRandoms.length; chunk++)
+            chunkRandoms[chunk] = random.split();
+        return chunkRandoms;
+    }
+
+    /**
+     * Generate a chunk of deals in the calling thread
+     * The deck of the previous deal is shuffled again for each deal
+     * @since v1.1.0
+     *
+     * @param chunkRandom the chunk random generator
+     * @param buffer the buffer receiving deals
+     * @param offset the position of the first deal in the buffer
+     * @param nbDeals the number of deals to generate
+     * @param statistics the chunk redeals statistics, or null to keep Petit Sec deals
+     */
+    private static void generateChunk(SplittableRandom chunkRandom, long[] buffer, int offset, int nbDeals,
+                                      RedealStatistics statistics) {
+        byte[] deck = newDeck();
+        for (int deal = 0; deal < nbDeals; deal++) {
+            int petitSecSeat;
+            do {
+                shuffle(deck, chunkRandom);
+                int cut = drawCut(chunkRandom);
+                int talonGaps = drawTalonGaps(chunkRandom::nextInt);
+                petitSecSeat = dealDeck(deck, cut, talonGaps, buffer, offset + deal * Deal.DEAL_LENGTH,
+                        statistics != null);
+                if ( petitSecSeat >= 0)
+                    statistics.addRedeal(petitSecSeat);
+            }
+            while (petitSecSeat >= 0);
+            if ( statistics != null)
+                statistics.addDeal();
+        }
+    }
+
+    /**
+     * Create a deck containing the 78 card ids in sort order
+     * @since v1.1.0
+     *
+     * @return the new deck
+     */
+    private static byte[] newDeck() {
+        byte[] deck = new byte[Card.getNbMaxCards()];
+        for (int i = 0; i < deck.length; i++)
+            deck[i] = (byte) i;
+        return deck;
+    }
+
+    /**
+     * Shuffle a deck in place (Fisher–Yates)
+     * @since v1.1.0
+     *
+     * @param deck the card ids of the deck
+     * @param random the random generator drawing the permutation
+     */
+    private static void shuffle(byte[] deck, SplittableRandom random) {
+        for (int i = deck.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            byte swapped = deck[i];
+            deck[i] = deck[j];
+            deck[j] = swapped;
+        }
+    }
+
+    /**
+     * Draw the number of cards taken from the top of the deck by a cut
+     * Each part must contain more than 3 cards,
+     * every allowed cut size has the same probability
+     * @since v1.1.0
+     *
+     * @param random the random generator
+     * @return the cut size, between {@code MIN_CUT} and {@code MAX_CUT}
+     */
+    public static int drawCut(SplittableRandom random) {
+        return MIN_CUT + random.nextInt(MAX_CUT - MIN_CUT + 1);
+    }
+
+    /**
+     * Cut decks stored one after the other in a buffer, in place
+     * @since v1.1.0
+     *
+     * @param decks the buffer containing the decks, 78 card ids each
+     * @param offset the position of the first deck in the buffer
+     * @param nbDecks the number of decks to cut
+     * @param random the random generator drawing the cut sizes
+     */
+    public static void cutDecks(byte[] decks, int offset, int nbDecks, SplittableRandom random) {
+        int deckLength = Card.getNbMaxCards();
+        for (int deck = 0; deck < nbDecks; deck++)
+            rotate(decks, offset + deck * deckLength, deckLength, drawCut(random));
+    }
+
+    /**
+     * Rotate a deck stored in a buffer, in place :
+     * the card at a position becomes the top card
+     * and the cards before it go under the others
+     * @since v1.1.0
+     *
+     * @param decks the buffer containing the deck
+     * @param offset the position of the deck in the buffer
+     * @param length the number of cards of the deck
+     * @param distance the position of the new top card
+     */
+    public static void rotate(byte[] decks, int offset, int length, int distance) {
+        distance = Math.floorMod(distance, length);
+        reverse(decks, offset, offset + distance);
+        reverse(decks, offset + distance, offset + length);
+        reverse(decks, offset, offset + length);
+    }
+
+    /**
+     * Reverse the order of the card ids between two buffer positions
+     * @since v1.1.0
+     *
+     * @param decks the buffer containing the card ids
+     * @param from the first position (included)
+     * @param to the last position (excluded)
+     */
+    private static void reverse(byte[] decks, int from, int to) {
+        for (int i = from, j = to - 1; i < j; i++, j--) {
+            byte swapped = decks[i];
+            decks[i] = decks[j];
+            decks[j] = swapped;
+        }
+    }
+
+    /**
+     * Deal a cut deck into a buffer
+     * The deck isn't modified : the cut is done by starting
+     * the dealing at the cut position
+     * @since v1.1.0
+     *
+     * @param deck the card ids of the deck before cut
+     * @param cut the number of cards taken from the top of the deck by the cut
+     * @param talonGaps the gaps after which a card is given to the talon
+     * @param buffer the buffer receiving the deal
+     * @param offset the position of the deal in the buffer
+     * @param stopOnPetitSec a boolean indicating if dealing stops
+     *                       as soon as a completed hand has Petit Sec
+     * @return the seat having Petit Sec if dealing has been stopped, -1 otherwise
+     */
+    static int dealDeck(byte[] deck, int cut, int talonGaps, long[] buffer, int offset, boolean stopOnPetitSec) {
+        Arrays.fill(buffer, offset, offset + Deal.DEAL_LENGTH, 0L);
+        int position = cut;
+        for (int packet = 0; packet < NB_PACKETS; packet++) {
+            int seat = packet % Deal.NB_SEATS;
+            for (int i = 0; i < CARDS_PER_PACKET; i++) {
+                addToMask(buffer, offset + 2 * seat, deck[position]);
+                position = (position == deck.length - 1) ? 0 : position + 1;
+            }
+            //the hand is complete after its last packet
+            if ( stopOnPetitSec && packet >= NB_PACKETS - Deal.NB_SEATS
+                    && CardSet.hasPetitSec(buffer[offset + 2 * seat], buffer[offset + 2 * seat + 1]))
+                return seat;
+            if ( isTalonGap(talonGaps, packet)) {
+                addToMask(buffer, offset + 2 * Deal.TALON, deck[position]);
+                position = (position == deck.length - 1) ? 0 : position + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Add a card id to a mask stored in a buffer
+     * @since v1.1.0
+     *
+     * @param buffer the buffer containing the mask
+     * @param maskOffset the position of the mask low word
+     * @param id the card id
+     */
+    private static void addToMask(long[] buffer, int maskOffset, int id) {
+        if ( id < 64)
+            buffer[maskOffset] |= 1L << id;
+        else
+            buffer[maskOffset + 1] |= 1L << (id - 64);
+    }
+
+    /**
+     * Draw the gaps between packets where talon cards are put
+     * Talon can't receive the first nor the last card,
+     * so 6 gaps are drawn among the 23 gaps between the 24 packets
+     * @since v1.1.0
+     *
+     * @param nextInt a function returning a random int between 0 (included) and its argument (excluded)
+     * @return a mask of the 6 drawn gaps, bit i being the gap after packet i
+     */
+    public static int drawTalonGaps(IntUnaryOperator nextInt) {
+        int talonGaps = 0;
+        for (int gap = NB_PACKETS - 1 - NB_TALON_CARDS; gap < NB_PACKETS - 1; gap++) {
+            int drawn = nextInt.applyAsInt(gap + 1);
+            talonGaps |= ((talonGaps & (1 << drawn)) == 0) ? 1 << drawn : 1 << gap;
+        }
+        return talonGaps;
+    }
+
+    /**
+     * Check if a talon card is put after a packet
+     * @since v1.1.0
+     *
+     * @param talonGaps the mask of drawn gaps
+     * @param packet the packet number
+     * @return a boolean indicating if the talon receives a card after the packet
+     */
+    public static boolean isTalonGap(int talonGaps, int packet) {
+        return (talonGaps & (1 << packet)) != 0;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code DealPlayout} class plays a whole deal on masks,
+ * each player choosing a random legal card, and counts its tricks
+ * in some deal scores. Nothing is allocated while playing,
+ * so that simulations can run millions of playouts.
+ *
+ * Hands are given as 4 pairs of low and high words,
+ * indexed by cardinal points ordinals, which is the playing order.
+ * A playout isn't thread-safe, each thread needs its own
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Trick
+ * @see DealScore
+ */
+public class DealPlayout {
+    public static final int HANDS_LENGTH = 2 * Trick.NB_SEATS;
+
+    private final long[] hands;
+    private final Trick trick;
+    private final CardSet legalMoves;
+
+    /**
+     * Constructs a playout
+     * @since v1.1.0
+     */
+    public DealPlayout() {
+        hands = new long[HANDS_LENGTH];
+        trick = new Trick();
+        legalMoves = new CardSet();
+    }
+
+    /**
+     * Play all the cards of the hands with random legal moves
+     * Scores have to be started, each trick is added to all of them
+     * @since v1.1.0
+     *
+     * @param deal the buffer containing the hands masks
+     * @param offset the position of the hands in the buffer
+     * @param leaderSeat the seat leading the first trick
+     * @param random the random source choosing the cards
+     * @param scores the scores counting the tricks
+     */
+    public void play(long[] deal, int offset, int leaderSeat, SplittableRandom random, DealScore[] scores) {
+        System.arraycopy(deal, offset, hands, 0, HANDS_LENGTH);
+        int nbTricks = Long.bitCount(hands[0]) + Long.bitCount(hands[1]);
+        int leader = leaderSeat;
+
+        for (int t = 0; t < nbTricks; t++) {
+            trick.reset();
+            for (int i = 0; i < Trick.NB_SEATS; i++) {
+                int seat = (leader + i) % Trick.NB_SEATS;
+                trick.legalMoves(hands[2 * seat], hands[2 * seat + 1], legalMoves);
+                int id = legalMoves.getNthId(random.nextInt(legalMoves.size()));
+                if ( id < 64)
+                    hands[2 * seat] &= ~(1L << id);
+                else
+                    hands[2 * seat + 1] &= ~(1L << (id - 64));
+                trick.play(seat, id);
+            }
+            for (DealScore score : scores)
+                score.addTrick(trick, t == nbTricks - 1);
+            leader = trick.getWinnerSeat();
+        }
+    }
+}
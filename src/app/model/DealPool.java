@@ -0,0 +1,153 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code DealPool} class holds deals generated once,
+ * to be replayed with rotated seats for duplicate tournaments.
+ *
+ * Each deal is packed in {@code WORDS_PER_DEAL} longs, 3 bits per card
+ * giving the receiving seat or the talon, instead of the {@code Deal.DEAL_LENGTH}
+ * mask words, and its dealer in a byte.
+ * A pool is never modified after its construction,
+ * so it is shared between threads without synchronization
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Deal
+ * @see TournamentRunner
+ */
+public class DealPool {
+    public static final int WORDS_PER_DEAL = 4;
+    private static final int BITS_PER_CARD = 3;
+    private static final int CARDS_PER_WORD = 64 / BITS_PER_CARD;
+    private static final long RECEIVER_MASK = (1L << BITS_PER_CARD) - 1;
+    private static final PlayerHandler.PlayersCardinalPoint[] CARDINAL_POINTS =
+            PlayerHandler.PlayersCardinalPoint.values();
+
+    private final long[] packedDeals;
+    private final byte[] dealers;
+
+    /**
+     * Constructs a pool from deals following {@code DealGenerator} layout
+     * @since v1.1.0
+     *
+     * @param buffer the buffer containing the deals
+     * @param offset the position of the first deal in the buffer
+     * @param dealers the dealer of each deal, seat 0 of a deal being the player after its dealer
+     * @throws IllegalArgumentException if a deal doesn't hold each card exactly once
+     */
+    public DealPool(long[] buffer, int offset, PlayerHandler.PlayersCardinalPoint[] dealers) {
+        packedDeals = new long[dealers.length * WORDS_PER_DEAL];
+        this.dealers = new byte[dealers.length];
+        for (int d = 0; d < dealers.length; d++) {
+            pack(buffer, offset + d * Deal.DEAL_LENGTH, d * WORDS_PER_DEAL);
+            this.dealers[d] = (byte) dealers[d].ordinal();
+        }
+    }
+
+    /**
+     * Generate a pool of deals, dealing again when a seat has Petit Sec
+     * as a game would, each deal having a random dealer
+     * @since v1.1.0
+     *
+     * @param seed the seed from which deals and dealers are drawn
+     * @param nbDeals the number of deals
+     * @return the pool
+     */
+    public static DealPool generate(long seed, int nbDeals) {
+        long[] buffer = new long[nbDeals * Deal.DEAL_LENGTH];
+        new DealGenerator(seed).generate(buffer, 0, nbDeals, new RedealStatistics());
+        SplittableRandom random = new SplittableRandom(~seed);
+        PlayerHandler.PlayersCardinalPoint[] dealers = new PlayerHandler.PlayersCardinalPoint[nbDeals];
+        for (int d = 0; d < nbDeals; d++)
+            dealers[d] = CARDINAL_POINTS[random.nextInt(CARDINAL_POINTS.length)];
+        return new DealPool(buffer, 0, dealers);
+    }
+
+    /**
+     * Pack the masks of a deal, 3 bits per card
+     * @since v1.1.0
+     */
+    private void pack(long[] buffer, int offset, int packedOffset) {
+        long seen0 = 0;
+        long seen1 = 0;
+        for (int receiver = 0; receiver <= Deal.TALON; receiver++) {
+            long low = buffer[offset + 2 * receiver];
+            long high = buffer[offset + 2 * receiver + 1];
+            if ( (low & seen0) != 0 || (high & seen1) != 0)
+                throw new IllegalArgumentException("A card is dealt twice");
+            seen0 |= low;
+            seen1 |= high;
+            for (long word = low; word != 0; word &= word - 1)
+                setReceiver(packedOffset, Long.numberOfTrailingZeros(word), receiver);
+            for (long word = high; word != 0; word &= word - 1)
+                setReceiver(packedOffset, 64 + Long.numberOfTrailingZeros(word), receiver);
+        }
+        if ( Long.bitCount(seen0) + Long.bitCount(seen1) != CardSet.NB_IDS)
+            throw new IllegalArgumentException("A card isn't dealt");
+    }
+
+    private void setReceiver(int packedOffset, int cardId, int receiver) {
+        packedDeals[packedOffset + cardId / CARDS_PER_WORD]
+                |= (long) receiver << (BITS_PER_CARD * (cardId % CARDS_PER_WORD));
+    }
+
+    /**
+     * Unpack a deal into a buffer, following {@code DealGenerator} layout
+     * @since v1.1.0
+     *
+     * @param index the deal index in the pool
+     * @param buffer the buffer receiving the deal masks
+     * @param offset the position of the deal in the buffer
+     */
+    public void copyDeal(int index, long[] buffer, int offset) {
+        for (int i = 0; i < Deal.DEAL_LENGTH; i++)
+            buffer[offset + i] = 0;
+        int packedOffset = index * WORDS_PER_DEAL;
+        for (int cardId = 0; cardId < CardSet.NB_IDS; cardId++) {
+            long packed = packedDeals[packedOffset + cardId / CARDS_PER_WORD];
+            int receiver = (int) ((packed >>> (BITS_PER_CARD * (cardId % CARDS_PER_WORD))) & RECEIVER_MASK);
+            if ( cardId < 64)
+                buffer[offset + 2 * receiver] |= 1L << cardId;
+            else
+                buffer[offset + 2 * receiver + 1] |= 1L << (cardId - 64);
+        }
+    }
+
+    /**
+     * Get a deal of the pool
+     * @since v1.1.0
+     *
+     * @param index the deal index in the pool
+     * @return a new deal
+     */
+    public Deal getDeal(int index) {
+        long[] buffer = new long[Deal.DEAL_LENGTH];
+        copyDeal(index, buffer, 0);
+        return new Deal(buffer, 0);
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public int getNbDeals() {
+        return dealers.length;
+    }
+    public PlayerHandler.PlayersCardinalPoint getDealer(int index) {
+        return CARDINAL_POINTS[dealers[index]];
+    }
+}
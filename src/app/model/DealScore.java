@@ -0,0 +1,276 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code DealScore} class counts the points of a deal as tricks are won.
+ * Card values are kept in half points (182 for the whole deck) so that
+ * all computations are integer ones, and the final tally only reads counters :
+ *  - contract : (25 + difference with the threshold) * bid multiplier
+ *  - Petit au bout : 10 * bid multiplier, for the side winning the last trick with the Petit
+ *  - poignées : 20, 30 or 40 each, for the side winning the deal
+ *  - chelem : 200 for the side winning all tricks
+ * Scores are given for one defender, the taker scoring three times the opposite.
+ *
+ * Declaring a poignée isn't a player decision : every player showing enough trumps,
+ * the Excuse counted as one, declares the largest poignée they allow
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Trick
+ * @see Bids
+ */
+public class DealScore {
+    public static final int TOTAL_HALF_POINTS = 182;
+    private static final int[] THRESHOLDS = {56, 51, 41, 36};
+    private static final int CONTRACT_BASE = 25;
+    private static final int PETIT_AU_BOUT_BASE = 10;
+    private static final int[] POIGNEE_SIZES = {15, 13, 10};
+    private static final int[] POIGNEE_BONUSES = {40, 30, 20};
+    private static final int CHELEM_BONUS = 200;
+    private static final int EXCUSE_EXCHANGE_HALF_POINTS = 1;
+    private static final int PETIT_ID = Card.getSuitFirstId(Suit.Trump);
+
+    private Bids bid;
+    private int takerSeat;
+    private int takerHalfPoints;
+    private int takerOudlers;
+    private int takerTricks;
+    private int defenseTricks;
+    private int petitAuBoutSide;
+    private int poigneeBonus;
+
+    /**
+     * Constructs an empty score, a deal has to be started
+     * @since v1.1.0
+     */
+    public DealScore() {
+        start(Bids.Pass, -1);
+    }
+
+    /**
+     * Reset the counters for a new deal
+     * @since v1.1.0
+     *
+     * @param bid the taker's bid
+     * @param takerSeat the taker's cardinal point ordinal
+     */
+    public void start(Bids bid, int takerSeat) {
+        this.bid = bid;
+        this.takerSeat = takerSeat;
+        takerHalfPoints = 0;
+        takerOudlers = 0;
+        takerTricks = 0;
+        defenseTricks = 0;
+        petitAuBoutSide = 0;
+        poigneeBonus = 0;
+    }
+
+    /**
+     * Count the cards of the talon for the side receiving it
+     * @since v1.1.0
+     *
+     * @param talon the talon cards
+     * @param toTaker a boolean indicating if the talon is the taker's
+     */
+    public void addTalon(CardGroup talon, boolean toTaker) {
+        if ( toTaker) {
+            for (int i = 0; i < talon.size(); i++)
+                addTalonCard(talon.get(i));
+        }
+    }
+
+    /**
+     * Count the cards of a talon given as a mask for the side receiving it
+     * @since v1.1.0
+     *
+     * @param talonLow the talon mask of ids 0 to 63
+     * @param talonHigh the talon mask of ids 64 to 77
+     * @param toTaker a boolean indicating if the talon is the taker's
+     */
+    public void addTalon(long talonLow, long talonHigh, boolean toTaker) {
+        if ( toTaker) {
+            for (long word = talonLow; word != 0; word &= word - 1)
+                addTalonCard(Card.valueOf(Long.numberOfTrailingZeros(word)));
+            for (long word = talonHigh; word != 0; word &= word - 1)
+                addTalonCard(Card.valueOf(64 + Long.numberOfTrailingZeros(word)));
+        }
+    }
+
+    /**
+     * Count a talon card for the taker
+     * @since v1.1.0
+     *
+     * @param card the talon card
+     */
+    private void addTalonCard(Card card) {
+        takerHalfPoints += card.getHalfPoints();
+        if ( card.isOudler())
+            takerOudlers++;
+    }
+
+    /**
+     * Count a complete trick for its winner's side.
+     * The Excuse stays in its owner's side, which gives
+     * a half point card in exchange to the winner's side
+     * @since v1.1.0
+     *
+     * @param trick the complete trick
+     * @param isLastTrick a boolean indicating if it is the last trick of the deal
+     */
+    public void addTrick(Trick trick, boolean isLastTrick) {
+        boolean takerWins = trick.getWinnerSeat() == takerSeat;
+        if ( trick.getExcuseSeat() == takerSeat)
+            takerOudlers++;
+
+        boolean hasPetit = false;
+        for (int i = 0; i < trick.getNbCards(); i++) {
+            Card card = Card.valueOf(trick.getCardId(i));
+            hasPetit |= card.getId() == PETIT_ID;
+            if ( takerWins && card.isOudler() && card.getSuit() != Suit.Excuse)
+                takerOudlers++;
+        }
+
+        takerHalfPoints += countTakerHalfPoints(trick, takerSeat);
+        if ( takerWins)
+            takerTricks++;
+        else
+            defenseTricks++;
+
+        if ( isLastTrick && hasPetit)
+            petitAuBoutSide = takerWins ? 1 : -1;
+    }
+
+    /**
+     * Compute the half points a complete trick gives to the taker.
+     * The Excuse stays in its owner's side, which gives
+     * a half point card in exchange to the winner's side
+     * @since v1.1.0
+     *
+     * @param trick the complete trick
+     * @param takerSeat the taker's cardinal point ordinal
+     * @return the half points won by the taker's side
+     */
+    public static int countTakerHalfPoints(Trick trick, int takerSeat) {
+        boolean takerWins = trick.getWinnerSeat() == takerSeat;
+        int halfPoints = takerWins ? trick.getHalfPoints() : 0;
+        int excuseSeat = trick.getExcuseSeat();
+        if ( excuseSeat >= 0 && (excuseSeat == takerSeat) != takerWins) {
+            int excuseHalfPoints = Card.valueOfExcuse().getHalfPoints();
+            halfPoints += takerWins ? EXCUSE_EXCHANGE_HALF_POINTS - excuseHalfPoints
+                    : excuseHalfPoints - EXCUSE_EXCHANGE_HALF_POINTS;
+        }
+        return halfPoints;
+    }
+
+    /**
+     * Declare the poignée of a player, the largest one its trumps allow
+     * The bonuses of every declared poignée add up, whoever declares them
+     * @since v1.1.0
+     *
+     * @param nbTrumps the number of trumps shown, Excuse included
+     * @return the poignée bonus, 0 if there are not enough trumps
+     */
+    public int declarePoignee(int nbTrumps) {
+        for (int i = 0; i < POIGNEE_SIZES.length; i++) {
+            if ( nbTrumps >= POIGNEE_SIZES[i]) {
+                poigneeBonus += POIGNEE_BONUSES[i];
+                return POIGNEE_BONUSES[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compute the score of the deal for one defender
+     * It only reads counters, so it can be called after each deal
+     * of a simulation without any cost
+     * @since v1.1.0
+     *
+     * @return the score of a defender, the opposite of a third of the taker's
+     */
+    public int getDefenderScore() {
+        return -getTakerShare();
+    }
+
+    /**
+     * Compute the score of the deal for the taker
+     * @since v1.1.0
+     *
+     * @return the score of the taker, three times the opposite of a defender's
+     */
+    public int getTakerScore() {
+        return 3 * getTakerShare();
+    }
+
+    /**
+     * Compute the score won by the taker from each defender
+     * Half point differences are rounded up
+     * @since v1.1.0
+     *
+     * @return the taker's share
+     */
+    private int getTakerShare() {
+        int multiplier = bid.getMultiplier();
+        int difference = takerHalfPoints - 2 * getThreshold();
+        int sign = (difference >= 0) ? 1 : -1;
+
+        int share = sign * (CONTRACT_BASE + (Math.abs(difference) + 1) / 2) * multiplier;
+        share += petitAuBoutSide * PETIT_AU_BOUT_BASE * multiplier;
+        share += sign * poigneeBonus;
+        if ( defenseTricks == 0 && takerTricks > 0)
+            share += CHELEM_BONUS;
+        else if ( takerTricks == 0 && defenseTricks > 0)
+            share -= CHELEM_BONUS;
+        return share;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public Bids getBid() {
+        return bid;
+    }
+    public int getTakerSeat() {
+        return takerSeat;
+    }
+    public int getTakerHalfPoints() {
+        return takerHalfPoints;
+    }
+    public int getDefenseHalfPoints() {
+        return TOTAL_HALF_POINTS - takerHalfPoints;
+    }
+    public int getTakerOudlers() {
+        return takerOudlers;
+    }
+    public int getThreshold() {
+        return THRESHOLDS[Math.min(takerOudlers, THRESHOLDS.length - 1)];
+    }
+    public boolean isContractMade() {
+        return takerHalfPoints >= 2 * getThreshold();
+    }
+    public int getTakerTricks() {
+        return takerTricks;
+    }
+    public int getDefenseTricks() {
+        return defenseTricks;
+    }
+    public int getPetitAuBoutSide() {
+        return petitAuBoutSide;
+    }
+    public int getPoigneeBonus() {
+        return poigneeBonus;
+    }
+}
@@ -0,0 +1,461 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code DoubleDummySolver} class computes the exact value of an open-hand position :
+ * the half points the taker wins from the remaining cards, current trick included,
+ * when every player sees all hands and plays perfectly (the taker maximizing, the defense minimizing).
+ *
+ * The search is an alpha-beta on masks, helped by :
+ *  - a transposition table, positions being hashed between tricks (remaining hands and leader)
+ *  - equivalent cards pruning : two cards of a hand with the same points and no card
+ *    of another hand or of the trick between them are the same move
+ *  - move ordering : best card of the table, then cheapest winning card,
+ *    points given to a winning partner, cheapest losing card
+ *  - root splitting : the first move gives a bound, the other ones are searched in parallel
+ *
+ * Hands are given as 4 pairs of low and high words, indexed by cardinal points ordinals.
+ * A solver runs one solve at a time, its table being shared by the root tasks
+ *
+ * The solver is meant for end-games, not for whole deals : the table is only probed at trick starts
+ * and each null window searches the root again, so the cost grows about 8 times every 2 cards per hand.
+ * On one core with the default table, for the deal of {@code DealGenerator} seed 1, each hand cut
+ * to its lowest card ids, South taking and North leading, 8 cards per hand are solved in about 0.3 s,
+ * 10 cards in 2 s and 12 cards in 25 s. A full 18 cards deal doesn't finish in 5 minutes
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Trick
+ * @see TranspositionTable
+ */
+public class DoubleDummySolver {
+    private static final int NB_PLIES = CardSet.NB_IDS + 1;
+    private static final int MAX_MOVES = 24;
+    private static final int INFINITY = DealScore.TOTAL_HALF_POINTS + 1;
+    private static final long[] CARD_KEYS = new long[Trick.NB_SEATS * CardSet.NB_IDS];
+    private static final long[] LEADER_KEYS = new long[Trick.NB_SEATS];
+    private static final long[] TAKER_KEYS = new long[Trick.NB_SEATS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x7A207L);
+        for (int i = 0; i < CARD_KEYS.length; i++)
+            CARD_KEYS[i] = random.nextLong();
+        for (int i = 0; i < Trick.NB_SEATS; i++) {
+            LEADER_KEYS[i] = random.nextLong();
+            TAKER_KEYS[i] = random.nextLong();
+        }
+    }
+
+    private final TranspositionTable table;
+    private final boolean parallel;
+    private final AtomicLong nbNodes;
+    private int bestCardId;
+
+    /**
+     * Constructs a parallel solver with a table of default size
+     * @since v1.1.0
+     */
+    public DoubleDummySolver() {
+        this(TranspositionTable.DEFAULT_SIZE_BITS, true);
+    }
+
+    /**
+     * Constructs a solver
+     * @since v1.1.0
+     *
+     * @param tableSizeBits the log2 of the number of table entries
+     * @param parallel a boolean indicating if the root moves are searched in parallel
+     */
+    public DoubleDummySolver(int tableSizeBits, boolean parallel) {
+        table = new TranspositionTable(tableSizeBits);
+        this.parallel = parallel;
+        nbNodes = new AtomicLong();
+        bestCardId = -1;
+    }
+
+    /**
+     * Solve the position of a game in progress
+     * @since v1.1.0
+     *
+     * @param playerHandler the players, the current one being the next to play
+     * @param taker the taker's hand
+     * @param trick the trick being played, empty if the current player leads
+     * @return the half points the taker wins from the remaining cards
+     */
+    public int solve(PlayerHandler playerHandler, Hand taker, Trick trick) {
+        long[] hands = new long[DealPlayout.HANDS_LENGTH];
+        for (PlayerHandler.PlayersCardinalPoint cardinalPoint : PlayerHandler.PlayersCardinalPoint.values()) {
+            Hand hand = playerHandler.getPlayer(cardinalPoint);
+            hands[2 * cardinalPoint.ordinal()] = hand.getLowMask();
+            hands[2 * cardinalPoint.ordinal() + 1] = hand.getHighMask();
+        }
+        return solve(hands, playerHandler.getPlayerCardinalPoint(taker).ordinal(), trick,
+                playerHandler.getPlayerCardinalPoint(playerHandler.getCurrentPlayer()).ordinal());
+    }
+
+    /**
+     * Solve a position given as masks
+     * @since v1.1.0
+     *
+     * @param hands the hands masks, not modified
+     * @param takerSeat the taker's seat
+     * @param trick the trick being played, not modified, empty if the seat to move leads
+     * @param seatToMove the seat of the next player
+     * @return the half points the taker wins from the remaining cards
+     */
+    public int solve(long[] hands, int takerSeat, Trick trick, int seatToMove) {
+        nbNodes.set(0);
+        Search root = new Search(hands, takerSeat, trick);
+        int nbMoves = root.generateMoves(0, seatToMove, -1);
+        nbNodes.addAndGet(root.nbNodes);
+        if ( nbMoves == 0) {
+            bestCardId = -1;
+            return 0;
+        }
+        int[] moves = new int[nbMoves];
+        System.arraycopy(root.moves[0], 0, moves, 0, nbMoves);
+        boolean maximizing = seatToMove == takerSeat;
+
+        //binary search of the value with null windows, each one proving a bound
+        int lower = 0;
+        int upper = root.getUpperBound(0);
+        bestCardId = moves[0];
+        while ( lower < upper) {
+            int test = (lower + upper + 1) / 2;
+            int[] result = searchRoot(hands, takerSeat, trick, seatToMove, moves, test - 1, test);
+            if ( result[0] >= test) {
+                lower = result[0];
+                if ( maximizing)
+                    bestCardId = result[1];
+            }
+            else {
+                upper = result[0];
+                if ( !maximizing)
+                    bestCardId = result[1];
+            }
+        }
+        return lower;
+    }
+
+    /**
+     * Search the root moves with a window : the first move is searched alone,
+     * the other ones in parallel if it doesn't cut
+     * @since v1.1.0
+     *
+     * @return the value and the card id of the best move
+     */
+    private int[] searchRoot(long[] hands, int takerSeat, Trick trick, int seatToMove,
+                             int[] moves, int alpha, int beta) {
+        boolean maximizing = seatToMove == takerSeat;
+        Search first = new Search(hands, takerSeat, trick);
+        int best = first.searchMove(0, seatToMove, moves[0], alpha, beta);
+        nbNodes.addAndGet(first.nbNodes);
+        int bestId = moves[0];
+        if ( maximizing ? best >= beta : best <= alpha)
+            return new int[]{best, bestId};
+
+        int[] values = (parallel ? IntStream.range(1, moves.length).parallel() : IntStream.range(1, moves.length))
+                .map(i -> {
+                    Search search = new Search(hands, takerSeat, trick);
+                    int value = search.searchMove(0, seatToMove, moves[i], alpha, beta);
+                    nbNodes.addAndGet(search.nbNodes);
+                    return value;
+                })
+                .toArray();
+        for (int i = 0; i < values.length; i++) {
+            if ( maximizing ? values[i] > best : values[i] < best) {
+                best = values[i];
+                bestId = moves[i + 1];
+            }
+        }
+        return new int[]{best, bestId};
+    }
+
+    /**
+     * Remove all positions from the table, which is kept between solves
+     * as positions only depend on the remaining cards
+     * @since v1.1.0
+     */
+    public void clearTable() {
+        table.clear();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getNbNodes() {
+        return nbNodes.get();
+    }
+    public int getBestCardId() {
+        return bestCardId;
+    }
+
+
+    /**
+     * The {@code Search} class holds the state of one search thread :
+     * the hands, their hash and a trick for each ply, so that nothing is allocated while searching
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private class Search {
+        private final long[] hands;
+        private final int takerSeat;
+        private final Trick[] tricks;
+        private final CardSet legalMoves;
+        private final int[][] moves;
+        private final int[] moveOrders;
+        private long key;
+        private int remainingHalfPoints;
+        private long nbNodes;
+
+        Search(long[] hands, int takerSeat, Trick trick) {
+            this.hands = hands.clone();
+            this.takerSeat = takerSeat;
+            tricks = new Trick[NB_PLIES];
+            for (int i = 0; i < NB_PLIES; i++)
+                tricks[i] = new Trick();
+            tricks[0].copyFrom(trick);
+            legalMoves = new CardSet();
+            moves = new int[NB_PLIES][MAX_MOVES];
+            moveOrders = new int[MAX_MOVES];
+            key = TAKER_KEYS[takerSeat];
+            remainingHalfPoints = 0;
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++) {
+                for (int id = 0; id < CardSet.NB_IDS; id++) {
+                    long bit = 1L << (id % 64);
+                    if ( (hands[2 * seat + id / 64] & bit) != 0) {
+                        key ^= CARD_KEYS[seat * CardSet.NB_IDS + id];
+                        remainingHalfPoints += Card.valueOf(id).getHalfPoints();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Get an upper bound of the position value : the points of all remaining cards
+         */
+        int getUpperBound(int ply) {
+            return remainingHalfPoints + tricks[ply].getHalfPoints();
+        }
+
+        /**
+         * Search the position with an alpha-beta window
+         * @param ply the number of cards played since the root
+         * @param seat the seat to move
+         * @return the value of the position, a bound if outside the window
+         */
+        int search(int ply, int seat, int alpha, int beta) {
+            nbNodes++;
+            int maxValue = getUpperBound(ply);
+            if ( maxValue <= alpha)
+                return maxValue;
+            if ( beta <= 0)
+                return 0;
+            boolean isTrickStart = tricks[ply].isEmpty();
+            long positionKey = key ^ LEADER_KEYS[seat];
+            int lower = 0;
+            int upper = maxValue;
+            int hintId = -1;
+            if ( isTrickStart) {
+                if ( (hands[2 * seat] | hands[2 * seat + 1]) == 0)
+                    return 0;
+                long entry = table.probe(positionKey);
+                if ( entry != -1) {
+                    lower = TranspositionTable.getLower(entry);
+                    upper = TranspositionTable.getUpper(entry);
+                    hintId = TranspositionTable.getBestId(entry);
+                    if ( lower >= beta || lower == upper)
+                        return lower;
+                    if ( upper <= alpha)
+                        return upper;
+                    alpha = Math.max(alpha, lower);
+                    beta = Math.min(beta, upper);
+                }
+            }
+
+            int nbMoves = generateMoves(ply, seat, hintId);
+            boolean maximizing = seat == takerSeat;
+            int windowAlpha = alpha;
+            int windowBeta = beta;
+            int best = maximizing ? -1 : INFINITY;
+            int bestId = -1;
+            for (int i = 0; i < nbMoves; i++) {
+                int value = searchMove(ply, seat, moves[ply][i], alpha, beta);
+                if ( maximizing ? value > best : value < best) {
+                    best = value;
+                    bestId = moves[ply][i];
+                }
+                if ( maximizing)
+                    alpha = Math.max(alpha, value);
+                else
+                    beta = Math.min(beta, value);
+                if ( alpha >= beta)
+                    break;
+            }
+
+            if ( isTrickStart) {
+                if ( best <= windowAlpha)
+                    upper = Math.min(upper, best);
+                else if ( best >= windowBeta)
+                    lower = Math.max(lower, best);
+                else {
+                    lower = best;
+                    upper = best;
+                }
+                table.store(positionKey, lower, upper, bestId);
+            }
+            return best;
+        }
+
+        /**
+         * Play a card, search the following position and take the card back
+         * @return the value of the position after the card, current trick included
+         */
+        int searchMove(int ply, int seat, int cardId, int alpha, int beta) {
+            Trick next = tricks[ply + 1];
+            next.copyFrom(tricks[ply]);
+            next.play(seat, cardId);
+            toggleCard(seat, cardId);
+            int cardHalfPoints = Card.valueOf(cardId).getHalfPoints();
+            remainingHalfPoints -= cardHalfPoints;
+
+            int value;
+            if ( next.isComplete()) {
+                int trickValue = DealScore.countTakerHalfPoints(next, takerSeat);
+                int winner = next.getWinnerSeat();
+                next.reset();
+                value = trickValue + search(ply + 1, winner, alpha - trickValue, beta - trickValue);
+            }
+            else
+                value = search(ply + 1, (seat + 1) % Trick.NB_SEATS, alpha, beta);
+
+            toggleCard(seat, cardId);
+            remainingHalfPoints += cardHalfPoints;
+            return value;
+        }
+
+        private void toggleCard(int seat, int cardId) {
+            if ( cardId < 64)
+                hands[2 * seat] ^= 1L << cardId;
+            else
+                hands[2 * seat + 1] ^= 1L << (cardId - 64);
+            key ^= CARD_KEYS[seat * CardSet.NB_IDS + cardId];
+        }
+
+        /**
+         * Fill the moves of a ply with the legal cards of a seat,
+         * keeping one card of each equivalent sequence, best moves first
+         * @param hintId the id of a card to try first, best in the table, or -1
+         * @return the number of moves
+         */
+        int generateMoves(int ply, int seat, int hintId) {
+            Trick trick = tricks[ply];
+            trick.legalMoves(hands[2 * seat], hands[2 * seat + 1], legalMoves);
+            long othersLow = 0;
+            long othersHigh = 0;
+            for (int other = 0; other < Trick.NB_SEATS; other++) {
+                if ( other != seat) {
+                    othersLow |= hands[2 * other];
+                    othersHigh |= hands[2 * other + 1];
+                }
+            }
+            for (int i = 0; i < trick.getNbCards(); i++) {
+                int id = trick.getCardId(i);
+                if ( id < 64)
+                    othersLow |= 1L << id;
+                else
+                    othersHigh |= 1L << (id - 64);
+            }
+
+            int[] plyMoves = moves[ply];
+            int nbMoves = 0;
+            int previousId = -1;
+            for (int id = legalMoves.nextId(0); id >= 0; id = legalMoves.nextId(id + 1)) {
+                if ( previousId < 0 || !isEquivalent(previousId, id, othersLow, othersHigh)) {
+                    moveOrders[nbMoves] = (id == hintId) ? Integer.MIN_VALUE : getMoveOrder(trick, seat, id);
+                    plyMoves[nbMoves++] = id;
+                }
+                previousId = id;
+            }
+
+            //insertion sort, there are a few moves
+            for (int i = 1; i < nbMoves; i++) {
+                int id = plyMoves[i];
+                int order = moveOrders[i];
+                int j = i - 1;
+                for (; j >= 0 && moveOrders[j] > order; j--) {
+                    plyMoves[j + 1] = plyMoves[j];
+                    moveOrders[j + 1] = moveOrders[j];
+                }
+                plyMoves[j + 1] = id;
+                moveOrders[j + 1] = order;
+            }
+            return nbMoves;
+        }
+
+        /**
+         * Check if two cards of a hand are the same move :
+         * same suit and points, and no card of another hand or of the trick between them
+         */
+        private boolean isEquivalent(int id, int otherId, long othersLow, long othersHigh) {
+            Card card = Card.valueOf(id);
+            Card other = Card.valueOf(otherId);
+            if ( card.getSuit() != other.getSuit() || card.getHalfPoints() != other.getHalfPoints())
+                return false;
+            long betweenLow = 0;
+            long betweenHigh = 0;
+            for (int between = id + 1; between < otherId; between++) {
+                if ( between < 64)
+                    betweenLow |= 1L << between;
+                else
+                    betweenHigh |= 1L << (between - 64);
+            }
+            return (betweenLow & othersLow) == 0 && (betweenHigh & othersHigh) == 0;
+        }
+
+        /**
+         * Compute the order of a move, lowest first :
+         *  - leading or after the Excuse, high cards first
+         *  - winning the trick, cheapest winning card first
+         *  - a partner winning, most points first
+         *  - losing, cheapest card first
+         */
+        private int getMoveOrder(Trick trick, int seat, int cardId) {
+            int winningId = trick.getWinningCardId();
+            if ( winningId < 0)
+                return -cardId;
+            Card card = Card.valueOf(cardId);
+            boolean winningIsTrump = Card.valueOf(winningId).getSuit() == Suit.Trump;
+            boolean wins;
+            if ( card.getSuit() == Suit.Trump)
+                wins = !winningIsTrump || cardId > winningId;
+            else
+                wins = card.getSuit() != Suit.Excuse && !winningIsTrump
+                        && card.getSuit() == trick.getLedSuit() && cardId > winningId;
+
+            boolean partnerWins = (trick.getWinnerSeat() == takerSeat) == (seat == takerSeat);
+            if ( partnerWins)
+                return -card.getHalfPoints() * CardSet.NB_IDS + cardId;
+            if ( wins)
+                return cardId;
+            return CardSet.NB_IDS * (1 + card.getHalfPoints()) + cardId;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code EcartChoice} class is an Ecart found by the optimizer, with its score.
+ * Choices are ordered from the best one, equal scores being ordered
+ * by their masks so that results don't depend on threads scheduling
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see EcartOptimizer
+ */
+public class EcartChoice implements Comparable<EcartChoice> {
+    private final long low;
+    private final long high;
+    private final int score;
+
+    /**
+     * Constructs an Ecart choice
+     * @since v1.1.0
+     *
+     * @param low the Ecart mask of ids 0 to 63
+     * @param high the Ecart mask of ids 64 to 77
+     * @param score the Ecart score
+     */
+    public EcartChoice(long low, long high, int score) {
+        this.low = low;
+        this.high = high;
+        this.score = score;
+    }
+
+    @Override
+    public int compareTo(EcartChoice other) {
+        if ( score != other.score)
+            return Integer.compare(other.score, score);
+        if ( high != other.high)
+            return Long.compareUnsigned(high, other.high);
+        return Long.compareUnsigned(low, other.low);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        EcartChoice that = (EcartChoice) o;
+
+        return low == that.low && high == that.high && score == that.score;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * Long.hashCode(low) + Long.hashCode(high)) + score;
+    }
+
+    @Override
+    public String toString() {
+        return getCardNames() + " (" + score + ")";
+    }
+
+    /**
+     * Get the names of the Ecart cards, in id order
+     * @since v1.1.0
+     *
+     * @return the cards names separated by spaces
+     */
+    public String getCardNames() {
+        StringBuilder builder = new StringBuilder();
+        CardSet cards = getCards();
+        for (int id = cards.nextId(0); id >= 0; id = cards.nextId(id + 1))
+            builder.append(builder.length() == 0 ? "" : " ").append(Card.valueOf(id).getName());
+        return builder.toString();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getLow() {
+        return low;
+    }
+    public long getHigh() {
+        return high;
+    }
+    public int getScore() {
+        return score;
+    }
+    public CardSet getCards() {
+        return new CardSet(low, high);
+    }
+}
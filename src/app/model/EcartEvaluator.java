@@ -0,0 +1,40 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code EcartEvaluator} interface scores an Ecart
+ * together with the hand it leaves to the taker.
+ * Both are given as masks so that an optimizer can evaluate
+ * every possible Ecart without allocating anything
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see EcartOptimizer
+ * @see WeightedEcartEvaluator
+ */
+public interface EcartEvaluator {
+
+    /**
+     * Score an Ecart, the best Ecart having the highest score
+     * @since v1.1.0
+     *
+     * @param keptLow the kept hand mask of ids 0 to 63
+     * @param keptHigh the kept hand mask of ids 64 to 77
+     * @param ecartLow the Ecart mask of ids 0 to 63
+     * @param ecartHigh the Ecart mask of ids 64 to 77
+     * @return the Ecart score
+     */
+    int evaluate(long keptLow, long keptHigh, long ecartLow, long ecartHigh);
+}
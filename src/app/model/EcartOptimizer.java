@@ -0,0 +1,252 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code EcartOptimizer} class enumerates every legal Ecart of a taker hand
+ * and keeps the best ones following an {@code EcartEvaluator}.
+ * Kings, oudlers and the Excuse are never discarded, Trumps only
+ * when there aren't enough other cards : then all other cards
+ * are discarded and Trumps complete the Ecart.
+ *
+ * Up to C(24, 6) = 134 596 Ecarts are enumerated on masks, in parallel :
+ * each first discarded card is a task keeping its own best Ecarts, merged at the end
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see EcartEvaluator
+ * @see EcartChoice
+ */
+public class EcartOptimizer {
+    public static final int ECART_SIZE = 6;
+    public static final int DEFAULT_TOP = 5;
+    private static final long TRUMP_LOW_MASK = CardSet.getSuitLowMask(Suit.Trump);
+    private static final long FORBIDDEN_LOW_MASK;
+    private static final long FORBIDDEN_HIGH_MASK;
+
+    static {
+        CardSet forbidden = new CardSet();
+        for (Suit suit : new Suit[]{Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club})
+            forbidden.add(Card.valueOf(suit, Rank.King).getId());
+        for (Card card : Card.getAllCards())
+            if ( card.isOudler())
+                forbidden.add(card.getId());
+        FORBIDDEN_LOW_MASK = forbidden.getLow();
+        FORBIDDEN_HIGH_MASK = forbidden.getHigh();
+    }
+
+    private final EcartEvaluator evaluator;
+
+    /**
+     * Constructs an optimizer with the default weighted evaluator
+     * @since v1.1.0
+     */
+    public EcartOptimizer() {
+        this(new WeightedEcartEvaluator());
+    }
+
+    /**
+     * Constructs an optimizer with a given evaluator
+     * @since v1.1.0
+     *
+     * @param evaluator the Ecart evaluator, which has to be thread-safe
+     */
+    public EcartOptimizer(EcartEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Find the best Ecart of a taker hand
+     * @since v1.1.0
+     *
+     * @param hand the taker hand, talon included
+     * @return the best Ecart, or null if the hand hasn't enough cards
+     */
+    public EcartChoice best(CardGroup hand) {
+        EcartChoice[] choices = optimize(hand.getLowMask(), hand.getHighMask(), 1);
+        return (choices.length == 0) ? null : choices[0];
+    }
+
+    /**
+     * Find the best Ecarts of a taker hand
+     * @since v1.1.0
+     *
+     * @param handLow the hand mask of ids 0 to 63
+     * @param handHigh the hand mask of ids 64 to 77
+     * @param top the number of Ecarts to keep
+     * @return the best Ecarts, from the best one
+     */
+    public EcartChoice[] optimize(long handLow, long handHigh, int top) {
+        long allowedLow = handLow & ~TRUMP_LOW_MASK & ~FORBIDDEN_LOW_MASK;
+        long allowedHigh = handHigh & ~FORBIDDEN_HIGH_MASK;
+        int nbAllowed = Long.bitCount(allowedLow) + Long.bitCount(allowedHigh);
+
+        //Not enough cards : every allowed card is discarded, Trumps complete the Ecart
+        long fixedLow = 0;
+        long fixedHigh = 0;
+        int nbChosen = ECART_SIZE;
+        if ( nbAllowed < ECART_SIZE) {
+            fixedLow = allowedLow;
+            fixedHigh = allowedHigh;
+            nbChosen = ECART_SIZE - nbAllowed;
+            allowedLow = handLow & TRUMP_LOW_MASK & ~FORBIDDEN_LOW_MASK;
+            allowedHigh = 0;
+        }
+
+        CardSet candidates = new CardSet(allowedLow, allowedHigh);
+        int nbCandidates = candidates.size();
+        if ( top <= 0 || nbCandidates < nbChosen)
+            return new EcartChoice[0];
+        int[] ids = new int[nbCandidates];
+        for (int i = 0, id = candidates.nextId(0); id >= 0; i++, id = candidates.nextId(id + 1))
+            ids[i] = id;
+
+        long keptLow = handLow & ~fixedLow;
+        long keptHigh = handHigh & ~fixedHigh;
+        long baseLow = fixedLow;
+        long baseHigh = fixedHigh;
+        int chosen = nbChosen;
+        return IntStream.rangeClosed(0, nbCandidates - nbChosen).parallel()
+                .mapToObj(first -> {
+                    TopChoices choices = new TopChoices(top);
+                    long low = baseLow | lowBit(ids[first]);
+                    long high = baseHigh | highBit(ids[first]);
+                    enumerate(ids, first + 1, chosen - 1, keptLow & ~low, keptHigh & ~high, low, high, choices);
+                    return choices;
+                })
+                .reduce(TopChoices::merge)
+                .map(TopChoices::toArray)
+                .orElse(new EcartChoice[0]);
+    }
+
+    /**
+     * Enumerate the Ecarts completed with some candidates
+     * @since v1.1.0
+     *
+     * @param ids the candidates ids
+     * @param from the first candidate that can be chosen
+     * @param remaining the number of cards still to choose
+     * @param keptLow the kept hand mask of ids 0 to 63
+     * @param keptHigh the kept hand mask of ids 64 to 77
+     * @param ecartLow the Ecart mask of ids 0 to 63
+     * @param ecartHigh the Ecart mask of ids 64 to 77
+     * @param choices the best Ecarts found so far
+     */
+    private void enumerate(int[] ids, int from, int remaining, long keptLow, long keptHigh,
+                           long ecartLow, long ecartHigh, TopChoices choices) {
+        if ( remaining == 0) {
+            choices.offer(ecartLow, ecartHigh, evaluator.evaluate(keptLow, keptHigh, ecartLow, ecartHigh));
+            return;
+        }
+        for (int i = from; i <= ids.length - remaining; i++) {
+            long low = lowBit(ids[i]);
+            long high = highBit(ids[i]);
+            enumerate(ids, i + 1, remaining - 1, keptLow & ~low, keptHigh & ~high,
+                    ecartLow | low, ecartHigh | high, choices);
+        }
+    }
+
+    /**
+     * Count the legal Ecarts of a taker hand
+     * @since v1.1.0
+     *
+     * @param handLow the hand mask of ids 0 to 63
+     * @param handHigh the hand mask of ids 64 to 77
+     * @return the number of Ecarts the optimizer enumerates
+     */
+    public static long countEcarts(long handLow, long handHigh) {
+        long allowedLow = handLow & ~TRUMP_LOW_MASK & ~FORBIDDEN_LOW_MASK;
+        int nbAllowed = Long.bitCount(allowedLow) + Long.bitCount(handHigh & ~FORBIDDEN_HIGH_MASK);
+        if ( nbAllowed >= ECART_SIZE)
+            return binomial(nbAllowed, ECART_SIZE);
+        return binomial(Long.bitCount(handLow & TRUMP_LOW_MASK & ~FORBIDDEN_LOW_MASK), ECART_SIZE - nbAllowed);
+    }
+
+    private static long binomial(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++)
+            result = result * (n - k + i) / i;
+        return (k > n) ? 0 : result;
+    }
+
+    private static long lowBit(int id) {
+        return (id < 64) ? 1L << id : 0L;
+    }
+
+    private static long highBit(int id) {
+        return (id < 64) ? 0L : 1L << (id - 64);
+    }
+
+
+    /**
+     * The {@code TopChoices} class keeps the best Ecarts offered,
+     * sorted from the best one, in arrays allocated once
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private static class TopChoices {
+        private final long[] lows;
+        private final long[] highs;
+        private final int[] scores;
+        private int size;
+
+        TopChoices(int capacity) {
+            lows = new long[capacity];
+            highs = new long[capacity];
+            scores = new int[capacity];
+            size = 0;
+        }
+
+        void offer(long low, long high, int score) {
+            if ( size == scores.length && !isBetter(score, high, low, size - 1))
+                return;
+            int i = (size == scores.length) ? size - 1 : size++;
+            while (i > 0 && isBetter(score, high, low, i - 1)) {
+                lows[i] = lows[i - 1];
+                highs[i] = highs[i - 1];
+                scores[i] = scores[i - 1];
+                i--;
+            }
+            lows[i] = low;
+            highs[i] = high;
+            scores[i] = score;
+        }
+
+        private boolean isBetter(int score, long high, long low, int index) {
+            if ( score != scores[index])
+                return score > scores[index];
+            if ( high != highs[index])
+                return Long.compareUnsigned(high, highs[index]) < 0;
+            return Long.compareUnsigned(low, lows[index]) < 0;
+        }
+
+        TopChoices merge(TopChoices other) {
+            for (int i = 0; i < other.size; i++)
+                offer(other.lows[i], other.highs[i], other.scores[i]);
+            return this;
+        }
+
+        EcartChoice[] toArray() {
+            EcartChoice[] choices = new EcartChoice[size];
+            for (int i = 0; i < size; i++)
+                choices[i] = new EcartChoice(lows[i], highs[i], scores[i]);
+            Arrays.sort(choices);
+            return choices;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * The {@code EventChannel} class dispatches events of one type to any number of subscribers
+ * through a bounded ring buffer, without any lock :
+ *  - publishing claims a sequence number, stores the event in its slot and wakes the subscribers up
+ *  - each subscriber reads the ring at its own pace on its own daemon thread
+ *  - a subscriber lagging more than the ring capacity skips the overwritten events and counts them
+ *  - a lossless subscriber is never overtaken : publishing waits until it has read the slot to overwrite
+ *
+ * Publishing never waits for a lossy subscriber, so a slow one never stalls the game thread,
+ * while a lossless one, such as the view rendering every card update,
+ * slows the game down instead of missing events.
+ * Events are delivered to a subscriber in publishing order
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @param <T> the type of the events
+ * @see GameEventBus
+ */
+public class EventChannel<T> {
+    public static final int DEFAULT_CAPACITY = 1024;
+    private static final long WRITING = -1;
+    private static final long LOSSLESS_WAIT_NANOS = 100000;
+
+    private final String name;
+    private final int mask;
+    private final AtomicReferenceArray<T> events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong nextSequence;
+    private final List<Subscription> subscriptions;
+
+    /**
+     * Constructs a channel with the default capacity
+     * @since v1.1.0
+     *
+     * @param name the channel name, used to name subscribers threads
+     */
+    public EventChannel(String name) {
+        this(name, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a channel
+     * @since v1.1.0
+     *
+     * @param name the channel name, used to name subscribers threads
+     * @param capacity the number of events a subscriber can lag behind, a power of 2
+     * @throws IllegalArgumentException if the capacity isn't a power of 2
+     */
+    public EventChannel(String name, int capacity) {
+        if ( capacity <= 0 || Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("Channel capacity must be a power of 2 : " + capacity);
+        this.name = name;
+        mask = capacity - 1;
+        events = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, WRITING);
+        nextSequence = new AtomicLong();
+        subscriptions = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Publish an event to all the subscribers
+     * Nothing is stored when the channel has no subscriber.
+     * If a lossless subscriber hasn't read the event a ring before, it waits until it has
+     * or until it is cancelled
+     * @since v1.1.0
+     *
+     * @param event the published event
+     */
+    public void publish(T event) {
+        if ( subscriptions.isEmpty())
+            return;
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) sequence & mask;
+        for (Subscription subscription : subscriptions) {
+            while ( subscription.lossless && !subscription.cancelled
+                    && subscription.cursor <= sequence - events.length()) {
+                subscription.wakeUp();
+                LockSupport.parkNanos(this, LOSSLESS_WAIT_NANOS);
+            }
+        }
+        sequences.set(slot, WRITING);
+        events.set(slot, event);
+        sequences.set(slot, sequence);
+        for (Subscription subscription : subscriptions)
+            subscription.wakeUp();
+    }
+
+    /**
+     * Subscribe to the events published from now on,
+     * events being skipped if the subscriber lags a whole ring behind
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler receiving events on the subscriber thread
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public Subscription subscribe(String subscriberName, Consumer<? super T> handler) {
+        return subscribe(subscriberName, handler, false);
+    }
+
+    /**
+     * Subscribe to the events published from now on
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler receiving events on the subscriber thread
+     * @param lossless a boolean indicating if publishing waits for the subscriber rather than skip events
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public Subscription subscribe(String subscriberName, Consumer<? super T> handler, boolean lossless) {
+        Subscription subscription = new Subscription(subscriberName, handler, lossless, nextSequence.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Cancel all the subscriptions
+     * @since v1.1.0
+     */
+    public void close() {
+        for (Subscription subscription : subscriptions)
+            subscription.cancel();
+    }
+
+    /**
+     * Check if the channel has subscribers
+     * @since v1.1.0
+     *
+     * @return a boolean indicating if published events are delivered
+     */
+    public boolean hasSubscribers() {
+        return !subscriptions.isEmpty();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public String getName() {
+        return name;
+    }
+    public int getCapacity() {
+        return mask + 1;
+    }
+    public int getNbSubscribers() {
+        return subscriptions.size();
+    }
+    public long getNbPublished() {
+        return nextSequence.get();
+    }
+
+
+    /**
+     * The {@code Subscription} class is a subscriber of the channel,
+     * reading the ring on its own thread from its own cursor
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    public class Subscription {
+        private final Consumer<? super T> handler;
+        private final boolean lossless;
+        private final Thread thread;
+        private final AtomicLong nbDelivered;
+        private final AtomicLong nbDropped;
+        private volatile long cursor;
+        private volatile boolean cancelled;
+
+        private Subscription(String subscriberName, Consumer<? super T> handler, boolean lossless, long firstSequence) {
+            this.handler = handler;
+            this.lossless = lossless;
+            nbDelivered = new AtomicLong();
+            nbDropped = new AtomicLong();
+            cursor = firstSequence;
+            cancelled = false;
+            thread = new Thread(this::dispatch, name + "-" + subscriberName);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * Deliver events until the subscription is cancelled,
+         * parking while the subscriber is up to date.
+         * A lossless subscriber is never overtaken, so it never skips events
+         * @since v1.1.0
+         */
+        private void dispatch() {
+            while ( !cancelled) {
+                long head = nextSequence.get();
+                if ( !lossless && head - cursor > events.length()) {
+                    nbDropped.addAndGet(head - events.length() - cursor);
+                    cursor = head - events.length();
+                }
+
+                int slot = (int) cursor & mask;
+                long published = sequences.get(slot);
+                T event = events.get(slot);
+                if ( published == cursor && sequences.get(slot) == cursor) {
+                    try {
+                        handler.accept(event);
+                    } catch (RuntimeException e) {
+                        System.err.println(e.getMessage());
+                    }
+                    nbDelivered.incrementAndGet();
+                    cursor++;
+                }
+                else if ( published > cursor) {
+                    nbDropped.incrementAndGet();
+                    cursor++;
+                }
+                else
+                    LockSupport.park(this);
+            }
+        }
+
+        private void wakeUp() {
+            LockSupport.unpark(thread);
+        }
+
+        /**
+         * Stop delivering events, the events not delivered yet being lost
+         * @since v1.1.0
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            wakeUp();
+        }
+
+        /**
+         * Check if the subscriber has read all the events published so far
+         * @since v1.1.0
+         *
+         * @return a boolean indicating if the subscriber is up to date
+         */
+        public boolean isUpToDate() {
+            return cursor >= nextSequence.get();
+        }
+
+
+        //GETTERS - no documentation needed
+
+        public boolean isLossless() {
+            return lossless;
+        }
+        public boolean isCancelled() {
+            return cancelled;
+        }
+        public long getNbDelivered() {
+            return nbDelivered.get();
+        }
+        public long getNbDropped() {
+            return nbDropped.get();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code GameEvent} class is an event published by the model on its {@code GameEventBus} :
+ * a card update to animate, a game state change or a notification asking the user for an action.
+ * Its kind tells which typed accessor holds the event.
+ * Game states and notifications events are shared instances, so that publishing them allocates nothing
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see GameEventBus
+ * @see CardUpdate
+ * @see GameState
+ * @see NotificationType
+ */
+public final class GameEvent {
+    private static final GameEvent[] GAME_STATE_EVENTS = new GameEvent[GameState.values().length];
+    private static final GameEvent[] NOTIFICATION_EVENTS = new GameEvent[NotificationType.values().length];
+
+    static {
+        for (GameState gameState : GameState.values())
+            GAME_STATE_EVENTS[gameState.ordinal()] = new GameEvent(Kind.GAME_STATE, null, gameState, null);
+        for (NotificationType notification : NotificationType.values())
+            NOTIFICATION_EVENTS[notification.ordinal()] = new GameEvent(Kind.NOTIFICATION, null, null, notification);
+    }
+
+    /**
+     * The {@code Kind} enumeration defines the kinds of game events
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    public enum Kind {
+        CARD_UPDATE,                //A card update to animate
+        GAME_STATE,                 //The game state changed
+        NOTIFICATION                //The user is asked for an action
+    }
+
+    private final Kind kind;
+    private final CardUpdate cardUpdate;
+    private final GameState gameState;
+    private final NotificationType notification;
+
+    private GameEvent(Kind kind, CardUpdate cardUpdate, GameState gameState, NotificationType notification) {
+        this.kind = kind;
+        this.cardUpdate = cardUpdate;
+        this.gameState = gameState;
+        this.notification = notification;
+    }
+
+    /**
+     * Get the event of a card update
+     * @since v1.1.0
+     *
+     * @param cardUpdate the card update
+     * @return a new card update event
+     */
+    public static GameEvent of(CardUpdate cardUpdate) {
+        return new GameEvent(Kind.CARD_UPDATE, cardUpdate, null, null);
+    }
+
+    /**
+     * Get the event of a game state
+     * @since v1.1.0
+     *
+     * @param gameState the new game state
+     * @return the shared event of this game state
+     */
+    public static GameEvent of(GameState gameState) {
+        return GAME_STATE_EVENTS[gameState.ordinal()];
+    }
+
+    /**
+     * Get the event of a notification
+     * @since v1.1.0
+     *
+     * @param notification the notification
+     * @return the shared event of this notification
+     */
+    public static GameEvent of(NotificationType notification) {
+        return NOTIFICATION_EVENTS[notification.ordinal()];
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case CARD_UPDATE:
+                return kind + " " + cardUpdate.getType();
+            case GAME_STATE:
+                return kind + " " + gameState;
+            default:
+                return kind + " " + notification;
+        }
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public Kind getKind() {
+        return kind;
+    }
+    public CardUpdate getCardUpdate() {
+        return cardUpdate;
+    }
+    public GameState getGameState() {
+        return gameState;
+    }
+    public NotificationType getNotification() {
+        return notification;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.function.Consumer;
+
+/**
+ * The {@code GameEventBus} class publishes the events of a game on one ordered channel :
+ * card updates to animate, game states changes and notifications asking the user for an action.
+ *
+ * A subscriber rendering the game, such as the view, receives every event in publishing order,
+ * so that a notification is never handled before the card updates preceding it.
+ * Its subscription is lossless : the game thread waits rather than overwrite an event it hasn't read.
+ * Other subscribers, such as a logger or spectators, only subscribe to the kind of events they need,
+ * and skip events when they lag a whole ring behind
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see EventChannel
+ * @see GameEvent
+ * @see GameModel
+ */
+public class GameEventBus {
+    private final EventChannel<GameEvent> events;
+
+    /**
+     * Constructs a bus with a channel of the default capacity
+     * @since v1.1.0
+     */
+    public GameEventBus() {
+        events = new EventChannel<>("Game");
+    }
+
+    /**
+     * Publish a card update
+     * @since v1.1.0
+     *
+     * @param cardUpdate the published card update
+     */
+    public void publishCardUpdate(CardUpdate cardUpdate) {
+        events.publish(GameEvent.of(cardUpdate));
+    }
+
+    /**
+     * Publish a game state
+     * @since v1.1.0
+     *
+     * @param gameState the new game state
+     */
+    public void publishGameState(GameState gameState) {
+        events.publish(GameEvent.of(gameState));
+    }
+
+    /**
+     * Publish a notification
+     * @since v1.1.0
+     *
+     * @param notification the published notification
+     */
+    public void publishNotification(NotificationType notification) {
+        events.publish(GameEvent.of(notification));
+    }
+
+    /**
+     * Subscribe to all the events of the game, delivered on one thread in publishing order
+     * without ever being skipped
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler of the events, switching on their kind
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public EventChannel<GameEvent>.Subscription subscribe(String subscriberName, Consumer<? super GameEvent> handler) {
+        return events.subscribe(subscriberName, handler, true);
+    }
+
+    /**
+     * Subscribe to the card updates of the game
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler of the card updates
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public EventChannel<GameEvent>.Subscription subscribeCardUpdates(String subscriberName,
+                                                                     Consumer<? super CardUpdate> handler) {
+        return subscribe(subscriberName, GameEvent.Kind.CARD_UPDATE, event -> handler.accept(event.getCardUpdate()));
+    }
+
+    /**
+     * Subscribe to the game states changes
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler of the game states
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public EventChannel<GameEvent>.Subscription subscribeGameStates(String subscriberName,
+                                                                    Consumer<? super GameState> handler) {
+        return subscribe(subscriberName, GameEvent.Kind.GAME_STATE, event -> handler.accept(event.getGameState()));
+    }
+
+    /**
+     * Subscribe to the notifications of the game
+     * @since v1.1.0
+     *
+     * @param subscriberName the subscriber name, used to name its thread
+     * @param handler the handler of the notifications
+     * @return the subscription, to be cancelled when the subscriber leaves
+     */
+    public EventChannel<GameEvent>.Subscription subscribeNotifications(String subscriberName,
+                                                                       Consumer<? super NotificationType> handler) {
+        return subscribe(subscriberName, GameEvent.Kind.NOTIFICATION, event -> handler.accept(event.getNotification()));
+    }
+
+    /**
+     * Subscribe to one kind of events, which may be skipped if the subscriber lags behind
+     * @since v1.1.0
+     */
+    private EventChannel<GameEvent>.Subscription subscribe(String subscriberName, GameEvent.Kind kind,
+                                                           Consumer<GameEvent> handler) {
+        return events.subscribe(subscriberName, event -> {
+            if ( event.getKind() == kind)
+                handler.accept(event);
+        }, false);
+    }
+
+    /**
+     * Check if the bus has subscribers
+     * @since v1.1.0
+     *
+     * @return a boolean indicating if someone listens to the game
+     */
+    public boolean hasSubscribers() {
+        return events.hasSubscribers();
+    }
+
+    /**
+     * Cancel all the subscriptions
+     * @since v1.1.0
+     */
+    public void close() {
+        events.close();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public EventChannel<GameEvent> getEvents() {
+        return events;
+    }
+}
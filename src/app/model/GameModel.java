@@ -15,135 +15,265 @@ package app.model;
 
 import exceptions.CardGroupNumberException;
 import exceptions.CardNumberException;
-import exceptions.CardUniquenessException;
 
 import java.util.*;
-
-import static java.lang.Thread.sleep;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The {@code ConsoleGameModel} class consists in the MVP architecture model
  * It handles Tarot dealer choosing,
  * dealing, bids and ecart constitution
  * @author Arthur
- * @version v1.0.2
+ * @version v1.1.0
  * @since v0.2
  *
- * @see Observable
+ * @see GameEventBus
  * @see Card
  * @see Hand
  * @see PlayerHandler
  * @see Talon
  */
 
-public class GameModel extends Observable {
+public class GameModel {
+    public static final long DEFAULT_ANIMATION_TIMEOUT_MILLIS = 30000;
+    public static final long BATCH_MOVE_INTERVAL_MILLIS = 50;
 
+    private TableContext table;
+    private GameEventBus eventBus;
+    private GameRandom random;
     private CardGroup wholeCardsDeck;
     private CardGroup toPickDeck;
     private CardGroup pickedCardsDeck;
+    private CardGroup trickDeck;
+    private CardGroup takerPile;
+    private CardGroup defensePile;
+    private Trick trick;
+    private DealScore dealScore;
+    private CardSet legalMoves;
+    private Hand taker;
+    private BiddingStrategy[] biddingStrategies;
+    private CardPlayStrategy[] cardPlayStrategies;
+    private PlayHistory playHistory;
+    private CardTracker cardTracker;
+    private BidAdvisor bidAdvisor;
+    private BidAdvice bidAdvice;
+    private EcartOptimizer ecartOptimizer;
+    private EcartChoice ecartHint;
+    private int nbTricksPlayed;
+    private CardSet shownCards;
     private Map<Card, Hand> pickedCardsMap;
     private PlayerHandler playerHandler;
     private Talon talon;
     private Hand ourPlayer;
     private NotificationType awaitsUserEvent;
     private Thread gameThread;
+    private boolean dealerChoosingEnabled;
+    private boolean headless;
+    private long nbDeals;
+    private RedealStatistics redealStatistics;
+    private byte[] deckIds;
+    private long[] plannedDeal;
     private GameState gameState;
     private int userChoice;
-    private int lastEndedAnimation;
+    private long animationTimeoutMillis;
+    private AnimationClock animationClock;
+    private CardUpdate moveBatch;
 
     /**
      * Constructs app model by creating players, chien and cards
+     * on its own table, so that many games can run at the same time
      * @since v0.5
      *
      * @throws CardGroupNumberException if user tries to create too much hands
      * @param dealerChoosingEnabled the mode chosen to run the game
      */
     public GameModel(boolean dealerChoosingEnabled) throws CardGroupNumberException {
+        this(dealerChoosingEnabled, false);
+    }
+
+
+    /**
+     * Constructs app model by creating players, chien and cards
+     * on its own table, so that many games can run at the same time
+     *
+     * In headless mode, the model never notifies its observers :
+     * it doesn't sleep, doesn't create any CardUpdate and
+     * takes default values instead of user choices
+     * @since v1.1.0
+     *
+     * @throws CardGroupNumberException if user tries to create too much hands
+     * @param dealerChoosingEnabled the mode chosen to run the game
+     * @param headless a boolean indicating if the game runs without view
+     */
+    public GameModel(boolean dealerChoosingEnabled, boolean headless) throws CardGroupNumberException {
+        this(dealerChoosingEnabled, headless, new GameRandom());
+    }
 
-        wholeCardsDeck = new CardGroup(78);
-        toPickDeck = new CardGroup(78);
-        pickedCardsDeck = new CardGroup(4);
+
+    /**
+     * Constructs app model by creating players, chien and cards
+     * on its own table, using a given random source.
+     * Two games using random sources with the same seed
+     * and the same user choices are identical
+     * @since v1.1.0
+     *
+     * @throws CardGroupNumberException if user tries to create too much hands
+     * @param dealerChoosingEnabled the mode chosen to run the game
+     * @param headless a boolean indicating if the game runs without view
+     * @param random the random source of the game table
+     */
+    public GameModel(boolean dealerChoosingEnabled, boolean headless, GameRandom random)
+            throws CardGroupNumberException {
+
+        this.dealerChoosingEnabled = dealerChoosingEnabled;
+        this.headless = headless;
+        this.random = random;
+        nbDeals = 0;
+        redealStatistics = new RedealStatistics();
+        deckIds = new byte[Card.getNbMaxCards()];
+        plannedDeal = new long[Deal.DEAL_LENGTH];
+        table = new TableContext(random);
+        eventBus = new GameEventBus();
+        animationClock = new AnimationClock();
+        wholeCardsDeck = new CardGroup(table, 78);
+        toPickDeck = new CardGroup(table, 78);
+        pickedCardsDeck = new CardGroup(table, 4);
+        trickDeck = new CardGroup(table, Trick.NB_SEATS);
+        takerPile = new CardGroup(table, 78);
+        defensePile = new CardGroup(table, 78);
+        trick = new Trick();
+        dealScore = new DealScore();
+        legalMoves = new CardSet();
+        shownCards = new CardSet();
         pickedCardsMap = new HashMap<>();
 
         //Players creation
-        playerHandler = new PlayerHandler();
+        playerHandler = new PlayerHandler(table);
         ourPlayer = playerHandler.getPlayer(PlayerHandler.PlayersCardinalPoint.South);
+        biddingStrategies = new BiddingStrategy[PlayerHandler.PlayersCardinalPoint.values().length];
+        bidAdvisor = new BidAdvisor();
+        ecartOptimizer = new EcartOptimizer();
+        cardPlayStrategies = new CardPlayStrategy[PlayerHandler.PlayersCardinalPoint.values().length];
+        playHistory = new PlayHistory();
+        cardTracker = new CardTracker();
+        BiddingStrategy defaultStrategy = new HeuristicBiddingStrategy();
+        CardPlayStrategy defaultPlayStrategy = headless ? new RandomCardPlayStrategy(random.getAiRandom())
+                : new IsmctsCardPlayStrategy(random.getAiRandom().split());
+        playerHandler.getPlayersMap().forEach((cardinalPoint, player) -> {
+            if ( player != ourPlayer) {
+                biddingStrategies[cardinalPoint.ordinal()] = defaultStrategy;
+                cardPlayStrategies[cardinalPoint.ordinal()] = defaultPlayStrategy;
+            }
+        });
 
         //Chien creation
         try {
-            talon = new Talon();
+            talon = new Talon(table);
         } catch (CardGroupNumberException e) {
             System.err.println(e.getMessage());
         }
 
-        gameThread = new Thread( () -> {
-            if (gameState != GameState.GAME_ENDED && dealerChoosingEnabled)
-                chooseInitialDealer();
-            if (gameState != GameState.GAME_ENDED)
-                handleDealing();
-            if (gameState != GameState.GAME_ENDED)
-                handleBids();
-            gameState = GameState.GAME_ENDED;
-        });
-        gameThread.setDaemon(true);
+        if ( !headless) {
+            gameThread = new Thread(this::runGame);
+            gameThread.setDaemon(true);
+        }
 
         userChoice = -1;
         awaitsUserEvent = null;
+        animationTimeoutMillis = DEFAULT_ANIMATION_TIMEOUT_MILLIS;
     }
 
 
     /**
-     * Creates all cards and puts them in wholeCardsDeck
+     * Puts all the cards of the registry in wholeCardsDeck
+     * Cards are shared between games, so nothing is instantiated
      * @since v0.7
      */
     public void createCards() {
-        for (Suit s : Suit.values()) {
-            if ( s != Suit.Trump && s != Suit.Excuse) {
-                for (Rank r : Rank.values()) {
-                    try {
-                        Card c = new Card(s,r);
-                        if(!wholeCardsDeck.add(c))
-                            System.err.println("Card number limit has been reached. Max is "
-                                    + wholeCardsDeck.getNbMaxCards());
-                        else
-                            notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.ADD_CARD, c, wholeCardsDeck));
-
-                    } catch (CardUniquenessException | CardNumberException e) {
-                        System.err.println(e.getMessage());
-                    }
-                }
-            }
-            else if ( s != Suit.Excuse){
-                for (int i = 1; i <= Card.getNbMaxTrumps(); i++) {
-                    try {
-                        Card c = new Card(Suit.Trump,i);
-                        if(!wholeCardsDeck.add(c))
-                            System.err.println("Card number limit has been reached. Max is "
-                                    + wholeCardsDeck.getNbMaxCards());
-                        else
-                            notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.ADD_CARD, c, wholeCardsDeck));
-                    } catch (CardUniquenessException | CardNumberException e) {
-                        System.err.println(e.getMessage());
-                    }
-                }
-            }
-            else {
-                try {
-                    Card c = new Card(Suit.Excuse, -1);
-                    if(!wholeCardsDeck.add(c))
-                        System.err.println("Card number limit has been reached. Max is "
-                                + wholeCardsDeck.getNbMaxCards());
-                    else
-                        notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.ADD_CARD, c, wholeCardsDeck));
-                } catch (CardNumberException | CardUniquenessException e) {
-                    System.err.println(e.getMessage());
-                }
+        for (Card c : Card.getAllCards()) {
+            try {
+                table.registerCard();
+                if(!wholeCardsDeck.add(c))
+                    System.err.println("Card number limit has been reached. Max is "
+                            + wholeCardsDeck.getNbMaxCards());
+                else if (isAnimated())
+                    notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.ADD_CARD, c, wholeCardsDeck));
+            } catch (CardNumberException e) {
+                System.err.println(e.getMessage());
             }
         }
         changeGameState(GameState.CARDS_SPREADING);
     }
 
 
+    /**
+     * Run a whole game : dealer choosing if enabled,
+     * dealing, bids, ecart constitution and tricks
+     * @since v1.1.0
+     */
+    private void runGame() {
+        if (gameState != GameState.GAME_ENDED && dealerChoosingEnabled)
+            chooseInitialDealer();
+        if (gameState != GameState.GAME_ENDED)
+            handleDealing();
+        if (gameState != GameState.GAME_ENDED)
+            handleBids();
+        if (gameState != GameState.GAME_ENDED)
+            playTricks();
+        gameState = GameState.GAME_ENDED;
+    }
+
+
+    /**
+     * Play a whole game in the calling thread, without any pacing.
+     * Cards are first gathered so that games can be played one after the other
+     * with the same model.
+     * @since v1.1.0
+     *
+     * @throws IllegalStateException if the model isn't headless
+     */
+    public void playHeadlessGame() {
+        if ( !headless)
+            throw new IllegalStateException("Only a headless game can be played without its game thread");
+        gameState = null;
+        gatherAllCards();
+        runGame();
+    }
+
+
+    /**
+     * Play a given deal in the calling thread, without any pacing :
+     * cards are put in hands and talon following the deal masks, without shuffling nor cutting.
+     * Bids are chosen once, the deal ending without taker if every player passes.
+     * The cards each player receives only depend on the deal and the dealer,
+     * but strategies and the table random source keep their state from a deal to the next
+     * @since v1.1.0
+     *
+     * @param dealBuffer the buffer containing the deal, following {@code DealGenerator} layout
+     * @param offset the position of the deal in the buffer
+     * @param dealer the dealer, the player at his right receiving the deal seat 0,
+     *               and the next players counter-clockwise the following seats
+     * @throws IllegalStateException if the model isn't headless
+     */
+    public void playHeadlessDeal(long[] dealBuffer, int offset, PlayerHandler.PlayersCardinalPoint dealer) {
+        if ( !headless)
+            throw new IllegalStateException("Only a headless game can be played without its game thread");
+        gameState = null;
+        gatherAllCards();
+        playerHandler.setFirstDealer(playerHandler.getPlayer(dealer));
+        dealPlannedCards(dealBuffer, offset);
+        chooseBids();
+        if ( taker != null) {
+            handleEcart();
+            playTricks();
+        }
+        gameState = GameState.GAME_ENDED;
+    }
+
+
     /**
      * Choose this game first dealer
      * by picking a card among the 78 ones
@@ -153,6 +283,7 @@ public class GameModel extends Observable {
      */
     private void chooseInitialDealer() {
         changeGameState(GameState.DEALER_CHOOSING);
+        pickedCardsMap.clear();
 
         shuffleCards();
         temporize(1500);
@@ -185,7 +316,7 @@ public class GameModel extends Observable {
         for (Map.Entry<Card, Hand> mapEntry : pickedCardsMap.entrySet())
             if (Objects.isNull(minCard))
                 minCard = mapEntry.getKey();
-            else if ( new Card.CardComparator().compare(mapEntry.getKey(), minCard) == -1 )
+            else if ( Card.getComparator().compare(mapEntry.getKey(), minCard) == -1 )
                 minCard = mapEntry.getKey();
 
         playerHandler.setFirstDealer(pickedCardsMap.get(minCard));
@@ -201,36 +332,35 @@ public class GameModel extends Observable {
 
     /**
      * Do Tarot Dealing by shuffling, cutting and dealing cards
-     * If a player has Petit Sec after dealing,
-     * new dealer, shuffler and cutter are designated
-     * and card deck is again shuffled, cut and dealt
+     * Once the deck is cut and the talon places drawn, the destination
+     * of each card is known : if a player would have Petit Sec,
+     * the deal is given up before any card is moved,
+     * a new dealer is designated and card deck is again shuffled, cut and dealt
      * @since v0.5
      */
     private void handleDealing() {
-        boolean hasPetitSec = false;
+        boolean hasPetitSec;
         do {
             shuffleCards();
             cutDeck();
-            dealAllCards();
 
-            flipDeck(ourPlayer, true);
-
-            playerHandler.getPlayersMap().forEach( (cardinalPoint, playerHand) -> sortDeck(playerHand));
+            int talonGaps = DealGenerator.drawTalonGaps(random.getDealingRandom()::nextInt);
+            PlayerHandler.PlayersCardinalPoint petitSecPlayer = findPetitSecPlayer(talonGaps);
+            hasPetitSec = petitSecPlayer != null;
+            if (hasPetitSec) {
+                redealStatistics.addRedeal(petitSecPlayer.ordinal());
+                changeGameState(GameState.PETIT_SEC_DETECTED);
+                playerHandler.changeDealer();
+            }
+            else {
+                redealStatistics.addDeal();
+                dealAllCards(talonGaps);
 
-            temporize(3000);
+                flipDeck(ourPlayer, true);
 
-            //"Petit Sec" checking
-            for (Map.Entry<PlayerHandler.PlayersCardinalPoint, Hand> player
-                    : playerHandler.getPlayersMap().entrySet()) {
+                playerHandler.getPlayersMap().forEach( (cardinalPoint, playerHand) -> sortDeck(playerHand));
 
-                hasPetitSec = player.getValue().checkHasPetitSec();
-                if (hasPetitSec) {
-                    changeGameState(GameState.PETIT_SEC_DETECTED);
-                    flipDeck(ourPlayer, false);
-                    playerHandler.changeDealer();
-                    gatherAllCards();
-                    break;
-                }
+                temporize(3000);
             }
         }
         while (hasPetitSec);
@@ -238,37 +368,90 @@ public class GameModel extends Observable {
 
 
     /**
-     * Deals card
+     * Find a player who would have Petit Sec
+     * if the deck was dealt with some talon places,
+     * without moving any card
+     * @since v1.1.0
+     *
+     * @param talonGaps the gaps between packets after which talon receives a card
+     * @return the first player having Petit Sec in dealing order, or null if there is none
+     */
+    private PlayerHandler.PlayersCardinalPoint findPetitSecPlayer(int talonGaps) {
+        if ( wholeCardsDeck.size() != Card.getNbMaxCards())
+            return null;
+        for (int i = 0; i < deckIds.length; i++)
+            deckIds[i] = (byte) wholeCardsDeck.get(i).getId();
+
+        int petitSecSeat = DealGenerator.dealDeck(deckIds, 0, talonGaps, plannedDeal, 0, true);
+        if ( petitSecSeat < 0)
+            return null;
+
+        PlayerHandler.PlayersCardinalPoint[] cardinalPoints = PlayerHandler.PlayersCardinalPoint.values();
+        PlayerHandler.PlayersCardinalPoint firstReceiver =
+                playerHandler.getPlayerCardinalPoint(playerHandler.getCurrentPlayer());
+        return cardinalPoints[(firstReceiver.ordinal() + petitSecSeat) % cardinalPoints.length];
+    }
+
+
+    /**
+     * Deals card by packets of 3 cards
+     * Talon cards are put between packets, following the same pattern
+     * as the {@code DealGenerator}
      * @since v0.5
      */
     public void dealAllCards() {
+        dealAllCards(DealGenerator.drawTalonGaps(random.getDealingRandom()::nextInt));
+    }
+
+
+    /**
+     * Deals card by packets of 3 cards, with given talon places
+     * @since v1.1.0
+     *
+     * @param talonGaps the gaps between packets after which talon receives a card
+     */
+    private void dealAllCards(int talonGaps) {
         changeGameState(GameState.CARDS_DEALING);
+        nbDeals++;
 
-        int cptNbCardGivenToSameHand = 0;
-        while( !wholeCardsDeck.isEmpty()) {
-            boolean chienReceiveCard = false;
-            if( talon.size() < 6
-                    && wholeCardsDeck.size() < 78) { //Don't give first card to chien
-                if ( wholeCardsDeck.size() == 2 ) { //Don't give last card to chien
-                    moveCardBetweenDecks(wholeCardsDeck, talon, wholeCardsDeck.get(0), true);
-                    chienReceiveCard = true;
-                }
-                else {
-                    chienReceiveCard = ( (new Random().nextInt(4) == 0)); //25% it chooses to put it in Talon
-                    if (chienReceiveCard) {
-                        moveCardBetweenDecks(wholeCardsDeck, talon, wholeCardsDeck.get(0), true);
-                    }
-                }
-            }
-            if (!chienReceiveCard) {
+        beginMoveBatch();
+        for (int packet = 0; !wholeCardsDeck.isEmpty(); packet++) {
+            for (int i = 0; i < DealGenerator.CARDS_PER_PACKET && !wholeCardsDeck.isEmpty(); i++)
                 moveCardBetweenDecks(wholeCardsDeck, playerHandler.getCurrentPlayer(), wholeCardsDeck.get(0), true);
-                cptNbCardGivenToSameHand++;
-            }
-            if (cptNbCardGivenToSameHand == 3) {
+            playerHandler.changeCurrentPlayer();
+
+            if ( DealGenerator.isTalonGap(talonGaps, packet) && !wholeCardsDeck.isEmpty())
+                moveCardBetweenDecks(wholeCardsDeck, talon, wholeCardsDeck.get(0), true);
+        }
+        endMoveBatch();
+    }
+
+
+    /**
+     * Deal the cards following the masks of a planned deal,
+     * seat 0 being the current player and the talon receiving the last masks
+     * @since v1.1.0
+     *
+     * @param dealBuffer the buffer containing the deal
+     * @param offset the position of the deal in the buffer
+     */
+    private void dealPlannedCards(long[] dealBuffer, int offset) {
+        changeGameState(GameState.CARDS_DEALING);
+        nbDeals++;
+        redealStatistics.addDeal();
+
+        beginMoveBatch();
+        for (int seat = 0; seat <= Deal.TALON; seat++) {
+            CardGroup receiver = (seat == Deal.TALON) ? talon : playerHandler.getCurrentPlayer();
+            CardSet cards = new CardSet(dealBuffer[offset + 2 * seat], dealBuffer[offset + 2 * seat + 1]);
+            for (int id = cards.nextId(0); id >= 0; id = cards.nextId(id + 1))
+                moveCardBetweenDecks(wholeCardsDeck, receiver, Card.valueOf(id), true);
+            if ( seat < Deal.TALON)
                 playerHandler.changeCurrentPlayer();
-                cptNbCardGivenToSameHand = 0;
-            }
         }
+        endMoveBatch();
+        flipDeck(ourPlayer, true);
+        playerHandler.getPlayersMap().forEach( (cardinalPoint, playerHand) -> sortDeck(playerHand));
     }
 
 
@@ -278,40 +461,46 @@ public class GameModel extends Observable {
      * @since v0.6
      */
     public void gatherAllCards() {
-        playerHandler.getPlayersMap().forEach((cardinalPoint,player)-> {
-            while ( !player.isEmpty() ) {
-                moveCardBetweenDecks(player, wholeCardsDeck, player.get(0), false);
-            }
-        });
-        while ( !talon.isEmpty() ) {
-            moveCardBetweenDecks(talon, wholeCardsDeck, talon.get(0), false);
-        }
-        while ( !pickedCardsDeck.isEmpty() ) {
-            moveCardBetweenDecks(pickedCardsDeck, wholeCardsDeck, pickedCardsDeck.get(0), false);
-        }
-        while ( !toPickDeck.isEmpty() ) {
-            moveCardBetweenDecks(toPickDeck, wholeCardsDeck, toPickDeck.get(0), false);
+        playerHandler.getPlayersMap().forEach((cardinalPoint,player)->
+                player.takeTop(player.size(), wholeCardsDeck));
+        talon.takeTop(talon.size(), wholeCardsDeck);
+        pickedCardsDeck.takeTop(pickedCardsDeck.size(), wholeCardsDeck);
+        toPickDeck.takeTop(toPickDeck.size(), wholeCardsDeck);
+        trickDeck.takeTop(trickDeck.size(), wholeCardsDeck);
+        takerPile.takeTop(takerPile.size(), wholeCardsDeck);
+        defensePile.takeTop(defensePile.size(), wholeCardsDeck);
+        if (isAnimated()) {
+            CardUpdate cardUpdate = new CardUpdate(CardUpdateType.GATHER_CARDS, wholeCardsDeck);
+            notifyObserversOfCardUpdate(cardUpdate);
+            waitEndUpdateAnimation(cardUpdate);
         }
-        CardUpdate cardUpdate = new CardUpdate(CardUpdateType.GATHER_CARDS, wholeCardsDeck);
-        notifyObserversOfCardUpdate(cardUpdate);
-        waitEndUpdateAnimation(cardUpdate);
     }
 
 
     /**
      * Handle the Bids
+     * Cards are dealt again while every player passes
      * @since v0.6
      */
     private void handleBids() {
         chooseBids();
-        while (ourPlayer.getBidChosen() == Bids.Pass) {
+        while (taker == null) {
             flipDeck(ourPlayer, false);
             gatherAllCards();
             playerHandler.changeDealer();
             handleDealing();
             chooseBids();
         }
-        if ( ourPlayer.getBidChosen()== Bids.Small || ourPlayer.getBidChosen()== Bids.Guard ) {
+        handleEcart();
+    }
+
+
+    /**
+     * Constitute the taker's Ecart after a Small or a Guard
+     * @since v1.1.0
+     */
+    private void handleEcart() {
+        if ( taker.getBidChosen()== Bids.Small || taker.getBidChosen()== Bids.Guard ) {
             temporize(800);
             constituteEcart();
             changeGameState(GameState.ECART_CONSTITUTED);
@@ -320,46 +509,87 @@ public class GameModel extends Observable {
 
 
     /**
-     * Choose a bid for each player
+     * Choose a bid for each player, starting with the first player after the dealer
+     * The taker is the player with the highest bid
      * @since v0.6
      */
     private void chooseBids() {
 
         changeGameState(GameState.BID_CHOOSING);
 
-        playerHandler.getPlayersMap().forEach((cardinalPoint,player) -> {
-            if ( player == ourPlayer) {
-                flipDeck(ourPlayer, true);
-                int choice = waitObserverUserEvent(NotificationType.CHOOSE_BID);
-
-                try {
-                    ourPlayer.setBidChosen(Bids.valueOf(choice));
-                } catch (Exception e) {
-                    e.getMessage();
-                }
+        Bids highestBid = null;
+        taker = null;
+        Hand leader = playerHandler.getCurrentPlayer();
+        for (int i = 0; i < Trick.NB_SEATS; i++) {
+            Hand player = playerHandler.getCurrentPlayer();
+            Bids bid = chooseBid(player, leader, highestBid);
+            player.setBidChosen(bid);
+            if ( bid.isHigherThan(highestBid)) {
+                highestBid = bid;
+                taker = player;
             }
-            else {
-                player.setBidChosen(Bids.Pass); //Other players passes
-            }
-        });
+            playerHandler.changeCurrentPlayer();
+        }
 
         changeGameState(GameState.BID_CHOSEN);
     }
 
 
+    /**
+     * Choose the bid of a player with its seat strategy
+     * Our player is asked for its bid when no strategy is set for it,
+     * a bid advice being computed beforehand when the game is animated
+     * @since v1.1.0
+     *
+     * @param player the player who bids
+     * @param leader the player leading the first trick
+     * @param highestBid the highest bid of previous players, or null
+     * @return the player's bid
+     */
+    private Bids chooseBid(Hand player, Hand leader, Bids highestBid) {
+        BiddingStrategy strategy = biddingStrategies[playerHandler.getPlayerCardinalPoint(player).ordinal()];
+        if ( strategy != null)
+            return strategy.chooseBid(player, highestBid);
+
+        flipDeck(player, true);
+        bidAdvice = null;
+        if ( isAnimated())
+            bidAdvice = bidAdvisor.advise(player, playerHandler.getPlayerCardinalPoint(player).ordinal(),
+                    playerHandler.getPlayerCardinalPoint(leader).ordinal(), random.getAiRandom());
+        int choice = waitObserverUserEvent(NotificationType.CHOOSE_BID);
+        try {
+            return Bids.valueOf(choice);
+        } catch (Exception e) {
+            System.err.println(e.getMessage());
+            return Bids.Pass;
+        }
+    }
+
+
     /**
      * Constitute player Ecart
+     * The ecart of a taker that isn't our player, or of our player when the game
+     * isn't animated, is chosen by the Ecart optimizer ; otherwise its best Ecart
+     * is given as a hint
      * @since v0.6
      */
     private void constituteEcart() {
         changeGameState(GameState.ECART_CONSTITUTING);
         flipDeck(talon, true);
 
+        if ( taker != ourPlayer || !isAnimated()) {
+            constituteAutomaticEcart();
+            return;
+        }
+
+        beginMoveBatch();
         while ( !talon.isEmpty() ) {
             moveCardBetweenDecks(talon, ourPlayer, talon.get(0), true);
         }
+        endMoveBatch();
 
         sortDeck(ourPlayer);
+        ecartHint = ecartOptimizer.best(ourPlayer);
 
         for (int i=0; i < 6; i++) {
             boolean choiceValid;
@@ -369,17 +599,13 @@ public class GameModel extends Observable {
 
                 c = ourPlayer.get(choice);
 
-                if ( c.getSuit() != Suit.Trump && c.getSuit() != Suit.Excuse && c.getRank() != Rank.King) {
-                    choiceValid = true;
-                }
-                else if ( c.getSuit() == Suit.Trump && !Objects.equals(c.getName(), "Trump1")
-                        && !Objects.equals(c.getName(), "Trump21") && checkTrumpPossibility() ) {
+                if ( isEcartAllowed(ourPlayer, c)) {
                     choiceValid = true;
                 }
                 else {
                     choiceValid = false;
-                    setChanged();
-                    notifyObservers(NotificationType.UNAUTHORIZED_CARD_CHOICE);
+                    if (isAnimated())
+                        eventBus.publishNotification(NotificationType.UNAUTHORIZED_CARD_CHOICE);
                 }
             }
             while (!choiceValid);
@@ -389,10 +615,155 @@ public class GameModel extends Observable {
                 flipCard(c, false);
             }
             moveCardBetweenDecks(ourPlayer, talon, c, true);
-            CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SORT_DECK, ourPlayer);
-            notifyObserversOfCardUpdate(cardUpdate);
-            waitEndUpdateAnimation(cardUpdate);
+            if (isAnimated()) {
+                CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SORT_DECK, ourPlayer);
+                notifyObserversOfCardUpdate(cardUpdate);
+                waitEndUpdateAnimation(cardUpdate);
+            }
+        }
+    }
+
+
+    /**
+     * Play all tricks, the taker's opponents being the defense
+     * The talon goes to the taker's side, except for a Guard against the Kitty.
+     * The deal score is counted as tricks are won, poignées being declared
+     * automatically for each player having enough trumps, the Excuse included.
+     * The first player after the dealer leads the first trick,
+     * then each trick winner leads the next one
+     * @since v1.1.0
+     */
+    private void playTricks() {
+        changeGameState(GameState.TRICKS_PLAYING);
+        nbTricksPlayed = 0;
+        dealScore.start(taker.getBidChosen(), playerHandler.getPlayerCardinalPoint(taker).ordinal());
+        playerHandler.getPlayersMap().forEach((cardinalPoint, player) ->
+                dealScore.declarePoignee(player.getNbTrumps() + (player.hasExcuse() ? 1 : 0)));
+
+        //after a Small or a Guard, the talon holds the Ecart, which only the taker knows
+        boolean ecartKnown = taker.getBidChosen() == Bids.Small || taker.getBidChosen() == Bids.Guard;
+        playHistory.start(playerHandler.getPlayerCardinalPoint(taker).ordinal(),
+                playerHandler.getPlayerCardinalPoint(playerHandler.getCurrentPlayer()).ordinal(),
+                ecartKnown ? talon.getLowMask() : 0, ecartKnown ? talon.getHighMask() : 0);
+        cardTracker.start();
+
+        CardGroup talonPile = (taker.getBidChosen() == Bids.GuardAgainstTheKitty) ? defensePile : takerPile;
+        dealScore.addTalon(talon, talonPile == takerPile);
+        flipDeck(talon, false);
+        beginMoveBatch();
+        while ( !talon.isEmpty() ) {
+            moveCardBetweenDecks(talon, talonPile, talon.get(0), true);
+        }
+        endMoveBatch();
+
+        while ( !ourPlayer.isEmpty() && gameState != GameState.GAME_ENDED) {
+            playTrick();
+            nbTricksPlayed++;
+            changeGameState(GameState.TRICK_ENDED);
+        }
+        if (gameState != GameState.GAME_ENDED)
+            changeGameState(GameState.TRICKS_PLAYED);
+    }
+
+
+    /**
+     * Play one trick : each player plays a legal card in turn,
+     * then the winner takes the trick and leads the next one
+     * The Excuse stays in its owner's side
+     * @since v1.1.0
+     */
+    private void playTrick() {
+        PlayerHandler.PlayersCardinalPoint[] cardinalPoints = PlayerHandler.PlayersCardinalPoint.values();
+        trick.reset();
+
+        for (int i = 0; i < Trick.NB_SEATS; i++) {
+            Hand player = playerHandler.getCurrentPlayer();
+            Card c = chooseTrickCard(player);
+            trick.play(playerHandler.getPlayerCardinalPoint(player).ordinal(), c.getId());
+            playHistory.add(playerHandler.getPlayerCardinalPoint(player).ordinal(), c.getId());
+            moveCardBetweenDecks(player, trickDeck, c, true);
+            flipCard(c, true);
+            playerHandler.changeCurrentPlayer();
+        }
+        dealScore.addTrick(trick, ourPlayer.isEmpty());
+        temporize(800);
+
+        Hand winner = playerHandler.getPlayer(cardinalPoints[trick.getWinnerSeat()]);
+        int excuseSeat = trick.getExcuseSeat();
+        CardGroup winnerPile = getPile(winner);
+        CardGroup excusePile = (excuseSeat < 0) ? winnerPile : getPile(playerHandler.getPlayer(cardinalPoints[excuseSeat]));
+
+        flipDeck(trickDeck, false);
+        beginMoveBatch();
+        while ( !trickDeck.isEmpty() ) {
+            Card c = trickDeck.get(0);
+            moveCardBetweenDecks(trickDeck, (c.getSuit() == Suit.Excuse) ? excusePile : winnerPile, c, true);
+        }
+        endMoveBatch();
+        playerHandler.setCurrentPlayer(winner);
+    }
+
+
+    /**
+     * Choose the card a player puts in the current trick
+     * Players use the card play strategy of their seat, if any.
+     * Otherwise our player is asked until a legal card is chosen,
+     * other players play a random legal card
+     * @since v1.1.0
+     *
+     * @param player the player whose turn it is
+     * @return the chosen card, still in player's hand
+     */
+    private Card chooseTrickCard(Hand player) {
+        int seat = playerHandler.getPlayerCardinalPoint(player).ordinal();
+        CardPlayStrategy strategy = cardPlayStrategies[seat];
+        if ( strategy != null)
+            return Card.valueOf(strategy.chooseCard(seat, player, trick, playHistory, cardTracker));
+        trick.legalMoves(player.getLowMask(), player.getHighMask(), legalMoves);
+        if ( player != ourPlayer)
+            return Card.valueOf(legalMoves.getNthId(random.getAiRandom().nextInt(legalMoves.size())));
+
+        Card c;
+        boolean choiceValid;
+        do {
+            int choice = waitObserverUserEvent(NotificationType.PLAY_CARD);
+            c = ourPlayer.get(choice);
+            choiceValid = legalMoves.contains(c.getId());
+            if ( !choiceValid && isAnimated())
+                eventBus.publishNotification(NotificationType.UNAUTHORIZED_CARD_CHOICE);
+        }
+        while (!choiceValid);
+        return c;
+    }
+
+
+    /**
+     * Constitute the taker's Ecart with the best one
+     * found by the Ecart optimizer
+     * @since v1.1.0
+     */
+    private void constituteAutomaticEcart() {
+        beginMoveBatch();
+        while ( !talon.isEmpty() ) {
+            moveCardBetweenDecks(talon, taker, talon.get(0), true);
+        }
+        endMoveBatch();
+        if ( taker != ourPlayer)
+            flipDeck(taker, false);
+        sortDeck(taker);
+
+        EcartChoice ecart = ecartOptimizer.best(taker);
+        if ( ecart == null)
+            return;
+        CardSet discarded = ecart.getCards();
+        beginMoveBatch();
+        for (int id = discarded.nextId(0); id >= 0; id = discarded.nextId(id + 1)) {
+            Card c = Card.valueOf(id);
+            //Only Trumps are shown when put in Ecart
+            flipCard(c, c.getSuit() == Suit.Trump);
+            moveCardBetweenDecks(taker, talon, c, true);
         }
+        endMoveBatch();
     }
 
 
@@ -406,15 +777,19 @@ public class GameModel extends Observable {
 
         flipDeck(ourPlayer, false);
         gatherAllCards();
+        List<CardUpdate> deleteUpdates = new ArrayList<>();
+        if (isAnimated()) {
+            for (Card c : wholeCardsDeck) {
+                CardUpdate deleteUpdate = new CardUpdate(CardUpdateType.DELETE_CARD, c);
+                notifyObserversOfCardUpdate(deleteUpdate);
+                deleteUpdates.add(deleteUpdate);
+            }
+        }
+        waitEndUpdateAnimations(deleteUpdates);
         while ( !wholeCardsDeck.isEmpty() ) {
-            CardUpdate deleteUpdate = new CardUpdate(CardUpdateType.DELETE_CARD, wholeCardsDeck.get(0));
-            notifyObserversOfCardUpdate(deleteUpdate);
-            waitEndUpdateAnimation(deleteUpdate);
             wholeCardsDeck.remove(0);
         }
-        Talon.resetClass();
-        Hand.resetClass();
-        Card.resetClass();
+        table.releaseCards();
     }
 
 
@@ -428,26 +803,24 @@ public class GameModel extends Observable {
      */
     private void changeGameState(GameState gameState) {
         this.gameState = gameState;
-        if ( countObservers() != 0 ) {
-            setChanged();
-            notifyObservers(gameState);
-        }
+        if ( isAnimated() )
+            eventBus.publishGameState(gameState);
     }
 
 
     /**
      * Shuffles cards
      * @since v0.5
-     * @see Collections
-     * @see Random
+     * @see GameRandom
      */
     public void shuffleCards() {
         changeGameState(GameState.CARDS_SHUFFLING);
-        long seed = System.nanoTime();
-        Collections.shuffle(wholeCardsDeck, new Random(seed));
-        CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SHUFFLE_CARDS, wholeCardsDeck);
-        notifyObserversOfCardUpdate(cardUpdate);
-        waitEndUpdateAnimation(cardUpdate);
+        wholeCardsDeck.shuffle(random.getShuffleRandom());
+        if (isAnimated()) {
+            CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SHUFFLE_CARDS, wholeCardsDeck);
+            notifyObserversOfCardUpdate(cardUpdate);
+            waitEndUpdateAnimation(cardUpdate);
+        }
     }
 
 
@@ -458,43 +831,30 @@ public class GameModel extends Observable {
      * @param cardGroup the cardGroup that has to be sorted
      */
     private void sortDeck(CardGroup cardGroup) {
-        cardGroup.sort(new Card.CardComparator());
-        notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.SORT_DECK, cardGroup));
+        cardGroup.sort(Card.getComparator());
+        if (isAnimated())
+            notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.SORT_DECK, cardGroup));
     }
 
 
     /**
-     * Cuts a deck of cards
+     * Cuts a deck of cards in place
+     * Each cut part must contain more than 3 cards,
+     * the cut size is uniformly drawn among the allowed ones
      * @since v0.5
      */
     public void cutDeck() {
-        //a cut list must contain more than 3 cards
-        int splitIt;
-        boolean isValidIterator = false;
-
-        do {
-            splitIt = wholeCardsDeck.indexOf(randomCard(wholeCardsDeck));
-            if ( splitIt < 74 && splitIt > 3)
-                isValidIterator = true;
-        }
-        while (!isValidIterator);
+        int cutSize = DealGenerator.drawCut(random.getCutRandom());
+        int splitIt = cutSize - 1;
 
-        List<Card> cut1 = new ArrayList<>();
-        List<Card> cut2 = new ArrayList<>();
+        wholeCardsDeck.cut(cutSize);
 
-        for (int i=0; i <= splitIt; i++)
-            cut1.add(wholeCardsDeck.get(i));
-        for (int i = splitIt+1; i < wholeCardsDeck.size(); i++)
-            cut2.add(wholeCardsDeck.get(i));
-
-        wholeCardsDeck.clear();
-        wholeCardsDeck.addAll(cut2);
-        wholeCardsDeck.addAll(cut1);
-
-        temporize(1000);
-        CardUpdate cutUpdate = new CardUpdate(CardUpdateType.CUT_DECK, wholeCardsDeck.get(splitIt), wholeCardsDeck);
-        notifyObserversOfCardUpdate(cutUpdate);
-        waitEndUpdateAnimation(cutUpdate);
+        if (isAnimated()) {
+            temporize(1000);
+            CardUpdate cutUpdate = new CardUpdate(CardUpdateType.CUT_DECK, wholeCardsDeck.get(splitIt), wholeCardsDeck);
+            notifyObserversOfCardUpdate(cutUpdate);
+            waitEndUpdateAnimation(cutUpdate);
+        }
     }
 
 
@@ -504,18 +864,19 @@ public class GameModel extends Observable {
      */
     private void spreadCards() {
         changeGameState(GameState.CARDS_SPREADING);
-        while ( !wholeCardsDeck.isEmpty()) {
-            moveCardBetweenDecks(wholeCardsDeck, toPickDeck, wholeCardsDeck.get(0), false);
-        }
+        wholeCardsDeck.takeTop(wholeCardsDeck.size(), toPickDeck);
 
-        CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SPREAD_CARDS, toPickDeck);
-        notifyObserversOfCardUpdate(cardUpdate);
-        waitEndUpdateAnimation(cardUpdate);
+        if (isAnimated()) {
+            CardUpdate cardUpdate = new CardUpdate(CardUpdateType.SPREAD_CARDS, toPickDeck);
+            notifyObserversOfCardUpdate(cardUpdate);
+            waitEndUpdateAnimation(cardUpdate);
+        }
     }
 
 
     /**
      * Moves a card between two decks
+     * A card moved from a hand to the trick is given to the card tracker
      * @since v0.6
      * @param source the source deck
      * @param target the target deck
@@ -525,9 +886,40 @@ public class GameModel extends Observable {
     public void moveCardBetweenDecks(CardGroup source, CardGroup target, Card c, boolean doesNotifyObserver) {
         source.remove(c);
         target.add(c);
-        if (doesNotifyObserver)
+        if ( target == trickDeck && source instanceof Hand)
+            cardTracker.cardPlayed(playerHandler.getPlayerCardinalPoint((Hand) source).ordinal(), c.getId());
+        if (doesNotifyObserver && isAnimated())
         {
-            notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.MOVE_CARD_BETWEEN_GROUPS, c, target));
+            if ( moveBatch != null)
+                moveBatch.addMove(c, target, moveBatch.getNbMoves() * BATCH_MOVE_INTERVAL_MILLIS);
+            else
+                notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.MOVE_CARD_BETWEEN_GROUPS, c, target));
+        }
+    }
+
+
+    /**
+     * Start collecting the animated moves of cards in a batch,
+     * instead of notifying each one
+     * @since v1.1.0
+     */
+    private void beginMoveBatch() {
+        if ( isAnimated())
+            moveBatch = new CardUpdate(CardUpdateType.MOVE_CARDS);
+    }
+
+
+    /**
+     * Notify the moves collected since the batch began in one card update,
+     * and wait for the end of their animation
+     * @since v1.1.0
+     */
+    private void endMoveBatch() {
+        CardUpdate batch = moveBatch;
+        moveBatch = null;
+        if ( batch != null && batch.getNbMoves() > 0) {
+            notifyObserversOfCardUpdate(batch);
+            waitEndUpdateAnimation(batch);
         }
     }
 
@@ -538,28 +930,41 @@ public class GameModel extends Observable {
      * than Trump, King or Excuse is player's deck
      * @since v0.6
      *
+     * @param player the player constituting the Ecart
      * @return a boolean indicating if Trump discard is possible
      */
-    private boolean checkTrumpPossibility() {
-        int cpt = 0;
-        for ( Card c : ourPlayer ) {
-            if ( c.getSuit() == Suit.Trump || c.getSuit() == Suit.Excuse || c.getRank() == Rank.King)
-                cpt++;
-        }
-        return cpt == ourPlayer.size();
+    private boolean checkTrumpPossibility(Hand player) {
+        return player.checkHasOnlyTrumpsKingsAndExcuse();
+    }
+
+
+    /**
+     * Checks if a card can be put in the Ecart :
+     * neither a King nor an oudler, and a Trump only if there is no other choice
+     * @since v1.1.0
+     *
+     * @param player the player constituting the Ecart
+     * @param c the card to discard
+     * @return a boolean indicating if the card can be discarded
+     */
+    private boolean isEcartAllowed(Hand player, Card c) {
+        if ( c.getSuit() != Suit.Trump && c.getSuit() != Suit.Excuse && c.getRank() != Rank.King)
+            return true;
+        return c.getSuit() == Suit.Trump && !c.isOudler() && checkTrumpPossibility(player);
     }
 
 
     /**
      * Gets a random card in a card list
+     * Card is drawn from players choices stream of the table random source
      * @since v0.5
-     * @see Random
+     * @see GameRandom
      * @param list the list used to return a random card
      *
      * @return a random card
      */
     public Card randomCard(List<Card> list) {
-        int index = new Random().nextInt(list.size());
+        int index = random.getAiRandom().nextInt(list.size());
         return list.get(index);
     }
 
@@ -567,13 +972,16 @@ public class GameModel extends Observable {
     /**
      * Interrupts model logic for a certain amount of milliseconds
      * This allows game to run cooler
+     * The wait follows the animation clock speed, and lasts while it is paused
      * @since v0.8.1
-     * @see Random
-     * @param millis the amount of milliseconds to sleep
+     * @see AnimationClock
+     * @param millis the amount of milliseconds to sleep at normal speed
      */
     private void temporize(long millis) {
+        if (headless)
+            return;
         try {
-            sleep(millis);
+            animationClock.sleep(millis);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             e.printStackTrace();
@@ -596,11 +1004,12 @@ public class GameModel extends Observable {
      * @param isShown the state that is passed to the card (if different)
      */
     private void flipCard(Card c, boolean isShown) {
-        c.setShown(isShown);
-        CardUpdate flipCardUpdate = new CardUpdate(CardUpdateType.FLIP_CARD, c);
-        notifyObserversOfCardUpdate(flipCardUpdate);
-        if ( countObservers() != 0 )
+        setShown(c, isShown);
+        if (isAnimated()) {
+            CardUpdate flipCardUpdate = new CardUpdate(CardUpdateType.FLIP_CARD, c);
+            notifyObserversOfCardUpdate(flipCardUpdate);
             waitEndUpdateAnimation(flipCardUpdate);
+        }
     }
 
 
@@ -619,10 +1028,26 @@ public class GameModel extends Observable {
      * @param state the state that is passed to the card (if different)
      */
     private void flipDeck(CardGroup cardGroup, boolean state) {
-        cardGroup.forEach(c -> c.setShown(state));
-        CardUpdate flipDeckUpdate = new CardUpdate(CardUpdateType.FLIP_CARD, cardGroup);
-        notifyObserversOfCardUpdate(flipDeckUpdate);
-        waitEndUpdateAnimation(flipDeckUpdate);
+        cardGroup.forEach(c -> setShown(c, state));
+        if (isAnimated()) {
+            CardUpdate flipDeckUpdate = new CardUpdate(CardUpdateType.FLIP_CARD, cardGroup);
+            notifyObserversOfCardUpdate(flipDeckUpdate);
+            waitEndUpdateAnimation(flipDeckUpdate);
+        }
+    }
+
+
+    /**
+     * Set the face showing state of a card in this game
+     * @since v1.1.0
+     * @param c the card
+     * @param isShown the new state of the card
+     */
+    private void setShown(Card c, boolean isShown) {
+        if (isShown)
+            shownCards.add(c.getId());
+        else
+            shownCards.remove(c.getId());
     }
 
 
@@ -630,13 +1055,12 @@ public class GameModel extends Observable {
      * Notifies model observers with the type of card update
      * it shall operate to update itself
      * @since v0.6
-     * @see Observable
+     * @see GameEventBus
      * @param cardUpdate the cardUpdate to send to notify
      */
     public void notifyObserversOfCardUpdate(CardUpdate cardUpdate) {
-        if ( countObservers() != 0) {
-            setChanged();
-            notifyObservers(cardUpdate);
+        if ( isAnimated()) {
+            eventBus.publishCardUpdate(cardUpdate);
             if (cardUpdate.getType() != CardUpdateType.ADD_CARD) {
                 temporize(200);
             }
@@ -644,6 +1068,18 @@ public class GameModel extends Observable {
     }
 
 
+    /**
+     * Check if observers have to be notified and waited for
+     * It is never the case in headless mode
+     * @since v1.1.0
+     *
+     * @return a boolean indicating if the game is animated by observers
+     */
+    private boolean isAnimated() {
+        return !headless && eventBus.hasSubscribers();
+    }
+
+
     /**
      * Notifies observer that model needs an action from user
      * to resume its logic.
@@ -660,9 +1096,8 @@ public class GameModel extends Observable {
     private synchronized int waitObserverUserEvent(NotificationType action) {
         awaitsUserEvent = action;
         int choice = -1;
-        if ( countObservers() != 0 ) {
-            setChanged();
-            notifyObservers(action);
+        if ( isAnimated() ) {
+            eventBus.publishNotification(action);
             while (userChoice == -1)
             {
                 try {
@@ -676,15 +1111,19 @@ public class GameModel extends Observable {
         }
         else { //if no observers, set default values
             if ( action == NotificationType.PICK_CARD) {
-                choice = new Random().nextInt(78);
+                choice = random.getAiRandom().nextInt(toPickDeck.size());
             }
             else if ( action == NotificationType.CHOOSE_BID) {
-                choice = 1 + (new Random().nextInt(5));
+                choice = 1 + random.getAiRandom().nextInt(5);
             }
             else if ( action == NotificationType.CHOOSE_ECART_CARD) {
-                choice = new Random().nextInt(playerHandler.
+                choice = random.getAiRandom().nextInt(playerHandler.
                         getPlayer(PlayerHandler.PlayersCardinalPoint.South).size() );
             }
+            else if ( action == NotificationType.PLAY_CARD) {
+                int id = legalMoves.getNthId(random.getAiRandom().nextInt(legalMoves.size()));
+                choice = ourPlayer.indexOf(Card.valueOf(id));
+            }
         }
         return choice;
     }
@@ -696,22 +1135,63 @@ public class GameModel extends Observable {
      * @since v0.9.1
      * @param cardUpdate the specified cardUpdate object
      */
-    private synchronized void waitEndUpdateAnimation(CardUpdate cardUpdate) {
-        if ( countObservers() != 0 ) {
-            while (lastEndedAnimation != cardUpdate.hashCode()) {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    System.err.println(e.getMessage());
+    private void waitEndUpdateAnimation(CardUpdate cardUpdate) {
+        if ( isAnimated() )
+            awaitAnimations(cardUpdate.getCompletion());
+    }
+
+
+    /**
+     * Wait until the animations of a batch of updates have all been finished
+     * @since v1.1.0
+     * @param cardUpdates the batch of updates
+     */
+    private void waitEndUpdateAnimations(List<CardUpdate> cardUpdates) {
+        if ( isAnimated() && !cardUpdates.isEmpty())
+            awaitAnimations(CardUpdate.allCompleted(cardUpdates));
+    }
+
+
+    /**
+     * Wait for the completion of animations, at most the animation timeout
+     * so that a lost completion doesn't block the game forever
+     * The timeout grows with a slowed down clock, and never expires while it is paused
+     * @since v1.1.0
+     * @param completion the future completed at the end of the animations
+     */
+    private void awaitAnimations(CompletableFuture<?> completion) {
+        while (true) {
+            long timeoutMillis = Math.max(animationTimeoutMillis, animationClock.scale(animationTimeoutMillis));
+            try {
+                if ( animationTimeoutMillis > 0)
+                    completion.get(timeoutMillis, TimeUnit.MILLISECONDS);
+                else
+                    completion.get();
+                return;
+            } catch (TimeoutException e) {
+                if ( !animationClock.isPaused()) {
+                    System.err.println("Animation not completed after " + timeoutMillis + " ms, game resumed");
+                    return;
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                System.err.println(e.getMessage());
+                return;
             }
-            lastEndedAnimation = -1;
         }
     }
 
 
     //GETTERS & SETTERS - no documentation needed
 
+    public TableContext getTable() {
+        return table;
+    }
+    public GameRandom getRandom() {
+        return random;
+    }
     public CardGroup getWholeCardsDeck() {
         return wholeCardsDeck;
     }
@@ -721,6 +1201,54 @@ public class GameModel extends Observable {
     public CardGroup getPickedCardsDeck() {
         return pickedCardsDeck;
     }
+    public CardGroup getTrickDeck() {
+        return trickDeck;
+    }
+    public CardGroup getTakerPile() {
+        return takerPile;
+    }
+    public CardGroup getDefensePile() {
+        return defensePile;
+    }
+    public CardGroup getPile(Hand player) {
+        return (player == taker) ? takerPile : defensePile;
+    }
+    public Trick getTrick() {
+        return trick;
+    }
+    public DealScore getDealScore() {
+        return dealScore;
+    }
+    public Hand getTaker() {
+        return taker;
+    }
+    public EcartChoice getEcartHint() {
+        return ecartHint;
+    }
+    public BidAdvice getBidAdvice() {
+        return bidAdvice;
+    }
+    public BiddingStrategy getBiddingStrategy(PlayerHandler.PlayersCardinalPoint cardinalPoint) {
+        return biddingStrategies[cardinalPoint.ordinal()];
+    }
+    public CardPlayStrategy getCardPlayStrategy(PlayerHandler.PlayersCardinalPoint cardinalPoint) {
+        return cardPlayStrategies[cardinalPoint.ordinal()];
+    }
+    public PlayHistory getPlayHistory() {
+        return playHistory;
+    }
+    public CardTracker getCardTracker() {
+        return cardTracker;
+    }
+    public int getNbTricksPlayed() {
+        return nbTricksPlayed;
+    }
+    public CardSet getShownCards() {
+        return shownCards;
+    }
+    public boolean isShown(Card c) {
+        return shownCards.contains(c.getId());
+    }
     public PlayerHandler getPlayerHandler() {
         return playerHandler;
     }
@@ -733,13 +1261,34 @@ public class GameModel extends Observable {
     public NotificationType getAwaitsUserEvent() {
         return awaitsUserEvent;
     }
+    public AnimationClock getAnimationClock() {
+        return animationClock;
+    }
+    public GameEventBus getEventBus() {
+        return eventBus;
+    }
     public Thread getGameThread() {
         return gameThread;
     }
     public GameState getGameState() {
         return gameState;
     }
+    public boolean isHeadless() {
+        return headless;
+    }
+    public long getNbDeals() {
+        return nbDeals;
+    }
+    public RedealStatistics getRedealStatistics() {
+        return redealStatistics;
+    }
 
+    public void setBiddingStrategy(PlayerHandler.PlayersCardinalPoint cardinalPoint, BiddingStrategy strategy) {
+        biddingStrategies[cardinalPoint.ordinal()] = strategy;
+    }
+    public void setCardPlayStrategy(PlayerHandler.PlayersCardinalPoint cardinalPoint, CardPlayStrategy strategy) {
+        cardPlayStrategies[cardinalPoint.ordinal()] = strategy;
+    }
     public synchronized void setUserChoice(int userChoice) {
         this.userChoice = userChoice;
         notify();
@@ -747,8 +1296,10 @@ public class GameModel extends Observable {
     public void setAwaitsUserEventToNull() {
         this.awaitsUserEvent = null;
     }
-    public synchronized void setLastEndedAnimation(int lastEndedAnimation) {
-        this.lastEndedAnimation = lastEndedAnimation;
-        notify();
+    public long getAnimationTimeoutMillis() {
+        return animationTimeoutMillis;
+    }
+    public void setAnimationTimeoutMillis(long animationTimeoutMillis) {
+        this.animationTimeoutMillis = animationTimeoutMillis;
     }
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The {@code GameRandom} class is the random source of a table.
+ * It is split from a seed into independent streams, one for each use :
+ * shuffling, cutting, dealing and players choices (AI).
+ * Using a stream doesn't change the others, so a game is reproduced
+ * from its seed, whatever the number of AI draws.
+ *
+ * Streams are {@code SplittableRandom} : they aren't thread-safe
+ * and must only be used by the thread running the table game
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see TableContext
+ * @see SplittableRandom
+ */
+public class GameRandom {
+    private final long seed;
+    private final SplittableRandom shuffleRandom;
+    private final SplittableRandom cutRandom;
+    private final SplittableRandom dealingRandom;
+    private final SplittableRandom aiRandom;
+
+    /**
+     * Constructs a random source from a random seed
+     * @since v1.1.0
+     */
+    public GameRandom() {
+        this(ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Constructs a random source from a seed
+     * @since v1.1.0
+     *
+     * @param seed the seed from which all streams are split
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        SplittableRandom root = new SplittableRandom(seed);
+        shuffleRandom = root.split();
+        cutRandom = root.split();
+        dealingRandom = root.split();
+        aiRandom = root.split();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getSeed() {
+        return seed;
+    }
+    public SplittableRandom getShuffleRandom() {
+        return shuffleRandom;
+    }
+    public SplittableRandom getCutRandom() {
+        return cutRandom;
+    }
+    public SplittableRandom getDealingRandom() {
+        return dealingRandom;
+    }
+    public SplittableRandom getAiRandom() {
+        return aiRandom;
+    }
+}
@@ -17,7 +17,7 @@ package app.model;
  * The {@code GameState} enumeration
  * defines all steps that can occur
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.10
  */
 public enum GameState {
@@ -32,5 +32,8 @@ public enum GameState {
     ECART_CONSTITUTED,          //Ecart has been chosen, player can quit
     CARDS_SHUFFLING,            //Card are shuffled before dealer choosing and dealing
     CARDS_CUTTING,              //Card are cut before dealing
+    TRICKS_PLAYING,             //Players play their cards, trick after trick
+    TRICK_ENDED,                //A trick has been won and taken by its winner
+    TRICKS_PLAYED,              //All cards have been played, player can quit
     GAME_ENDED                  //Final state
 }
@@ -15,39 +15,54 @@ package app.model;
 
 import exceptions.CardGroupNumberException;
 
-import java.util.Objects;
+import java.util.Arrays;
 
 /**
  * The {@code Hand} class extends {@code CardGroup},
  * it consists in a group of cards representing a player
  *
+ * Statistics used by game rules (trumps, oudlers, kings, suits, points
+ * and Excuse presence) are kept up to date each time a card
+ * enters or leaves the hand, so that checking them is O(1)
+ *
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.1
  *
  * @see CardGroup
  * @see Card
  */
 public class Hand extends CardGroup{
-    private static int nbHands;
-    private static final int NB_MAX_HANDS = 4;
     private Bids bidChosen;
 
+    private final int[] nbCardsBySuit = new int[Suit.values().length];
+    private int nbOudlers;
+    private int nbKings;
+    private int nbPetits;
+    private int halfPoints;
+
     /**
-     * Constructs a hand
+     * Constructs a hand on the default table
      * @since v0.1
      *
      * @throws CardGroupNumberException if user tries to create too much hands
      * @param NB_MAX_CARDS the number max of card that CardGroup can accept
      */
     public Hand(int NB_MAX_CARDS) throws CardGroupNumberException {
-        super(NB_MAX_CARDS); //Max number of cards for this group
-        if ( nbHands >= NB_MAX_HANDS)
-            throw new CardGroupNumberException(
-                    "Hand instances limit has been reached.", NB_MAX_HANDS);
-        else {
-            nbHands++;
-        }
+        this(TableContext.getDefault(), NB_MAX_CARDS);
+    }
+
+    /**
+     * Constructs a hand on a table
+     * @since v1.1.0
+     *
+     * @throws CardGroupNumberException if the table already has all its hands
+     * @param table the table owning the hand
+     * @param NB_MAX_CARDS the number max of card that CardGroup can accept
+     */
+    public Hand(TableContext table, int NB_MAX_CARDS) throws CardGroupNumberException {
+        super(table, NB_MAX_CARDS); //Max number of cards for this group
+        table.registerHand();
         bidChosen = null;
     }
 
@@ -58,38 +73,110 @@ public class Hand extends CardGroup{
      * @return a boolean indicating "Petit Sec" presence
      */
     public boolean checkHasPetitSec() {
-        int nbTrumps = 0;
-        boolean hasLePetit = false;
-        boolean hasExcuse = false;
-        for (Card c : this) {
-            if (c.getSuit() == Suit.Trump )
-                nbTrumps++;
-            if ( c.getSuit() == null)
-                hasExcuse = true;
-            if (Objects.equals(c.getName(), "Trump1"))
-                hasLePetit = true;
-        }
-        return (nbTrumps == 1 && hasLePetit && !hasExcuse);
+        return (getNbTrumps() == 1 && nbPetits == 1 && !hasExcuse());
+    }
+
+    /**
+     * Check if a hand only contains Trumps, Kings and the Excuse,
+     * which are the cards that can't be put in the ecart
+     * @since v1.1.0
+     * @return a boolean indicating if only these cards remain
+     */
+    public boolean checkHasOnlyTrumpsKingsAndExcuse() {
+        return getNbTrumps() + nbKings + getNbCards(Suit.Excuse) == size();
+    }
+
+
+    /**
+     * Update hand statistics with an entering card
+     * @since v1.1.0
+     * @param card the entering card
+     */
+    @Override
+    protected void cardAdded(Card card) {
+        updateStatistics(card, 1);
+    }
+
+    /**
+     * Update hand statistics with a leaving card
+     * @since v1.1.0
+     * @param card the leaving card
+     */
+    @Override
+    protected void cardRemoved(Card card) {
+        updateStatistics(card, -1);
+    }
+
+    /**
+     * Reset hand statistics when all cards leave
+     * @since v1.1.0
+     */
+    @Override
+    protected void groupCleared() {
+        Arrays.fill(nbCardsBySuit, 0);
+        nbOudlers = 0;
+        nbKings = 0;
+        nbPetits = 0;
+        halfPoints = 0;
+    }
+
+    /**
+     * Add or remove a card from hand statistics
+     * @since v1.1.0
+     * @param card the card
+     * @param increment 1 for an entering card, -1 for a leaving one
+     */
+    private void updateStatistics(Card card, int increment) {
+        if ( card.getSuit() != null)
+            nbCardsBySuit[card.getSuit().ordinal()] += increment;
+        if ( card.isOudler())
+            nbOudlers += increment;
+        if ( card.getRank() == Rank.King)
+            nbKings += increment;
+        if ( card.getSuit() == Suit.Trump && card.getTrumpRank() == 1)
+            nbPetits += increment;
+        halfPoints += increment * card.getHalfPoints();
     }
 
 
     /**
-     * Reset static field
+     * Reset hands counter of the default table
      * @since v0.5
      */
     public static void resetClass() {
-        nbHands = 0;
+        TableContext.getDefault().resetHands();
     }
 
 
     //GETTERS - no documentation needed
 
     public static int getNbHands() {
-        return nbHands;
+        return TableContext.getDefault().getNbHands();
     }
     public Bids getBidChosen() {
         return bidChosen;
     }
+    public int getNbCards(Suit suit) {
+        return nbCardsBySuit[suit.ordinal()];
+    }
+    public int getNbTrumps() {
+        return nbCardsBySuit[Suit.Trump.ordinal()];
+    }
+    public int getNbOudlers() {
+        return nbOudlers;
+    }
+    public int getNbKings() {
+        return nbKings;
+    }
+    public boolean hasPetit() {
+        return nbPetits > 0;
+    }
+    public boolean hasExcuse() {
+        return nbCardsBySuit[Suit.Excuse.ordinal()] > 0;
+    }
+    public int getHalfPoints() {
+        return halfPoints;
+    }
 
     //SETTERS - no documentation needed
 
@@ -0,0 +1,103 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code HeuristicBiddingStrategy} class bids following
+ * the usual hand evaluation by points :
+ *  - 2 points by trump
+ *  - 10 points for the 21, 8 for the Excuse, 8 for a protected Petit (2 otherwise)
+ *  - 6 points by king
+ *  - 5 points for a five cards suit, and 2 more for each extra card
+ * The hand strength is then compared to the threshold of each bid.
+ * Only the O(1) statistics of {@code Hand} are read,
+ * so that a decision doesn't allocate anything
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Hand
+ */
+public class HeuristicBiddingStrategy implements BiddingStrategy {
+    private static final int[] DEFAULT_THRESHOLDS = {40, 56, 71, 81};
+    private static final int PROTECTED_PETIT_TRUMPS = 6;
+    private static final int LONG_SUIT_LENGTH = 5;
+    private static final Suit[] SUITS = Suit.values();
+    private static final Bids[] BIDS = Bids.values();
+
+    private final int[] thresholds;
+
+    /**
+     * Constructs a strategy with the usual bid thresholds
+     * @since v1.1.0
+     */
+    public HeuristicBiddingStrategy() {
+        this(DEFAULT_THRESHOLDS);
+    }
+
+    /**
+     * Constructs a strategy with custom bid thresholds,
+     * a bolder or more careful player having lower or higher ones
+     * @since v1.1.0
+     *
+     * @param thresholds the minimal strength of Small, Guard,
+     *                   Guard without and Guard against the Kitty
+     * @throws IllegalArgumentException if there aren't 4 thresholds
+     */
+    public HeuristicBiddingStrategy(int[] thresholds) {
+        if ( thresholds.length != DEFAULT_THRESHOLDS.length)
+            throw new IllegalArgumentException("A threshold is needed for each bid but Pass");
+        this.thresholds = thresholds.clone();
+    }
+
+    @Override
+    public Bids chooseBid(Hand hand, Bids highestBid) {
+        int strength = evaluate(hand);
+        Bids bid = Bids.Pass;
+        for (Bids b : BIDS)
+            if ( b != Bids.Pass && strength >= thresholds[b.ordinal()])
+                bid = b;
+        return bid.isHigherThan(highestBid) ? bid : Bids.Pass;
+    }
+
+    /**
+     * Evaluate the strength of a hand
+     * @since v1.1.0
+     *
+     * @param hand the evaluated hand
+     * @return the hand strength in points
+     */
+    public int evaluate(Hand hand) {
+        int nbTrumps = hand.getNbTrumps();
+        int strength = 2 * nbTrumps + 6 * hand.getNbKings();
+
+        int nbOtherOudlers = hand.getNbOudlers();
+        if ( hand.hasExcuse()) {
+            strength += 8;
+            nbOtherOudlers--;
+        }
+        if ( hand.hasPetit()) {
+            strength += (nbTrumps >= PROTECTED_PETIT_TRUMPS) ? 8 : 2;
+            nbOtherOudlers--;
+        }
+        strength += 10 * nbOtherOudlers;
+
+        for (Suit suit : SUITS) {
+            int length = hand.getNbCards(suit);
+            if ( suit != Suit.Trump && suit != Suit.Excuse && length >= LONG_SUIT_LENGTH)
+                strength += 5 + 2 * (length - LONG_SUIT_LENGTH);
+        }
+        return strength;
+    }
+}
@@ -0,0 +1,357 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code IsmctsCardPlayStrategy} class chooses cards with an information set
+ * Monte Carlo tree search : each iteration deals the unseen cards to the other players
+ * and the Ecart consistently with the inferences of the {@code CardTracker},
+ * then descends the tree of the legal moves of this world, a move being selected by
+ * UCB with its availability count, and ends the deal with random legal cards.
+ * Rewards are the part of the remaining points won by the side of the moving player.
+ *
+ * Each worker of the pool grows its own tree until the deadline, their root visits
+ * being summed to choose the card (root parallelism), so that each move is chosen
+ * within its time budget. Trees are kept per seat and reused for the next move,
+ * following the cards played in between
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see CardPlayStrategy
+ * @see PlayHistory
+ * @see CardTracker
+ */
+public class IsmctsCardPlayStrategy implements CardPlayStrategy {
+    public static final long DEFAULT_BUDGET_MILLIS = 500;
+    private static final double EXPLORATION = 0.7;
+
+    private final ForkJoinPool pool;
+    private final long budgetMillis;
+    private final int maxIterations;
+    private final SplittableRandom random;
+    private final CardSet legalMoves;
+    private final SeatTree[] seatTrees;
+    private long lastNbIterations;
+    private long lastReusedVisits;
+
+    /**
+     * Constructs a strategy running on the common pool with the default budget
+     * @since v1.1.0
+     *
+     * @param random the random source, split for each worker
+     */
+    public IsmctsCardPlayStrategy(SplittableRandom random) {
+        this(ForkJoinPool.commonPool(), DEFAULT_BUDGET_MILLIS, Integer.MAX_VALUE, random);
+    }
+
+    /**
+     * Constructs a strategy
+     * @since v1.1.0
+     *
+     * @param pool the pool running the workers, one per pool thread,
+     *             or null to search with one worker in the calling thread (when games are already run in parallel)
+     * @param budgetMillis the time budget of a move in milliseconds
+     * @param maxIterations the number of iterations of a move, for all workers, after which the search stops
+     * @param random the random source, split for each worker
+     */
+    public IsmctsCardPlayStrategy(ForkJoinPool pool, long budgetMillis, int maxIterations, SplittableRandom random) {
+        this.pool = pool;
+        this.budgetMillis = budgetMillis;
+        this.maxIterations = maxIterations;
+        this.random = random;
+        legalMoves = new CardSet();
+        seatTrees = new SeatTree[Trick.NB_SEATS];
+        for (int i = 0; i < Trick.NB_SEATS; i++)
+            seatTrees[i] = new SeatTree();
+    }
+
+    @Override
+    public int chooseCard(int seat, CardGroup hand, Trick trick, PlayHistory history, CardTracker tracker) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        trick.legalMoves(hand.getLowMask(), hand.getHighMask(), legalMoves);
+        if ( legalMoves.size() == 1)
+            return legalMoves.nextId(0);
+
+        boolean isTaker = seat == history.getTakerSeat();
+        long asideLow = isTaker ? history.getEcartLow() : 0;
+        long asideHigh = isTaker ? history.getEcartHigh() : 0;
+        int nbWorkers = (pool == null) ? 1 : Math.max(1, pool.getParallelism());
+        Node[] roots = seatTrees[seat].advance(history, nbWorkers);
+        lastReusedVisits = 0;
+        for (Node root : roots)
+            lastReusedVisits += root.visits;
+
+        int iterationsPerWorker = (int) (((long) maxIterations + nbWorkers - 1) / nbWorkers);
+        Worker[] workers = new Worker[nbWorkers];
+        for (int i = 0; i < nbWorkers; i++)
+            workers[i] = new Worker(roots[i], seat, trick, history.getTakerSeat(),
+                    tracker.newSampler(seat, hand.getLowMask(), hand.getHighMask(), asideLow, asideHigh),
+                    iterationsPerWorker, deadline, random.split());
+        if ( pool == null)
+            workers[0].invoke();
+        else {
+            for (Worker worker : workers)
+                pool.execute(worker);
+        }
+
+        //workers stop by themselves at the deadline, their trees can then be read
+        long[] visits = new long[CardSet.NB_IDS];
+        lastNbIterations = 0;
+        for (Worker worker : workers) {
+            worker.join();
+            lastNbIterations += worker.nbIterations;
+            for (Node child = worker.root.child; child != null; child = child.sibling)
+                visits[child.cardId] += child.visits;
+        }
+
+        int bestId = -1;
+        for (int id = legalMoves.nextId(0); id >= 0; id = legalMoves.nextId(id + 1))
+            if ( bestId < 0 || visits[id] > visits[bestId])
+                bestId = id;
+        return bestId;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getLastNbIterations() {
+        return lastNbIterations;
+    }
+    public long getLastReusedVisits() {
+        return lastReusedVisits;
+    }
+
+
+    /**
+     * The {@code Node} class is a move of the tree, with its statistics
+     * from the point of view of the player making it
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private static class Node {
+        private final int cardId;
+        private final int seat;
+        private int visits;
+        private int availability;
+        private double reward;
+        private Node child;
+        private Node sibling;
+
+        Node(int cardId, int seat) {
+            this.cardId = cardId;
+            this.seat = seat;
+        }
+
+        Node findChild(int cardId) {
+            Node node = child;
+            while ( node != null && node.cardId != cardId)
+                node = node.sibling;
+            return node;
+        }
+    }
+
+
+    /**
+     * The {@code SeatTree} class keeps the worker trees of a seat between moves,
+     * with the cards played when they were searched
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private static class SeatTree {
+        private Node[] roots;
+        private final int[] cardIds = new int[CardSet.NB_IDS];
+        private int nbCards;
+
+        /**
+         * Get the roots of the current position : the previous roots descended
+         * along the cards played since, or new roots if the deal changed
+         * or if a card was never tried
+         */
+        Node[] advance(PlayHistory history, int nbWorkers) {
+            boolean reusable = roots != null && roots.length == nbWorkers && nbCards <= history.getNbCards();
+            for (int i = 0; reusable && i < nbCards; i++)
+                reusable = cardIds[i] == history.getCardId(i);
+            if ( !reusable)
+                roots = new Node[nbWorkers];
+
+            for (int w = 0; w < nbWorkers; w++) {
+                Node node = roots[w];
+                for (int i = nbCards; node != null && i < history.getNbCards(); i++)
+                    node = node.findChild(history.getCardId(i));
+                roots[w] = (node != null) ? node : new Node(-1, -1);
+            }
+            nbCards = history.getNbCards();
+            for (int i = 0; i < nbCards; i++)
+                cardIds[i] = history.getCardId(i);
+            return roots;
+        }
+    }
+
+
+    /**
+     * The {@code Worker} class grows one tree until its iterations are done
+     * or the deadline is reached. Nothing is allocated but the new nodes
+     * @author Arthur
+     * @version v1.1.0
+     * @since v1.1.0
+     */
+    private class Worker extends RecursiveAction {
+        private final Node root;
+        private final int seat;
+        private final Trick rootTrick;
+        private final int takerSeat;
+        private final CardTracker.Sampler sampler;
+        private final int maxIterations;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final long[] hands;
+        private final Trick trick;
+        private final CardSet moves;
+        private final Node[] path;
+        private int nextSeat;
+        private long nbIterations;
+
+        Worker(Node root, int seat, Trick rootTrick, int takerSeat, CardTracker.Sampler sampler,
+               int maxIterations, long deadline, SplittableRandom random) {
+            this.root = root;
+            this.seat = seat;
+            this.rootTrick = rootTrick;
+            this.takerSeat = takerSeat;
+            this.sampler = sampler;
+            this.maxIterations = maxIterations;
+            this.deadline = deadline;
+            this.random = random;
+            hands = new long[DealPlayout.HANDS_LENGTH];
+            trick = new Trick();
+            moves = new CardSet();
+            path = new Node[CardSet.NB_IDS];
+        }
+
+        @Override
+        protected void compute() {
+            while ( nbIterations < maxIterations && System.nanoTime() < deadline) {
+                iterate();
+                nbIterations++;
+            }
+        }
+
+        /**
+         * Sample a world, select and expand a move, end the deal at random
+         * and update the statistics of the selected moves
+         */
+        private void iterate() {
+            sampler.sample(random, hands);
+            trick.copyFrom(rootTrick);
+            int toMove = seat;
+            int halfPoints = 0;
+            int totalHalfPoints = rootTrick.getHalfPoints() + countHalfPoints();
+
+            //selection and expansion
+            Node node = root;
+            int depth = 0;
+            boolean expanded = false;
+            while ( !expanded && !isDealOver(toMove)) {
+                trick.legalMoves(hands[2 * toMove], hands[2 * toMove + 1], moves);
+                long triedLow = 0;
+                long triedHigh = 0;
+                Node selected = null;
+                double selectedScore = Double.NEGATIVE_INFINITY;
+                for (Node child = node.child; child != null; child = child.sibling) {
+                    if ( !moves.contains(child.cardId))
+                        continue;
+                    child.availability++;
+                    if ( child.cardId < 64)
+                        triedLow |= 1L << child.cardId;
+                    else
+                        triedHigh |= 1L << (child.cardId - 64);
+                    double score = child.reward / child.visits
+                            + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                    if ( score > selectedScore) {
+                        selected = child;
+                        selectedScore = score;
+                    }
+                }
+
+                long untriedLow = moves.getLow() & ~triedLow;
+                long untriedHigh = moves.getHigh() & ~triedHigh;
+                if ( (untriedLow | untriedHigh) != 0) {
+                    moves.set(untriedLow, untriedHigh);
+                    selected = new Node(moves.getNthId(random.nextInt(moves.size())), toMove);
+                    selected.availability = 1;
+                    selected.sibling = node.child;
+                    node.child = selected;
+                    expanded = true;
+                }
+                path[depth++] = selected;
+                halfPoints += play(toMove, selected.cardId);
+                toMove = nextSeat;
+                node = selected;
+            }
+
+            //playout
+            while ( !isDealOver(toMove)) {
+                trick.legalMoves(hands[2 * toMove], hands[2 * toMove + 1], moves);
+                halfPoints += play(toMove, moves.getNthId(random.nextInt(moves.size())));
+                toMove = nextSeat;
+            }
+
+            double takerReward = (totalHalfPoints == 0) ? 0.5 : (double) halfPoints / totalHalfPoints;
+            root.visits++;
+            for (int i = 0; i < depth; i++) {
+                Node moved = path[i];
+                moved.visits++;
+                moved.reward += (moved.seat == takerSeat) ? takerReward : 1 - takerReward;
+            }
+        }
+
+        /**
+         * Play a card of the sampled world
+         * @return the half points won by the taker if the trick is complete
+         */
+        private int play(int player, int cardId) {
+            if ( cardId < 64)
+                hands[2 * player] &= ~(1L << cardId);
+            else
+                hands[2 * player + 1] &= ~(1L << (cardId - 64));
+            trick.play(player, cardId);
+            if ( !trick.isComplete()) {
+                nextSeat = (player + 1) % Trick.NB_SEATS;
+                return 0;
+            }
+            int halfPoints = DealScore.countTakerHalfPoints(trick, takerSeat);
+            nextSeat = trick.getWinnerSeat();
+            trick.reset();
+            return halfPoints;
+        }
+
+        private boolean isDealOver(int toMove) {
+            return trick.isEmpty() && (hands[2 * toMove] | hands[2 * toMove + 1]) == 0;
+        }
+
+        private int countHalfPoints() {
+            int halfPoints = 0;
+            for (int i = 0; i < DealPlayout.HANDS_LENGTH; i++)
+                for (long word = hands[i]; word != 0; word &= word - 1)
+                    halfPoints += Card.valueOf(64 * (i % 2) + Long.numberOfTrailingZeros(word)).getHalfPoints();
+            return halfPoints;
+        }
+    }
+}
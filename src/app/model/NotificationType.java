@@ -19,12 +19,13 @@ package app.model;
  * This allows Observer to have a personalized action depending
  * on notification type
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.8
  */
 public enum NotificationType {
     PICK_CARD,                  //To choose a card among spreaded ones (Dealer designation)
     CHOOSE_BID,                 //To choose a bid among those shown
     CHOOSE_ECART_CARD,          //To choose a card among blinking ones (Ecart constitution)
+    PLAY_CARD,                  //To choose the card played in current trick
     UNAUTHORIZED_CARD_CHOICE    //To display an error message
 }
@@ -0,0 +1,101 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code PlayHistory} class records the cards played in a deal, in playing order,
+ * with what every player knows before the first trick : the taker, the leader
+ * and the Ecart, known by the taker only.
+ * Tricks are stored one after the other, so that a trick starts every 4 cards.
+ * A history is reset and reused for each new deal
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see Trick
+ * @see CardPlayStrategy
+ */
+public class PlayHistory {
+    private final int[] cardIds;
+    private final int[] seats;
+    private int nbCards;
+    private int takerSeat;
+    private int leaderSeat;
+    private long ecartLow;
+    private long ecartHigh;
+
+    /**
+     * Constructs an empty history
+     * @since v1.1.0
+     */
+    public PlayHistory() {
+        cardIds = new int[CardSet.NB_IDS];
+        seats = new int[CardSet.NB_IDS];
+        start(-1, -1, 0, 0);
+    }
+
+    /**
+     * Reset the history for a new deal
+     * @since v1.1.0
+     *
+     * @param takerSeat the taker's seat
+     * @param leaderSeat the seat leading the first trick
+     * @param ecartLow the Ecart mask of ids 0 to 63, 0 if the taker doesn't know the cards put aside
+     * @param ecartHigh the Ecart mask of ids 64 to 77
+     */
+    public void start(int takerSeat, int leaderSeat, long ecartLow, long ecartHigh) {
+        this.takerSeat = takerSeat;
+        this.leaderSeat = leaderSeat;
+        this.ecartLow = ecartLow;
+        this.ecartHigh = ecartHigh;
+        nbCards = 0;
+    }
+
+    /**
+     * Record a played card
+     * @since v1.1.0
+     *
+     * @param seat the seat of the player
+     * @param cardId the played card id
+     */
+    public void add(int seat, int cardId) {
+        cardIds[nbCards] = cardId;
+        seats[nbCards] = seat;
+        nbCards++;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public int getNbCards() {
+        return nbCards;
+    }
+    public int getCardId(int index) {
+        return cardIds[index];
+    }
+    public int getSeat(int index) {
+        return seats[index];
+    }
+    public int getTakerSeat() {
+        return takerSeat;
+    }
+    public int getLeaderSeat() {
+        return leaderSeat;
+    }
+    public long getEcartLow() {
+        return ecartLow;
+    }
+    public long getEcartHigh() {
+        return ecartHigh;
+    }
+}
@@ -14,14 +14,14 @@ package app.model;
 
 import exceptions.CardGroupNumberException;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 /**
  * The {@code PlayerHandler} class handles players creation
  * and their temporary status (dealer, shuffler, cutter, currentPlayer)
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.6
  *
  * @see Hand
@@ -47,21 +47,31 @@ public class PlayerHandler {
     }
 
     /**
-     * Constructs a player handler and the 4 players
+     * Constructs a player handler and the 4 players on the default table
      * @since v0.6
      * @throws CardGroupNumberException if user tries to create too much hands
      */
     public PlayerHandler() throws CardGroupNumberException {
+        this(TableContext.getDefault());
+    }
+
+    /**
+     * Constructs a player handler and the 4 players on a table
+     * @since v1.1.0
+     * @param table the table owning the players hands
+     * @throws CardGroupNumberException if the table already has its hands
+     */
+    public PlayerHandler(TableContext table) throws CardGroupNumberException {
         try {
-            north = new Hand(18);
-            west = new Hand(18);
-            south = new Hand(24);
-            east = new Hand(18);
+            north = new Hand(table, 24);
+            west = new Hand(table, 24);
+            south = new Hand(table, 24);
+            east = new Hand(table, 24);
         } catch (CardGroupNumberException e) {
             System.err.println(e.getMessage());
         }
 
-        playersMap = new HashMap<>();
+        playersMap = new EnumMap<>(PlayersCardinalPoint.class);
         playersMap.put(PlayersCardinalPoint.North, north);
         playersMap.put(PlayersCardinalPoint.West, west);
         playersMap.put(PlayersCardinalPoint.South, south);
@@ -106,9 +116,9 @@ public class PlayerHandler {
     private void setFirstCurrentPlayer() {
         if ( dealer == north)
             currentPlayer = west;
-        else if ( currentPlayer == west)
+        else if ( dealer == west)
             currentPlayer = south;
-        else if ( currentPlayer == south)
+        else if ( dealer == south)
             currentPlayer = east;
         else
             currentPlayer = north;
@@ -124,12 +134,12 @@ public class PlayerHandler {
             shuffler = east;
             cutter = north;
         }
-        else if ( currentPlayer == west) {
+        else if ( dealer == west) {
             dealer = south;
             shuffler = north;
             cutter = west;
         }
-        else if ( currentPlayer == south) {
+        else if ( dealer == south) {
             dealer = east;
             shuffler = west;
             cutter = south;
@@ -157,6 +167,15 @@ public class PlayerHandler {
             currentPlayer = north;
     }
 
+    /**
+     * Sets current player, as the winner of a trick leads the next one
+     * @since v1.1.0
+     * @param player the new current player
+     */
+    public void setCurrentPlayer(Hand player) {
+        currentPlayer = player;
+    }
+
     /**
      * Get player name
      * @since v0.6
@@ -0,0 +1,46 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@code RandomCardPlayStrategy} class plays a random legal card.
+ * It is the default strategy of headless games, which are played by the thousands
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see CardPlayStrategy
+ */
+public class RandomCardPlayStrategy implements CardPlayStrategy {
+    private final SplittableRandom random;
+    private final CardSet legalMoves;
+
+    /**
+     * Constructs a strategy drawing from a random source
+     * @since v1.1.0
+     *
+     * @param random the random source, only used by the game thread
+     */
+    public RandomCardPlayStrategy(SplittableRandom random) {
+        this.random = random;
+        legalMoves = new CardSet();
+    }
+
+    @Override
+    public int chooseCard(int seat, CardGroup hand, Trick trick, PlayHistory history, CardTracker tracker) {
+        trick.legalMoves(hand.getLowMask(), hand.getHighMask(), legalMoves);
+        return legalMoves.getNthId(random.nextInt(legalMoves.size()));
+    }
+}
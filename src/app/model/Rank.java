@@ -13,13 +13,14 @@ limitations under the License.
 
 package app.model;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The {@code Rank} enumeration defines all ranks
  * that can be assigned to a card
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.1
  */
 public enum Rank {
@@ -43,10 +44,23 @@ public enum Rank {
      * @since v0.5
      *
      * @return a random rank
-     * @see Random
+     * @see ThreadLocalRandom
      */
     public static Rank randomRank() {
-        int pick = new Random().nextInt(Rank.values().length);
+        int pick = ThreadLocalRandom.current().nextInt(Rank.values().length);
+        return Rank.values()[pick];
+    }
+
+    /**
+     * Method returning a random rank among enum ones
+     * drawn from a given random generator
+     * @since v1.1.0
+     *
+     * @param random the random generator
+     * @return a random rank
+     */
+    public static Rank randomRank(SplittableRandom random) {
+        int pick = random.nextInt(Rank.values().length);
         return Rank.values()[pick];
     }
 }
@@ -0,0 +1,90 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code RedealStatistics} class counts kept deals and deals
+ * thrown away because a seat had Petit Sec, for each seat.
+ * For a game, seats are cardinal points ordinals ;
+ * for the deal generator, they are dealing order positions
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see DealGenerator
+ * @see GameModel
+ */
+public class RedealStatistics {
+    private long nbDeals;
+    private long nbRedeals;
+    private final long[] nbRedealsBySeat;
+
+    /**
+     * Constructs empty statistics
+     * @since v1.1.0
+     */
+    public RedealStatistics() {
+        nbDeals = 0;
+        nbRedeals = 0;
+        nbRedealsBySeat = new long[Deal.NB_SEATS];
+    }
+
+    /**
+     * Count a kept deal
+     * @since v1.1.0
+     */
+    public void addDeal() {
+        nbDeals++;
+    }
+
+    /**
+     * Count a deal thrown away because of a Petit Sec
+     * @since v1.1.0
+     *
+     * @param seat the seat having Petit Sec
+     */
+    public void addRedeal(int seat) {
+        nbRedeals++;
+        nbRedealsBySeat[seat]++;
+    }
+
+    /**
+     * Add other statistics to these ones
+     * @since v1.1.0
+     *
+     * @param other the added statistics
+     */
+    public synchronized void add(RedealStatistics other) {
+        nbDeals += other.nbDeals;
+        nbRedeals += other.nbRedeals;
+        for (int seat = 0; seat < nbRedealsBySeat.length; seat++)
+            nbRedealsBySeat[seat] += other.nbRedealsBySeat[seat];
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getNbDeals() {
+        return nbDeals;
+    }
+    public long getNbRedeals() {
+        return nbRedeals;
+    }
+    public long getNbRedeals(int seat) {
+        return nbRedealsBySeat[seat];
+    }
+    public double getRedealRate() {
+        return (nbDeals + nbRedeals == 0) ? 0 : (double) nbRedeals / (nbDeals + nbRedeals);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code ScoreStatistics} class summarizes a stream of integer scores
+ * with exact integer sums, so that statistics merged from any number of threads
+ * in any order are identical : mean, variance and confidence interval
+ * are only computed when read
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see TournamentRunner
+ */
+public class ScoreStatistics {
+    private static final double CONFIDENCE_95_Z = 1.96;
+
+    private long count;
+    private long sum;
+    private long sumOfSquares;
+
+    /**
+     * Constructs empty statistics
+     * @since v1.1.0
+     */
+    public ScoreStatistics() {
+        count = 0;
+        sum = 0;
+        sumOfSquares = 0;
+    }
+
+    /**
+     * Add a score
+     * @since v1.1.0
+     *
+     * @param score the score
+     */
+    public void add(int score) {
+        count++;
+        sum += score;
+        sumOfSquares += (long) score * score;
+    }
+
+    /**
+     * Add the scores of other statistics
+     * @since v1.1.0
+     *
+     * @param other the merged statistics
+     */
+    public void merge(ScoreStatistics other) {
+        count += other.count;
+        sum += other.sum;
+        sumOfSquares += other.sumOfSquares;
+    }
+
+    /**
+     * Compute the unbiased variance of the scores
+     * @since v1.1.0
+     *
+     * @return the variance, 0 if there are less than 2 scores
+     */
+    public double getVariance() {
+        if ( count < 2)
+            return 0;
+        double mean = getMean();
+        return Math.max(0, ((double) sumOfSquares - count * mean * mean) / (count - 1));
+    }
+
+    /**
+     * Compute the half width of the 95% confidence interval of the mean
+     * @since v1.1.0
+     *
+     * @return the half width, the mean being in [mean - width, mean + width]
+     */
+    public double getConfidenceHalfWidth() {
+        return (count == 0) ? 0 : CONFIDENCE_95_Z * Math.sqrt(getVariance() / count);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%10.2f +- %6.2f  (sd %7.2f, %d deals)",
+                getMean(), getConfidenceHalfWidth(), getStandardDeviation(), count);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if ( this == o)
+            return true;
+        if ( !(o instanceof ScoreStatistics))
+            return false;
+        ScoreStatistics other = (ScoreStatistics) o;
+        return count == other.count && sum == other.sum && sumOfSquares == other.sumOfSquares;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(count) * 31 * 31 + Long.hashCode(sum) * 31 + Long.hashCode(sumOfSquares);
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getCount() {
+        return count;
+    }
+    public long getSum() {
+        return sum;
+    }
+    public double getMean() {
+        return (count == 0) ? 0 : (double) sum / count;
+    }
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+}
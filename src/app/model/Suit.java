@@ -13,12 +13,13 @@ limitations under the License.
 
 package app.model;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * The {@code Suit} enumeration defines all suits that can be assigned to a card
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.1
  */
 public enum Suit {
@@ -34,10 +35,23 @@ public enum Suit {
      * @since v0.5
      *
      * @return a random suit
-     * @see Random
+     * @see ThreadLocalRandom
      */
     public static Suit randomSuit() {
-        int pick = new Random().nextInt(Suit.values().length-1); // w/o Excuse
+        int pick = ThreadLocalRandom.current().nextInt(Suit.values().length-1); // w/o Excuse
+        return Suit.values()[pick];
+    }
+
+    /**
+     * Get a random suit among enum ones
+     * drawn from a given random generator
+     * @since v1.1.0
+     *
+     * @param random the random generator
+     * @return a random suit
+     */
+    public static Suit randomSuit(SplittableRandom random) {
+        int pick = random.nextInt(Suit.values().length-1); // w/o Excuse
         return Suit.values()[pick];
     }
 }
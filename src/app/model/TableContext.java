@@ -0,0 +1,163 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+import exceptions.CardGroupNumberException;
+import exceptions.CardNumberException;
+
+/**
+ * The {@code TableContext} class owns the limits of a Tarot table :
+ * its number of hands, its talon, its cards in play, its card groups ids
+ * and its random source.
+ * Each game has its own context so that many games can run in the same JVM
+ * without sharing static counters.
+ *
+ * Card groups created without context use the default context,
+ * which is reset by {@code Hand.resetClass()} and {@code Talon.resetClass()}
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see CardGroup
+ * @see Hand
+ * @see Talon
+ */
+public class TableContext {
+    private static final int NB_MAX_HANDS = 4;
+    private static final TableContext DEFAULT_CONTEXT = new TableContext();
+
+    private int nbHands;
+    private boolean talonExists;
+    private int nbCards;
+    private int nbCardGroups;
+    private final GameRandom random;
+
+    /**
+     * Constructs an empty table context with a randomly seeded random source
+     * @since v1.1.0
+     */
+    public TableContext() {
+        this(new GameRandom());
+    }
+
+    /**
+     * Constructs an empty table context
+     * @since v1.1.0
+     *
+     * @param random the table random source
+     */
+    public TableContext(GameRandom random) {
+        this.random = random;
+        nbHands = 0;
+        talonExists = false;
+        nbCards = 0;
+        nbCardGroups = 0;
+    }
+
+    /**
+     * Register a new card group and get its id
+     * @since v1.1.0
+     *
+     * @return the card group id, unique in this table
+     */
+    synchronized int registerCardGroup() {
+        return nbCardGroups++;
+    }
+
+    /**
+     * Register a new hand
+     * @since v1.1.0
+     *
+     * @throws CardGroupNumberException if the table already has all its hands
+     */
+    synchronized void registerHand() throws CardGroupNumberException {
+        if ( nbHands >= NB_MAX_HANDS)
+            throw new CardGroupNumberException(
+                    "Hand instances limit has been reached.", NB_MAX_HANDS);
+        else
+            nbHands++;
+    }
+
+    /**
+     * Register the talon
+     * @since v1.1.0
+     *
+     * @throws CardGroupNumberException if the table already has a talon
+     */
+    synchronized void registerTalon() throws CardGroupNumberException {
+        if ( talonExists)
+            throw new CardGroupNumberException("Only one Talon is possible.");
+        else
+            talonExists = true;
+    }
+
+    /**
+     * Register a card put in play on this table
+     * @since v1.1.0
+     *
+     * @throws CardNumberException if the table already has all its cards
+     */
+    public synchronized void registerCard() throws CardNumberException {
+        if ( nbCards >= Card.getNbMaxCards())
+            throw new CardNumberException("Card number limit has been reached.", Card.getNbMaxCards());
+        else
+            nbCards++;
+    }
+
+    /**
+     * Release all the cards in play on this table
+     * @since v1.1.0
+     */
+    public synchronized void releaseCards() {
+        nbCards = 0;
+    }
+
+    /**
+     * Reset hands counter
+     * @since v1.1.0
+     */
+    synchronized void resetHands() {
+        nbHands = 0;
+    }
+
+    /**
+     * Reset talon existence
+     * @since v1.1.0
+     */
+    synchronized void resetTalon() {
+        talonExists = false;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public static TableContext getDefault() {
+        return DEFAULT_CONTEXT;
+    }
+    public GameRandom getRandom() {
+        return random;
+    }
+    public static int getNbMaxHands() {
+        return NB_MAX_HANDS;
+    }
+    public synchronized int getNbHands() {
+        return nbHands;
+    }
+    public synchronized boolean hasTalon() {
+        return talonExists;
+    }
+    public synchronized int getNbCards() {
+        return nbCards;
+    }
+}
@@ -20,44 +20,49 @@ import exceptions.CardGroupNumberException;
  * it consists in a group of cards representing the chien
  * and afterward the taker's ecart
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.1
  *
  * @see CardGroup
  * @see Card
  */
 public class Talon extends CardGroup{
-    private static boolean exist = false;
 
     /**
-     * Constructs a talon
+     * Constructs a talon on the default table
      * @since v0.1
      * @throws CardGroupNumberException if user tries to create more than one talon
      */
     public Talon() throws CardGroupNumberException {
-        super(6); //Max number of cards for this group
-        if (exist)
-            throw new CardGroupNumberException("Only one Talon is possible.");
-        else {
-            exist = true;
-        }
+        this(TableContext.getDefault());
     }
 
     /**
-     * Reset static field
+     * Constructs a talon on a table
+     * @since v1.1.0
+     * @param table the table owning the talon
+     * @throws CardGroupNumberException if the table already has a talon
+     */
+    public Talon(TableContext table) throws CardGroupNumberException {
+        super(table, 6); //Max number of cards for this group
+        table.registerTalon();
+    }
+
+    /**
+     * Reset talon existence of the default table
      * @since v0.5
      */
     public static void resetClass() {
-        exist = false;
+        TableContext.getDefault().resetTalon();
     }
 
     /**
-     * Return if talon exists
+     * Return if talon exists on the default table
      * @since v0.5
      *
      * @return a boolean indicating if Talon has already been instantiated
      */
     public static boolean exists() {
-        return exist;
+        return TableContext.getDefault().hasTalon();
     }
 }
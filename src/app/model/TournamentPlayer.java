@@ -0,0 +1,82 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * The {@code TournamentPlayer} class is a competitor of a tournament :
+ * a name and the factories of its bidding and card play strategies.
+ * Strategies are created again for each block of deals from a random source
+ * given by the tournament, so that results only depend on the tournament seed
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see TournamentRunner
+ */
+public class TournamentPlayer {
+    private final String name;
+    private final Function<SplittableRandom, BiddingStrategy> biddingFactory;
+    private final Function<SplittableRandom, CardPlayStrategy> cardPlayFactory;
+
+    /**
+     * Constructs a player
+     * @since v1.1.0
+     *
+     * @param name the player name, used in results
+     * @param biddingFactory the factory of its bidding strategy
+     * @param cardPlayFactory the factory of its card play strategy
+     */
+    public TournamentPlayer(String name, Function<SplittableRandom, BiddingStrategy> biddingFactory,
+                            Function<SplittableRandom, CardPlayStrategy> cardPlayFactory) {
+        this.name = name;
+        this.biddingFactory = biddingFactory;
+        this.cardPlayFactory = cardPlayFactory;
+    }
+
+    /**
+     * Create the bidding strategy of the player
+     * @since v1.1.0
+     *
+     * @param random the random source the strategy may use
+     * @return a new strategy
+     */
+    public BiddingStrategy createBiddingStrategy(SplittableRandom random) {
+        return biddingFactory.apply(random);
+    }
+
+    /**
+     * Create the card play strategy of the player
+     * @since v1.1.0
+     *
+     * @param random the random source the strategy may use
+     * @return a new strategy
+     */
+    public CardPlayStrategy createCardPlayStrategy(SplittableRandom random) {
+        return cardPlayFactory.apply(random);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public String getName() {
+        return name;
+    }
+}
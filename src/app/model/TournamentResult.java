@@ -0,0 +1,158 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code TournamentResult} class holds the scores of each player of a tournament
+ * at each seat, and the number of deals every player passed.
+ * A deal without taker scores 0 for everyone
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see TournamentRunner
+ * @see ScoreStatistics
+ */
+public class TournamentResult {
+    private final TournamentPlayer[] players;
+    private final ScoreStatistics[][] statistics;
+    private long nbDeals;
+    private long nbPassedDeals;
+    private long elapsedNanos;
+
+    /**
+     * Constructs an empty result
+     * @since v1.1.0
+     *
+     * @param players the players, by index
+     */
+    public TournamentResult(TournamentPlayer[] players) {
+        this.players = players;
+        statistics = new ScoreStatistics[players.length][Trick.NB_SEATS];
+        for (int p = 0; p < players.length; p++)
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                statistics[p][seat] = new ScoreStatistics();
+        nbDeals = 0;
+        nbPassedDeals = 0;
+        elapsedNanos = 0;
+    }
+
+    /**
+     * Count a played deal
+     * @since v1.1.0
+     *
+     * @param passed a boolean indicating if every player passed
+     */
+    void addDeal(boolean passed) {
+        nbDeals++;
+        if ( passed)
+            nbPassedDeals++;
+    }
+
+    /**
+     * Add the score of a player at a seat
+     * @since v1.1.0
+     *
+     * @param player the player index
+     * @param seat the player's seat
+     * @param score the player's score for the deal
+     */
+    void addScore(int player, int seat, int score) {
+        statistics[player][seat].add(score);
+    }
+
+    /**
+     * Add the deals and scores of another result of the same players
+     * @since v1.1.0
+     *
+     * @param other the merged result
+     */
+    void merge(TournamentResult other) {
+        nbDeals += other.nbDeals;
+        nbPassedDeals += other.nbPassedDeals;
+        for (int p = 0; p < players.length; p++)
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                statistics[p][seat].merge(other.statistics[p][seat]);
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Get the scores of a player at all seats
+     * @since v1.1.0
+     *
+     * @param player the player index
+     * @return the merged statistics
+     */
+    public ScoreStatistics getPlayerStatistics(int player) {
+        ScoreStatistics merged = new ScoreStatistics();
+        for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+            merged.merge(statistics[player][seat]);
+        return merged;
+    }
+
+    /**
+     * Check if another result has the same deals and scores, whatever the time it took
+     * @since v1.1.0
+     *
+     * @param other the other result
+     * @return a boolean indicating if both results are identical
+     */
+    public boolean hasSameScores(TournamentResult other) {
+        if ( nbDeals != other.nbDeals || nbPassedDeals != other.nbPassedDeals
+                || players.length != other.players.length)
+            return false;
+        for (int p = 0; p < players.length; p++)
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                if ( !statistics[p][seat].equals(other.statistics[p][seat]))
+                    return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        PlayerHandler.PlayersCardinalPoint[] cardinalPoints = PlayerHandler.PlayersCardinalPoint.values();
+        StringBuilder builder = new StringBuilder();
+        builder.append(nbDeals).append(" deals, ").append(nbPassedDeals).append(" passed");
+        if ( elapsedNanos > 0)
+            builder.append(String.format(", %.1f s (%.0f deals/s)", elapsedNanos / 1e9, nbDeals / (elapsedNanos / 1e9)));
+        builder.append(System.lineSeparator());
+        for (int p = 0; p < players.length; p++) {
+            builder.append(String.format("%-12s all   ", players[p].getName()))
+                    .append(getPlayerStatistics(p)).append(System.lineSeparator());
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                if ( statistics[p][seat].getCount() > 0)
+                    builder.append(String.format("%-12s %-5s ", "", cardinalPoints[seat]))
+                            .append(statistics[p][seat]).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public long getNbDeals() {
+        return nbDeals;
+    }
+    public long getNbPassedDeals() {
+        return nbPassedDeals;
+    }
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    public ScoreStatistics getStatistics(int player, int seat) {
+        return statistics[player][seat];
+    }
+}
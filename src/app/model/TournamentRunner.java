@@ -0,0 +1,217 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import exceptions.CardGroupNumberException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code TournamentRunner} class plays deals between 4 players
+ * on a pool of worker threads, each block of deals being played on its own headless {@code GameModel}.
+ *
+ * Deals are cut in blocks : a block is generated, and its table and strategies created,
+ * from a seed derived from the master seed and the block index only,
+ * and its deals are played in order by one worker.
+ * Scores being summed as integers, a tournament gives the same result
+ * for a master seed whatever the number of threads.
+ *
+ * The dealer rotates with each deal, seat (deal index) mod 4 dealing.
+ * Players may rotate seats every 4 deals, player p sitting at seat (p + deal index / 4) mod 4,
+ * so that each player is dealt at every position relative to the dealer from each seat.
+ *
+ * In duplicate mode, each deal of a {@code DealPool} is played 4 times
+ * with the same dealer, players rotating so that each one holds every hand
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see TournamentPlayer
+ * @see TournamentResult
+ */
+public class TournamentRunner {
+    public static final int DEALS_PER_BLOCK = DealGenerator.DEALS_PER_CHUNK;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final TournamentPlayer[] players;
+    private final boolean rotatingSeats;
+    private final int nbThreads;
+
+    /**
+     * Constructs a runner
+     * @since v1.1.0
+     *
+     * @param players the 4 players, player p sitting at seat p when seats don't rotate
+     * @param rotatingSeats a boolean indicating if players change seat at each deal
+     * @param nbThreads the number of worker threads
+     */
+    public TournamentRunner(TournamentPlayer[] players, boolean rotatingSeats, int nbThreads) {
+        if ( players.length != Trick.NB_SEATS)
+            throw new IllegalArgumentException("A tournament needs " + Trick.NB_SEATS + " players");
+        this.players = players;
+        this.rotatingSeats = rotatingSeats;
+        this.nbThreads = nbThreads;
+    }
+
+    /**
+     * Play a tournament
+     * @since v1.1.0
+     *
+     * @param nbDeals the number of deals
+     * @param masterSeed the seed from which all deals and strategies are drawn
+     * @return the scores of each player, by seat
+     * @throws IllegalStateException if a worker fails
+     */
+    public TournamentResult run(long nbDeals, long masterSeed) {
+        return run(nbDeals, masterSeed, null);
+    }
+
+    /**
+     * Play a duplicate tournament, each deal of the pool being played once
+     * at each rotation of the players, whatever the seats rotation of the runner
+     * @since v1.1.0
+     *
+     * @param pool the deals to replay, shared by all the workers
+     * @param masterSeed the seed from which all strategies are drawn
+     * @return the scores of each player, by seat
+     * @throws IllegalStateException if a worker fails
+     */
+    public TournamentResult runDuplicate(DealPool pool, long masterSeed) {
+        return run((long) pool.getNbDeals() * Trick.NB_SEATS, masterSeed, pool);
+    }
+
+    /**
+     * Play a tournament on generated or pooled deals
+     * @since v1.1.0
+     *
+     * @param dealPool the pool of duplicate deals, or null to generate deals
+     */
+    private TournamentResult run(long nbDeals, long masterSeed, DealPool dealPool) {
+        long start = System.nanoTime();
+        long nbBlocks = (nbDeals + DEALS_PER_BLOCK - 1) / DEALS_PER_BLOCK;
+        AtomicLong nextBlock = new AtomicLong();
+        ForkJoinPool pool = new ForkJoinPool(nbThreads);
+        TournamentResult result = new TournamentResult(players);
+
+        try {
+            List<ForkJoinTask<TournamentResult>> workers = new ArrayList<>(nbThreads);
+            for (int i = 0; i < nbThreads; i++)
+                workers.add(pool.submit(() -> runWorker(nextBlock, nbBlocks, nbDeals, masterSeed, dealPool)));
+            for (ForkJoinTask<TournamentResult> worker : workers)
+                result.merge(worker.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Tournament interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament worker failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    /**
+     * Play blocks of deals until there is none left
+     * @since v1.1.0
+     *
+     * @return the scores of the blocks played by this worker
+     */
+    private TournamentResult runWorker(AtomicLong nextBlock, long nbBlocks, long nbDeals, long masterSeed,
+                                       DealPool dealPool) throws CardGroupNumberException {
+        PlayerHandler.PlayersCardinalPoint[] cardinalPoints = PlayerHandler.PlayersCardinalPoint.values();
+        TournamentResult result = new TournamentResult(players);
+        long[] deals = new long[DEALS_PER_BLOCK * Deal.DEAL_LENGTH];
+        BiddingStrategy[] biddingStrategies = new BiddingStrategy[players.length];
+        CardPlayStrategy[] cardPlayStrategies = new CardPlayStrategy[players.length];
+
+        for (long block = nextBlock.getAndIncrement(); block < nbBlocks; block = nextBlock.getAndIncrement()) {
+            long blockSeed = mix(masterSeed + block * GOLDEN_GAMMA);
+            int blockSize = (int) Math.min(DEALS_PER_BLOCK, nbDeals - block * DEALS_PER_BLOCK);
+            if ( dealPool == null)
+                new DealGenerator(blockSeed).generate(deals, 0, blockSize);
+            SplittableRandom random = new SplittableRandom(mix(blockSeed));
+            GameModel model = new GameModel(false, true, new GameRandom(random.nextLong()));
+            model.createCards();
+            for (int p = 0; p < players.length; p++) {
+                biddingStrategies[p] = players[p].createBiddingStrategy(random.split());
+                cardPlayStrategies[p] = players[p].createCardPlayStrategy(random.split());
+            }
+
+            for (int d = 0; d < blockSize; d++) {
+                long dealIndex = block * DEALS_PER_BLOCK + d;
+                if ( dealPool == null) {
+                    int rotation = rotatingSeats ? (int) (dealIndex / Trick.NB_SEATS % Trick.NB_SEATS) : 0;
+                    playDeal(model, rotation, cardinalPoints[(int) (dealIndex % Trick.NB_SEATS)],
+                            deals, d * Deal.DEAL_LENGTH, biddingStrategies, cardPlayStrategies, result);
+                }
+                else {
+                    int poolIndex = (int) (dealIndex / Trick.NB_SEATS);
+                    dealPool.copyDeal(poolIndex, deals, 0);
+                    playDeal(model, (int) (dealIndex % Trick.NB_SEATS), dealPool.getDealer(poolIndex),
+                            deals, 0, biddingStrategies, cardPlayStrategies, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Seat the players, player p sitting at seat (p + rotation) mod 4,
+     * play a deal and count its scores
+     * @since v1.1.0
+     */
+    private void playDeal(GameModel model, int rotation, PlayerHandler.PlayersCardinalPoint dealer,
+                          long[] deals, int offset, BiddingStrategy[] biddingStrategies,
+                          CardPlayStrategy[] cardPlayStrategies, TournamentResult result) {
+        PlayerHandler.PlayersCardinalPoint[] cardinalPoints = PlayerHandler.PlayersCardinalPoint.values();
+        for (int p = 0; p < players.length; p++) {
+            PlayerHandler.PlayersCardinalPoint cardinalPoint = cardinalPoints[(p + rotation) % Trick.NB_SEATS];
+            model.setBiddingStrategy(cardinalPoint, biddingStrategies[p]);
+            model.setCardPlayStrategy(cardinalPoint, cardPlayStrategies[p]);
+        }
+
+        model.playHeadlessDeal(deals, offset, dealer);
+        Hand taker = model.getTaker();
+        int takerSeat = (taker == null) ? -1 : model.getPlayerHandler().getPlayerCardinalPoint(taker).ordinal();
+        DealScore score = model.getDealScore();
+        result.addDeal(taker == null);
+        for (int p = 0; p < players.length; p++) {
+            int seat = (p + rotation) % Trick.NB_SEATS;
+            if ( taker == null)
+                result.addScore(p, seat, 0);
+            else
+                result.addScore(p, seat, (seat == takerSeat) ? score.getTakerScore() : score.getDefenderScore());
+        }
+    }
+
+    /**
+     * Mix the bits of a seed (SplitMix64 finalizer), so that close seeds give unrelated ones
+     * @since v1.1.0
+     *
+     * @param seed the seed
+     * @return the mixed seed
+     */
+    private static long mix(long seed) {
+        long z = seed;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+import java.util.Arrays;
+
+/**
+ * The {@code TranspositionTable} class stores bounds of searched positions
+ * by their 64 bits hash, in a fixed size table replacing older entries.
+ * Each entry is two longs : the data (lower and upper bounds, best move)
+ * and the key xored with the data, so that threads can share the table
+ * without locks, a torn entry just failing its key check
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see DoubleDummySolver
+ */
+public class TranspositionTable {
+    public static final int DEFAULT_SIZE_BITS = 22;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    /**
+     * Constructs a table of 2^sizeBits entries
+     * @since v1.1.0
+     *
+     * @param sizeBits the log2 of the number of entries
+     */
+    public TranspositionTable(int sizeBits) {
+        keys = new long[1 << sizeBits];
+        data = new long[1 << sizeBits];
+        mask = (1 << sizeBits) - 1;
+    }
+
+    /**
+     * Get the stored bounds of a position
+     * @since v1.1.0
+     *
+     * @param key the position hash
+     * @return the entry packed in a long (see {@code pack}), or -1 if the position isn't stored
+     */
+    public long probe(long key) {
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        long entry = data[index];
+        return ((keys[index] ^ entry) == key) ? entry : -1;
+    }
+
+    /**
+     * Store the bounds of a position
+     * @since v1.1.0
+     *
+     * @param key the position hash
+     * @param lower the lower bound of the position value
+     * @param upper the upper bound of the position value
+     * @param bestId the id of the best card found, or -1
+     */
+    public void store(long key, int lower, int upper, int bestId) {
+        int index = (int) (key ^ (key >>> 32)) & mask;
+        long entry = pack(lower, upper, bestId);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    /**
+     * Remove all entries
+     * @since v1.1.0
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+    }
+
+    /**
+     * Pack two non-negative bounds and a card id in a long
+     * @since v1.1.0
+     *
+     * @param lower the lower bound
+     * @param upper the upper bound, lower than 65536
+     * @param bestId the best card id, or -1
+     * @return the packed entry
+     */
+    public static long pack(int lower, int upper, int bestId) {
+        return ((long) lower << 32) | ((long) upper << 16) | (bestId + 1);
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public static int getLower(long entry) {
+        return (int) (entry >>> 32);
+    }
+    public static int getUpper(long entry) {
+        return (int) (entry >>> 16) & 0xFFFF;
+    }
+    public static int getBestId(long entry) {
+        return (int) (entry & 0xFFFF) - 1;
+    }
+}
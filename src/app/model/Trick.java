@@ -0,0 +1,212 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+
+package app.model;
+
+/**
+ * The {@code Trick} class is a trick being played, stored as card ids.
+ * Its led suit, highest trump and winner are updated on each card played,
+ * so that legal moves are computed with a few mask operations :
+ *  - the led suit must be followed
+ *  - without led suit cards, a Trump must be played
+ *  - a played Trump must be higher than the highest Trump of the trick if possible
+ *  - the Excuse can always be played, and never wins the trick
+ *
+ * Seats are cardinal points ordinals, which is the playing order.
+ * A trick is reset and reused for each new trick
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see CardSet
+ */
+public class Trick {
+    public static final int NB_SEATS = 4;
+    private static final int EXCUSE_ID = Card.getSuitFirstId(Suit.Excuse);
+    private static final long EXCUSE_HIGH_MASK = 1L << (EXCUSE_ID - 64);
+    private static final long TRUMP_LOW_MASK = CardSet.getSuitLowMask(Suit.Trump);
+
+    private final int[] cardIds;
+    private final int[] seats;
+    private int nbCards;
+    private Suit ledSuit;
+    private int highestTrumpId;
+    private int winningIndex;
+    private int excuseIndex;
+    private int halfPoints;
+
+    /**
+     * Constructs an empty trick
+     * @since v1.1.0
+     */
+    public Trick() {
+        cardIds = new int[NB_SEATS];
+        seats = new int[NB_SEATS];
+        reset();
+    }
+
+    /**
+     * Remove all cards from the trick
+     * @since v1.1.0
+     */
+    public void reset() {
+        nbCards = 0;
+        ledSuit = null;
+        highestTrumpId = -1;
+        winningIndex = -1;
+        excuseIndex = -1;
+        halfPoints = 0;
+    }
+
+    /**
+     * Copy the state of another trick, so that a search
+     * can keep one trick by depth instead of undoing plays
+     * @since v1.1.0
+     *
+     * @param other the copied trick
+     */
+    public void copyFrom(Trick other) {
+        System.arraycopy(other.cardIds, 0, cardIds, 0, NB_SEATS);
+        System.arraycopy(other.seats, 0, seats, 0, NB_SEATS);
+        nbCards = other.nbCards;
+        ledSuit = other.ledSuit;
+        highestTrumpId = other.highestTrumpId;
+        winningIndex = other.winningIndex;
+        excuseIndex = other.excuseIndex;
+        halfPoints = other.halfPoints;
+    }
+
+    /**
+     * Play a card in the trick
+     * The card legality isn't checked
+     * @since v1.1.0
+     *
+     * @param seat the seat of the player
+     * @param cardId the played card id
+     */
+    public void play(int seat, int cardId) {
+        Card card = Card.valueOf(cardId);
+        Suit suit = card.getSuit();
+        cardIds[nbCards] = cardId;
+        seats[nbCards] = seat;
+
+        if ( suit == Suit.Excuse)
+            excuseIndex = nbCards;
+        else {
+            if ( ledSuit == null)
+                ledSuit = suit;
+
+            boolean isWinning;
+            if ( winningIndex < 0)
+                isWinning = true;
+            else {
+                int winningId = cardIds[winningIndex];
+                boolean winningIsTrump = Card.valueOf(winningId).getSuit() == Suit.Trump;
+                if ( suit == Suit.Trump)
+                    isWinning = !winningIsTrump || cardId > winningId;
+                else
+                    isWinning = !winningIsTrump && suit == ledSuit && cardId > winningId;
+            }
+            if ( suit == Suit.Trump && cardId > highestTrumpId)
+                highestTrumpId = cardId;
+            if ( isWinning)
+                winningIndex = nbCards;
+        }
+        halfPoints += card.getHalfPoints();
+        nbCards++;
+    }
+
+    /**
+     * Compute the cards of a hand that can be played in the trick
+     * @since v1.1.0
+     *
+     * @param handLow the hand mask of ids 0 to 63
+     * @param handHigh the hand mask of ids 64 to 77
+     * @param result the set receiving the legal moves
+     */
+    public void legalMoves(long handLow, long handHigh, CardSet result) {
+        legalMoves(handLow, handHigh, ledSuit, highestTrumpId, result);
+    }
+
+    /**
+     * Compute the cards of a hand that can be played
+     * after some cards, without any trick instance
+     * @since v1.1.0
+     *
+     * @param handLow the hand mask of ids 0 to 63
+     * @param handHigh the hand mask of ids 64 to 77
+     * @param ledSuit the led suit, or null if the player leads
+     * @param highestTrumpId the id of the highest Trump played, or -1
+     * @param result the set receiving the legal moves
+     */
+    public static void legalMoves(long handLow, long handHigh, Suit ledSuit, int highestTrumpId, CardSet result) {
+        long excuseHigh = handHigh & EXCUSE_HIGH_MASK;
+        if ( ledSuit == null) {
+            result.set(handLow, handHigh);
+            return;
+        }
+        if ( ledSuit != Suit.Trump) {
+            long suitLow = handLow & CardSet.getSuitLowMask(ledSuit);
+            long suitHigh = handHigh & CardSet.getSuitHighMask(ledSuit);
+            if ( (suitLow | suitHigh) != 0) {
+                result.set(suitLow, suitHigh | excuseHigh);
+                return;
+            }
+        }
+
+        long trumps = handLow & TRUMP_LOW_MASK;
+        if ( trumps != 0) {
+            long higherTrumps = (highestTrumpId < 0) ? trumps : trumps & (-1L << (highestTrumpId + 1));
+            result.set((higherTrumps != 0) ? higherTrumps : trumps, excuseHigh);
+        }
+        else
+            result.set(handLow, handHigh);
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public int getNbCards() {
+        return nbCards;
+    }
+    public boolean isEmpty() {
+        return nbCards == 0;
+    }
+    public boolean isComplete() {
+        return nbCards == NB_SEATS;
+    }
+    public int getCardId(int index) {
+        return cardIds[index];
+    }
+    public int getSeat(int index) {
+        return seats[index];
+    }
+    public Suit getLedSuit() {
+        return ledSuit;
+    }
+    public int getHighestTrumpId() {
+        return highestTrumpId;
+    }
+    public int getWinnerSeat() {
+        return (winningIndex < 0) ? -1 : seats[winningIndex];
+    }
+    public int getWinningCardId() {
+        return (winningIndex < 0) ? -1 : cardIds[winningIndex];
+    }
+    public int getExcuseSeat() {
+        return (excuseIndex < 0) ? -1 : seats[excuseIndex];
+    }
+    public int getHalfPoints() {
+        return halfPoints;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.model;
+
+/**
+ * The {@code WeightedEcartEvaluator} class scores an Ecart
+ * as a weighted sum of simple features of the kept hand and the Ecart :
+ *  - cuts : classic suits left void, so that the taker can trump them
+ *  - singletons : classic suits left with one card which isn't the King
+ *  - protected kings : Kings kept with at least another card of their suit
+ *  - Ecart points : half points put in the Ecart, which are won for sure
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see EcartOptimizer
+ */
+public class WeightedEcartEvaluator implements EcartEvaluator {
+    public static final int DEFAULT_CUT_WEIGHT = 12;
+    public static final int DEFAULT_SINGLETON_WEIGHT = 4;
+    public static final int DEFAULT_PROTECTED_KING_WEIGHT = 3;
+    public static final int DEFAULT_ECART_HALF_POINT_WEIGHT = 1;
+    private static final Suit[] CLASSIC_SUITS = {Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club};
+    private static final long[] SUIT_LOW_MASKS = new long[CLASSIC_SUITS.length];
+    private static final long[] SUIT_HIGH_MASKS = new long[CLASSIC_SUITS.length];
+    private static final int[] KING_IDS = new int[CLASSIC_SUITS.length];
+    private static final int[] HALF_POINTS = new int[CardSet.NB_IDS];
+
+    static {
+        for (int i = 0; i < CLASSIC_SUITS.length; i++) {
+            SUIT_LOW_MASKS[i] = CardSet.getSuitLowMask(CLASSIC_SUITS[i]);
+            SUIT_HIGH_MASKS[i] = CardSet.getSuitHighMask(CLASSIC_SUITS[i]);
+            KING_IDS[i] = Card.valueOf(CLASSIC_SUITS[i], Rank.King).getId();
+        }
+        for (int id = 0; id < CardSet.NB_IDS; id++)
+            HALF_POINTS[id] = Card.valueOf(id).getHalfPoints();
+    }
+
+    private final int cutWeight;
+    private final int singletonWeight;
+    private final int protectedKingWeight;
+    private final int ecartHalfPointWeight;
+
+    /**
+     * Constructs an evaluator with default weights
+     * @since v1.1.0
+     */
+    public WeightedEcartEvaluator() {
+        this(DEFAULT_CUT_WEIGHT, DEFAULT_SINGLETON_WEIGHT,
+                DEFAULT_PROTECTED_KING_WEIGHT, DEFAULT_ECART_HALF_POINT_WEIGHT);
+    }
+
+    /**
+     * Constructs an evaluator with custom weights
+     * @since v1.1.0
+     *
+     * @param cutWeight the weight of each void classic suit
+     * @param singletonWeight the weight of each singleton which isn't a King
+     * @param protectedKingWeight the weight of each King kept with another card of its suit
+     * @param ecartHalfPointWeight the weight of each half point put in the Ecart
+     */
+    public WeightedEcartEvaluator(int cutWeight, int singletonWeight,
+                                  int protectedKingWeight, int ecartHalfPointWeight) {
+        this.cutWeight = cutWeight;
+        this.singletonWeight = singletonWeight;
+        this.protectedKingWeight = protectedKingWeight;
+        this.ecartHalfPointWeight = ecartHalfPointWeight;
+    }
+
+    @Override
+    public int evaluate(long keptLow, long keptHigh, long ecartLow, long ecartHigh) {
+        int score = 0;
+        for (int i = 0; i < CLASSIC_SUITS.length; i++) {
+            int length = Long.bitCount(keptLow & SUIT_LOW_MASKS[i]) + Long.bitCount(keptHigh & SUIT_HIGH_MASKS[i]);
+            boolean hasKing = (KING_IDS[i] < 64) ? (keptLow & (1L << KING_IDS[i])) != 0
+                    : (keptHigh & (1L << (KING_IDS[i] - 64))) != 0;
+            if ( length == 0)
+                score += cutWeight;
+            else if ( length == 1 && !hasKing)
+                score += singletonWeight;
+            else if ( hasKing && length > 1)
+                score += protectedKingWeight;
+        }
+
+        int ecartHalfPoints = 0;
+        for (long word = ecartLow; word != 0; word &= word - 1)
+            ecartHalfPoints += HALF_POINTS[Long.numberOfTrailingZeros(word)];
+        for (long word = ecartHigh; word != 0; word &= word - 1)
+            ecartHalfPoints += HALF_POINTS[64 + Long.numberOfTrailingZeros(word)];
+        return score + ecartHalfPointWeight * ecartHalfPoints;
+    }
+}
@@ -13,7 +13,6 @@ limitations under the License.
 
 package app.presenter;
 
-import app.model.CardUpdate;
 import app.model.GameModel;
 import app.model.GameState;
 import app.view.GameView;
@@ -69,19 +68,6 @@ public class AppPresenter {
             gameModel.setUserChoice(choice);
     }
 
-    /**
-     * Aims to notify the model of an animation's end
-     * @since   v0.10
-     * @param   cardUpdate  the cardUpdate associated to the animation
-     */
-    public void notifyEndAnimation(CardUpdate cardUpdate)
-    {
-        if (cardUpdate != null)
-        {
-            gameModel.setLastEndedAnimation(cardUpdate.hashCode());
-        }
-    }
-
     /**
      * Launches a Tarot game from menu
      * @since   v0.11
@@ -0,0 +1,129 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package app.view;
+
+import app.model.AnimationClock;
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.beans.value.WritableValue;
+import javafx.event.ActionEvent;
+import javafx.event.EventHandler;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The {@code ClockedAnimations} class plays the view timelines following an {@code AnimationClock} :
+ * timelines keep their normal speed durations and are played at the clock rate,
+ * suspended while it is paused, and completed at once in instant mode,
+ * key values being set and handlers fired synchronously.
+ * It is only used from the JavaFX thread
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ *
+ * @see AnimationClock
+ */
+public class ClockedAnimations {
+    private static final double INSTANT_RATE = 1000;
+
+    private final AnimationClock clock;
+    private final Set<Animation> runningAnimations;
+
+    /**
+     * Constructs the player of the animations of a clock
+     * @since v1.1.0
+     *
+     * @param clock the clock pacing the animations
+     */
+    public ClockedAnimations(AnimationClock clock) {
+        this.clock = clock;
+        runningAnimations = new HashSet<>();
+        clock.addListener(() -> Platform.runLater(this::applyClock));
+    }
+
+    /**
+     * Play a timeline at the clock speed
+     * @since v1.1.0
+     *
+     * @param timeline the timeline, with durations at normal speed
+     */
+    public void play(Timeline timeline) {
+        if ( clock.isInstant()) {
+            complete(timeline);
+            return;
+        }
+        runningAnimations.add(timeline);
+        timeline.statusProperty().addListener((observable, oldStatus, newStatus) -> {
+            if ( newStatus == Animation.Status.STOPPED)
+                runningAnimations.remove(timeline);
+        });
+        timeline.setRate(1 / clock.getTimeScale());
+        if ( clock.isPaused())
+            timeline.pause();
+        else
+            timeline.play();
+    }
+
+    /**
+     * Complete a timeline at once : its key frames are applied in time order,
+     * then its end handler is fired
+     * @since v1.1.0
+     */
+    @SuppressWarnings("unchecked")
+    private void complete(Timeline timeline) {
+        List<KeyFrame> keyFrames = new ArrayList<>(timeline.getKeyFrames());
+        keyFrames.sort(Comparator.comparing(KeyFrame::getTime));
+        for (KeyFrame keyFrame : keyFrames) {
+            for (KeyValue keyValue : keyFrame.getValues())
+                ((WritableValue<Object>) keyValue.getTarget()).setValue(keyValue.getEndValue());
+            fire(keyFrame.getOnFinished());
+        }
+        fire(timeline.getOnFinished());
+    }
+
+    private static void fire(EventHandler<ActionEvent> handler) {
+        if ( handler != null)
+            handler.handle(new ActionEvent());
+    }
+
+    /**
+     * Apply the clock speed and pause to the running animations
+     * @since v1.1.0
+     */
+    private void applyClock() {
+        for (Animation animation : new ArrayList<>(runningAnimations)) {
+            animation.setRate(clock.isInstant() ? INSTANT_RATE : 1 / clock.getTimeScale());
+            if ( clock.isPaused())
+                animation.pause();
+            else
+                animation.play();
+        }
+    }
+
+
+    //GETTERS - no documentation needed
+
+    public AnimationClock getClock() {
+        return clock;
+    }
+    public int getNbRunningAnimations() {
+        return runningAnimations.size();
+    }
+}
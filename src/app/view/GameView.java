@@ -45,13 +45,13 @@ import java.util.*;
  * The {@code GameView} class consists in the MVC architecture view
  * @author Alexandre
  * @author Arthur
- * @version v1.0.2
+ * @version v1.1.0
  * @since v0.2
  *
- * @see Observer
+ * @see GameEventBus
  * @see Scene
  */
-public class GameView extends Scene implements Observer {
+public class GameView extends Scene {
 
     private static final float CARPET_SIZE = 2500;
     private static final float MARGIN_TABLE = 130;
@@ -65,6 +65,11 @@ public class GameView extends Scene implements Observer {
     private static final Point3D INITIAL_DECK_POSITION = new Point3D(-350,  CARPET_SIZE/2, -300);
     private static final Point3D PICKED_CARD_DECK_POSITION = new Point3D(MARGIN_TABLE,
             CARPET_SIZE-MARGIN_TABLE-ViewCard.getHeight(), 0);
+    private static final Point3D TRICK_POSITION = new Point3D(( CARPET_SIZE/2) - 2*ViewCard.getWidth() - 1.5*MARGIN_CARDS,
+            ( CARPET_SIZE/2)-(ViewCard.getHeight()/2), 0);
+    private static final Point3D TAKER_PILE_POSITION = new Point3D(CARPET_SIZE-MARGIN_TABLE-ViewCard.getWidth(),
+            CARPET_SIZE-MARGIN_TABLE-ViewCard.getHeight(), 0);
+    private static final Point3D DEFENSE_PILE_POSITION = new Point3D(MARGIN_TABLE, MARGIN_TABLE, 0);
     private static final Point3D CAMERA_POSITION_1 = new Point3D(CARPET_SIZE/2, 4200, -3800);
     private static final double CAMERA_ROTATION_1 = 35;
     private static final Point3D CAMERA_POSITION_2 = new Point3D(CARPET_SIZE/2, 2600, -2800);
@@ -72,6 +77,7 @@ public class GameView extends Scene implements Observer {
 
 
     private GameModel gameModel;
+    private ClockedAnimations animations;
     private AppPresenter appPresenter;
     private ViewCamera camera3D;
 
@@ -80,9 +86,13 @@ public class GameView extends Scene implements Observer {
     private Group wholeCardsDeck;
     private Group pickedCardDeck;
     private Group talon;
+    private Group trickDeck;
+    private Group takerPile;
+    private Group defensePile;
     private Group[] hands = new Group[4];
-    private HashMap<CardGroup, Group> cardGroupToGroup;
+    private IdentityHashMap<CardGroup, Group> cardGroupToGroup;
     private HashMap<ViewCard, Group> viewCardToGroup;
+    private ViewCard[] viewCardsById;
 
     //GUI elements
     private Label stateTitle;
@@ -102,9 +112,10 @@ public class GameView extends Scene implements Observer {
 
 
         this.gameModel = model;
+        this.animations = new ClockedAnimations(model.getAnimationClock());
         this.appPresenter = controller;
         this.setFill(Color.BLACK);
-        model.addObserver(this);
+        model.getEventBus().subscribe("view", this::onGameEvent);
 
         //=== Create the groups
         root3D = new Group();
@@ -140,8 +151,12 @@ public class GameView extends Scene implements Observer {
         wholeCardsDeck = new Group();
         pickedCardDeck = new Group();
         talon = new Group();
+        trickDeck = new Group();
+        takerPile = new Group();
+        defensePile = new Group();
         viewCardToGroup = new HashMap<>();
-        cardGroupToGroup = new HashMap<>();
+        viewCardsById = new ViewCard[Card.getNbMaxCards()];
+        cardGroupToGroup = new IdentityHashMap<>();
 
         for (PlayerHandler.PlayersCardinalPoint cardinalPoint :
                 PlayerHandler.PlayersCardinalPoint.values()) { hands[cardinalPoint.ordinal()] = new Group();}
@@ -161,6 +176,7 @@ public class GameView extends Scene implements Observer {
         //=== Define the camera
 
         camera3D = new ViewCamera(true);
+        camera3D.setAnimations(animations);
         camera3D.moveCamera(CAMERA_POSITION_1, CAMERA_ROTATION_1, 0);
 
         subScene3D.setCamera(camera3D);
@@ -245,19 +261,22 @@ public class GameView extends Scene implements Observer {
         boxTop.getChildren().add(stateTitle);
         boxBottom.getChildren().addAll(toolTip);
         boxCenter.getChildren().add(bidBox);
-        root3D.getChildren().addAll(background, talon, wholeCardsDeck, pickedCardDeck, pointLight);
+        root3D.getChildren().addAll(background, talon, wholeCardsDeck, pickedCardDeck,
+                trickDeck, takerPile, defensePile, pointLight);
         for ( Group hand : hands)
             root3D.getChildren().add(hand);
     }
 
     /**
      * Because of the keys of the @cardGroupToGroup change,
-     * whe have to update this HashMap before search keys on it.
+     * whe have to update this map before search keys on it.
+     * Keys are compared by identity, as the hash of a CardGroup depends on its cards,
+     * and the map is only used on the JavaFX thread
      * @since v0.7
      *
      */
     private void updateCardGroupToGroup() {
-        cardGroupToGroup = new HashMap<>();
+        cardGroupToGroup.clear();
         for (PlayerHandler.PlayersCardinalPoint playersCardinalPoint :
                 PlayerHandler.PlayersCardinalPoint.values()) {
             CardGroup cardGroup = gameModel.getPlayerHandler().getPlayer(playersCardinalPoint);
@@ -267,32 +286,34 @@ public class GameView extends Scene implements Observer {
         cardGroupToGroup.put(gameModel.getWholeCardsDeck(), wholeCardsDeck);
         cardGroupToGroup.put(gameModel.getToPickDeck(), wholeCardsDeck);
         cardGroupToGroup.put(gameModel.getPickedCardsDeck(), pickedCardDeck);
+        cardGroupToGroup.put(gameModel.getTrickDeck(), trickDeck);
+        cardGroupToGroup.put(gameModel.getTakerPile(), takerPile);
+        cardGroupToGroup.put(gameModel.getDefensePile(), defensePile);
     }
 
 
     /**
-     * This method is called whenever the observed object is changed.
-     * It determines which object of the gameModel has been changed with arg
-     * parameter and updates view in consequence
-     * @since   v0.2
+     * This method is called on the view subscription thread
+     * whenever the model publishes an event, events being received in publishing order
+     * and rendered on the JavaFX thread
+     * @since   v1.1.0
      *
-     * @param   o     the observable object.
-     * @param   arg   an argument passed to the <code>notifyObservers</code> method.
+     * @param   event   the published event
      */
-    @Override
-    public void update(Observable o, Object arg) {
-        updateCardGroupToGroup();
-        if (arg instanceof CardUpdate) {
-            CardUpdate cardUpdate = (CardUpdate)arg;
-            Platform.runLater(() -> renderCardUpdate(cardUpdate));
-        }
-        else if ( arg instanceof NotificationType) {
-            NotificationType notificationType = (NotificationType) arg;
-            Platform.runLater(() -> renderNotifications(notificationType));
-        }
-        else if ( arg instanceof GameState) {
-            GameState gameState = (GameState) arg;
-            Platform.runLater(() -> updateText(gameState));
+    private void onGameEvent(GameEvent event) {
+        switch (event.getKind()) {
+            case CARD_UPDATE:
+                CardUpdate cardUpdate = event.getCardUpdate();
+                Platform.runLater(() -> renderCardUpdate(cardUpdate));
+                break;
+            case GAME_STATE:
+                GameState gameState = event.getGameState();
+                Platform.runLater(() -> updateText(gameState));
+                break;
+            case NOTIFICATION:
+                NotificationType notificationType = event.getNotification();
+                Platform.runLater(() -> renderNotifications(notificationType));
+                break;
         }
     }
 
@@ -347,14 +368,34 @@ public class GameView extends Scene implements Observer {
                 break;
             case ECART_CONSTITUTING:
                 stateTitle.setText("ECART CONSTITUTING");
-                toolTip.setText("You are the taker, please select a card");
-                camera3D.moveCamera(CAMERA_POSITION_2, CAMERA_ROTATION_2, 2000);
+                if (gameModel.getTaker() == gameModel.getOurPlayer()) {
+                    toolTip.setText("You are the taker, please select a card");
+                    camera3D.moveCamera(CAMERA_POSITION_2, CAMERA_ROTATION_2, 2000);
+                }
+                else
+                    toolTip.setText("Please wait...");
                 break;
             case ECART_CONSTITUTED:
                 stateTitle.setText("ECART CONSTITUTED");
-                toolTip.setText("Game is now finished. You can quit");
+                toolTip.setText("Please wait...");
                 camera3D.moveCamera(CAMERA_POSITION_1, CAMERA_ROTATION_1, 2000);
                 break;
+            case TRICKS_PLAYING:
+                stateTitle.setText("TRICKS PLAYING");
+                toolTip.setText("Taker is " +
+                        gameModel.getPlayerHandler().getPlayerName(gameModel.getTaker()));
+                break;
+            case TRICK_ENDED:
+                stateTitle.setText("TRICK " + gameModel.getNbTricksPlayed() + " ENDED");
+                toolTip.setText("Trick won by " +
+                        gameModel.getPlayerHandler().getPlayerName(gameModel.getPlayerHandler().getCurrentPlayer()));
+                break;
+            case TRICKS_PLAYED:
+                stateTitle.setText("TRICKS PLAYED");
+                toolTip.setText("Taker " + (gameModel.getDealScore().isContractMade() ? "made" : "failed")
+                        + " the contract with " + gameModel.getDealScore().getTakerHalfPoints() / 2.0
+                        + " points and scores " + gameModel.getDealScore().getTakerScore() + ". You can quit");
+                break;
             default:
                 break;
         }
@@ -373,15 +414,29 @@ public class GameView extends Scene implements Observer {
                 break;
             case CHOOSE_BID:
                 bidBox.setVisible(true);
-                toolTip.setText("Please select a bid with the buttons above");
+                toolTip.setText("Please select a bid with the buttons above" +
+                        ((gameModel.getBidAdvice() != null) ?
+                                ", advised bid is " + gameModel.getBidAdvice().getBestBid() : ""));
+                break;
+            case CHOOSE_ECART_CARD:
+                if (gameModel.getEcartHint() != null)
+                    toolTip.setText("Please select a card, advised ecart is "
+                            + gameModel.getEcartHint().getCardNames());
+                break;
+            case PLAY_CARD:
+                toolTip.setText("Please play a card");
                 break;
             case UNAUTHORIZED_CARD_CHOICE:
-                toolTip.setText("You can't choose a Trump, a King or Excuse");
+                if (gameModel.getGameState() == GameState.TRICKS_PLAYING
+                        || gameModel.getGameState() == GameState.TRICK_ENDED)
+                    toolTip.setText("You must follow suit, or play a higher Trump if you can");
+                else
+                    toolTip.setText("You can't choose a Trump, a King or Excuse");
                 toolTip.setTextFill(Color.RED);
-                new Timeline(new KeyFrame( Duration.millis(2500), t -> {
+                animations.play(new Timeline(new KeyFrame( Duration.millis(2500), t -> {
                     toolTip.setText("Please select a card");
                     toolTip.setTextFill(Color.WHITE);
-                })).play();
+                })));
                 break;
             default:
                 break;
@@ -407,6 +462,9 @@ public class GameView extends Scene implements Observer {
                     case MOVE_CARD_BETWEEN_GROUPS:
                         changeCardGroup(cardUpdate, 1000);
                         break;
+                    case MOVE_CARDS:
+                        moveCards(cardUpdate);
+                        break;
                     case REMOVE_CARD_FROM_GROUP:
                         removeCardFromGroup(cardUpdate);
                         break;
@@ -435,9 +493,9 @@ public class GameView extends Scene implements Observer {
                     default:
                         break;
                 }
-                cardUpdate.waitAnimations(appPresenter);
             } catch (NullViewCardException e) {
                 System.err.println(e.getMessage());
+                cardUpdate.complete();
             }
         }
     }
@@ -449,21 +507,27 @@ public class GameView extends Scene implements Observer {
      */
     private void handleBidChosen() {
         stateTitle.setText("BID CHOSEN");
-        switch (gameModel.getOurPlayer().getBidChosen()) {
+        Hand taker = gameModel.getTaker();
+        if (taker == null) {
+            toolTip.setText("Every player has passed. Re-dealing...");
+            return;
+        }
+        String takerText = (taker == gameModel.getOurPlayer()) ? "" :
+                gameModel.getPlayerHandler().getPlayerName(taker) + " takes. ";
+        switch (taker.getBidChosen()) {
             case Small:
-                toolTip.setText("Small. You can constitute your ecart");
+                toolTip.setText(takerText + "Small. " + (takerText.isEmpty() ? "You can constitute your ecart" : "Please wait..."));
                 break;
             case Guard:
-                toolTip.setText("Guard. You can constitute your ecart");
+                toolTip.setText(takerText + "Guard. " + (takerText.isEmpty() ? "You can constitute your ecart" : "Please wait..."));
                 break;
             case GuardWithoutTheKitty:
-                toolTip.setText("Guard Without The Kitty. Game is now finished. You can quit");
+                toolTip.setText(takerText + "Guard Without The Kitty. Please wait...");
                 break;
             case GuardAgainstTheKitty:
-                toolTip.setText("Guard Against The Kitty. Game is now finished. You can quit");
+                toolTip.setText(takerText + "Guard Against The Kitty. Please wait...");
                 break;
-            case Pass:
-                toolTip.setText("You have chosen to Pass. Re-dealing...");
+            default:
                 break;
         }
     }
@@ -508,7 +572,7 @@ public class GameView extends Scene implements Observer {
             if (viewCard == null) {
                 throw new NullViewCardException(new CardUpdate(CardUpdateType.FLIP_CARD,cardsStack.lastElement()),true);
             }
-            else if (viewCard.isShown() != viewCard.getModelCard().isShown()) {
+            else if (viewCard.isShown() != gameModel.isShown(viewCard.getModelCard())) {
 
                 viewCard.setShown(!viewCard.isShown());
                 Timeline timeline = new Timeline();
@@ -551,7 +615,7 @@ public class GameView extends Scene implements Observer {
                 if (cardsStack.size() == 1) {
                     timeline.setOnFinished(event -> cardUpdate.setAnimationFinished());
                 }
-                timeline.play();
+                animations.play(timeline);
             }
             else {
                 if (cardsStack.size() == 1)
@@ -621,7 +685,7 @@ public class GameView extends Scene implements Observer {
                 new KeyFrame(new Duration(animationTime), new KeyValue(viewCard.getTransformations().getTranslate().zProperty(), 0))
         );
         timeline.setOnFinished(event -> cardUpdate.setAnimationFinished());
-        timeline.play();
+        animations.play(timeline);
     }
 
 
@@ -650,6 +714,8 @@ public class GameView extends Scene implements Observer {
         ViewCard viewCard = getViewCardFromCard(cardUpdate.getCard());
         viewCardToGroup.get(viewCard).getChildren().remove(viewCard);
         viewCardToGroup.remove(viewCard);
+        if (viewCard.getModelCard().getId() >= 0 && viewCardsById[viewCard.getModelCard().getId()] == viewCard)
+            viewCardsById[viewCard.getModelCard().getId()] = null;
         cardUpdate.setAnimationFinished();
     }
 
@@ -720,7 +786,7 @@ public class GameView extends Scene implements Observer {
                 i++;
             }
         }
-        timeline.play();
+        animations.play(timeline);
     }
 
 
@@ -761,7 +827,7 @@ public class GameView extends Scene implements Observer {
                 timeline.getKeyFrames().add(new KeyFrame(new Duration(3000), new KeyValue(viewCard.getTransformations().getTranslate().xProperty(), 0)));
             }
             timeline.setOnFinished(event -> cardUpdate.setAnimationFinished());
-            timeline.play();
+            animations.play(timeline);
         }
     }
 
@@ -814,6 +880,32 @@ public class GameView extends Scene implements Observer {
         cardUpdate.setAnimationFinished();
     }
 
+    /**
+     * This method is called by @update if the update type is @MOVE_CARDS
+     * It schedules all the moves of the batch in one Timeline, each one starting at its offset,
+     * the batch being finished when its last move is
+     * @since   v1.1.0
+     * @param   cardUpdate     the batch of moves
+     */
+    private void moveCards(CardUpdate cardUpdate) {
+        Timeline timeline = new Timeline();
+        List<CardUpdate> moves = cardUpdate.getMoves();
+        for (int i = 0; i < moves.size(); i++) {
+            CardUpdate move = moves.get(i);
+            cardUpdate.addSubUpdate(move);
+            timeline.getKeyFrames().add(new KeyFrame(Duration.millis(cardUpdate.getMoveStartOffset(i)), event -> {
+                try {
+                    changeCardGroup(move, 1000);
+                } catch (NullViewCardException e) {
+                    System.err.println(e.getMessage());
+                    move.setAnimationFinished();
+                }
+            }));
+        }
+        animations.play(timeline);
+        cardUpdate.setAnimationFinished();
+    }
+
     /**
      * This method is called by @update if the update type is @GATHER_CARDS
      * It gather all cards of all groups to a target cardGroup
@@ -852,12 +944,16 @@ public class GameView extends Scene implements Observer {
      * This method return the associated ViewCard
      * of the actual scene of a Card model object
      * If the ViewCard doesn't exist it return null
+     * Tarot cards are found by id in O(1)
      * @since   v0.6
      *
      * @param   card     the model card object
      * @return  the associated ViewCard of a modelCard
      */
     private ViewCard getViewCardFromCard(Card card) {
+        if (card != null && card.getId() >= 0
+                && viewCardsById[card.getId()] != null && viewCardsById[card.getId()].getModelCard() == card)
+            return viewCardsById[card.getId()];
         for (Map.Entry<ViewCard, Group> entry : viewCardToGroup.entrySet()) {
             if (entry.getKey().getModelCard() == card) {
                 return entry.getKey();
@@ -884,6 +980,7 @@ public class GameView extends Scene implements Observer {
     /**
      * This method return the associated CardGroup of a JavaFx Group
      * Return the null if no specific group exist
+     * When several CardGroups share the Group, the one holding cards is preferred
      * @since   v0.7
      *
      * @param   viewGroup     the viewGroup object
@@ -891,12 +988,15 @@ public class GameView extends Scene implements Observer {
      */
     public CardGroup getCardGroupFromGroup(Group viewGroup) {
         updateCardGroupToGroup();
+        CardGroup cardGroup = null;
         for (Map.Entry<CardGroup, Group> entry : cardGroupToGroup.entrySet()) {
             if (entry.getValue() == viewGroup) {
-                return entry.getKey();
+                cardGroup = entry.getKey();
+                if ( !cardGroup.isEmpty())
+                    return cardGroup;
             }
         }
-        return null;
+        return cardGroup;
     }
 
 
@@ -943,6 +1043,18 @@ public class GameView extends Scene implements Observer {
             point3D = new Point3D(PICKED_CARD_DECK_POSITION.getX() + (ViewCard.getWidth() + MARGIN_CARDS) * getNbViewCard(pickedCardDeck),
                     PICKED_CARD_DECK_POSITION.getY(), PICKED_CARD_DECK_POSITION.getZ() - ViewCard.getDepth());
         }
+        else if (viewCardToGroup.get(viewCard) == trickDeck) {
+            point3D = new Point3D(TRICK_POSITION.getX() + (ViewCard.getWidth() + MARGIN_CARDS) * (getNbViewCard(trickDeck)-1),
+                    TRICK_POSITION.getY(), TRICK_POSITION.getZ() - ViewCard.getDepth());
+        }
+        else if (viewCardToGroup.get(viewCard) == takerPile) {
+            point3D = new Point3D(TAKER_PILE_POSITION.getX(), TAKER_PILE_POSITION.getY(), TAKER_PILE_POSITION.getZ()
+                    - ViewCard.getDepth()*(getNbViewCard(takerPile)));
+        }
+        else if (viewCardToGroup.get(viewCard) == defensePile) {
+            point3D = new Point3D(DEFENSE_PILE_POSITION.getX(), DEFENSE_PILE_POSITION.getY(), DEFENSE_PILE_POSITION.getZ()
+                    - ViewCard.getDepth()*(getNbViewCard(defensePile)));
+        }
         else if (viewCardToGroup.get(viewCard) == talon) {
             point3D = new Point3D(TALON_POSITION.getX(), TALON_POSITION.getY(), TALON_POSITION.getZ()
                     - ViewCard.getDepth()*(getNbViewCard(talon)));
@@ -1017,6 +1129,19 @@ public class GameView extends Scene implements Observer {
     public HashMap<ViewCard, Group> getViewCardToGroup() {
         return viewCardToGroup;
     }
+
+    /**
+     * Register a new ViewCard in its group
+     * @since   v1.1.0
+     *
+     * @param   viewCard    the new ViewCard
+     * @param   group       the group containing the ViewCard
+     */
+    void registerViewCard(ViewCard viewCard, Group group) {
+        viewCardToGroup.put(viewCard, group);
+        if (viewCard.getModelCard().getId() >= 0)
+            viewCardsById[viewCard.getModelCard().getId()] = viewCard;
+    }
     public Label getToolTip() {
         return toolTip;
     }
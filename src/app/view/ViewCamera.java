@@ -28,6 +28,7 @@ import javafx.util.Duration;
  */
 public class ViewCamera extends PerspectiveCamera {
     private Transformations transformations;
+    private ClockedAnimations animations;
 
     /**
      * Constructs Perspective camera
@@ -50,7 +51,8 @@ public class ViewCamera extends PerspectiveCamera {
      *
      * @param position the new camera position
      * @param rotation the new camera rotation
-     * @param transitionTime the transition length to new camera position and rotation
+     * @param transitionTime the transition length to new camera position and rotation,
+     *                       following the animations clock when the camera has one
      */
     public void moveCamera(Point3D position, double rotation, int transitionTime)
     {
@@ -67,7 +69,10 @@ public class ViewCamera extends PerspectiveCamera {
                     new KeyFrame(new Duration(transitionTime), new KeyValue(translateZProperty(), position.getZ())),
                     new KeyFrame(new Duration(transitionTime), new KeyValue(rotateProperty(), rotation))
             );
-            timeline.play();
+            if (animations != null)
+                animations.play(timeline);
+            else
+                timeline.play();
         }
     }
 
@@ -77,4 +82,8 @@ public class ViewCamera extends PerspectiveCamera {
     {
         return transformations;
     }
+    public void setAnimations(ClockedAnimations animations)
+    {
+        this.animations = animations;
+    }
 }
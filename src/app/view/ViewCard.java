@@ -27,7 +27,7 @@ import java.util.HashMap;
  * with some useful methods to help animating the cards on the table.
  * @author Alexandre
  * @author Arthur
- * @version v1.0.0
+ * @version v1.1.0
  * @since v0.3
  */
 public class ViewCard extends RectangleMesh {
@@ -141,7 +141,7 @@ public class ViewCard extends RectangleMesh {
         this.gameView = view;
         this.shown = true;
         group.getChildren().add(this);
-        view.getViewCardToGroup().put(this, group);
+        view.registerViewCard(this, group);
         setPosition(view.getCardDefaultPosition(this));
         setRotationAxis(Rotate.Z_AXIS);
         setRotate(view.getCardDefaultRotation(this).z);
@@ -153,6 +153,9 @@ public class ViewCard extends RectangleMesh {
                     ||
                     (gameView.getGameModel().getAwaitsUserEvent() == NotificationType.CHOOSE_ECART_CARD
                             && gameView.getSouth().getChildren().contains(this) )
+                    ||
+                    (gameView.getGameModel().getAwaitsUserEvent() == NotificationType.PLAY_CARD
+                            && gameView.getSouth().getChildren().contains(this) )
                     ) {
                 gameView.setCursor(Cursor.HAND);
             }
@@ -162,7 +165,8 @@ public class ViewCard extends RectangleMesh {
             CardGroup cardGroup = null;
             if (gameView.getGameModel().getAwaitsUserEvent() == NotificationType.PICK_CARD)
                 cardGroup = gameView.getCardGroupFromGroup(gameView.getWholeCardsDeck());
-            else if (gameView.getGameModel().getAwaitsUserEvent() == NotificationType.CHOOSE_ECART_CARD)
+            else if (gameView.getGameModel().getAwaitsUserEvent() == NotificationType.CHOOSE_ECART_CARD
+                    || gameView.getGameModel().getAwaitsUserEvent() == NotificationType.PLAY_CARD)
                 cardGroup = gameView.getCardGroupFromGroup(gameView.getSouth());
 
             if (cardGroup != null && cardGroup.contains(modelCard))
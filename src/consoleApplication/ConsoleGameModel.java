@@ -16,7 +16,6 @@ package consoleApplication;
 import app.model.*;
 import exceptions.CardGroupNumberException;
 import exceptions.CardNumberException;
-import exceptions.CardUniquenessException;
 
 import java.util.*;
 
@@ -25,7 +24,7 @@ import java.util.*;
  * It handles dealer choosing, dealing, bids choosing
  * and ecart constituting (if applicable)
  * @author Arthur
- * @version v1.0.2
+ * @version v1.1.0
  * @since v0.2
  *
  * @see Observable
@@ -37,9 +36,11 @@ import java.util.*;
 
 class ConsoleGameModel extends Observable {
 
+    private TableContext table;
     private CardGroup wholeCardsDeck;
     private CardGroup toPickDeck;
     private CardGroup pickedCardsDeck;
+    private CardSet shownCards;
     private Map<Card, Hand> pickedCardsMap;
     private PlayerHandler playerHandler;
     private Talon chien;
@@ -53,18 +54,20 @@ class ConsoleGameModel extends Observable {
      * @throws CardGroupNumberException if user tries to create too much hands
      */
     ConsoleGameModel() throws CardGroupNumberException {
-        toPickDeck = new CardGroup(78);
-        wholeCardsDeck = new CardGroup(78);
+        table = new TableContext();
+        toPickDeck = new CardGroup(table, 78);
+        wholeCardsDeck = new CardGroup(table, 78);
         pickedCardsMap = new HashMap<>();
-        pickedCardsDeck = new CardGroup(4);
+        pickedCardsDeck = new CardGroup(table, 4);
+        shownCards = new CardSet();
 
         //Players creation
-        playerHandler = new PlayerHandler();
+        playerHandler = new PlayerHandler(table);
         myPlayer = playerHandler.getPlayer(PlayerHandler.PlayersCardinalPoint.South);
 
         //Chien creation
         try {
-            chien = new Talon();
+            chien = new Talon(table);
         } catch (CardGroupNumberException e) {
             System.err.println(e.getMessage());
         }
@@ -73,45 +76,18 @@ class ConsoleGameModel extends Observable {
     }
 
     /**
-     * Creates all cards and puts them in wholeCardsDeck
+     * Puts all the cards of the registry in wholeCardsDeck
      * @since v0.7.2
      */
     private void createCards() {
-        for (Suit s : Suit.values()) {
-            if ( s != Suit.Trump && s != Suit.Excuse) {
-                for (Rank r : Rank.values()) {
-                    try {
-                        Card c = new Card(s,r);
-                        if(!wholeCardsDeck.add(c))
-                            throw new CardNumberException("Card number limit has been reached.",
-                                    wholeCardsDeck.getNbMaxCards());
-
-                    } catch (CardUniquenessException | CardNumberException e) {
-                        System.err.println(e.getMessage());
-                    }
-                }
-            }
-            else if ( s != Suit.Excuse){
-                for (int i = 1; i <= Card.getNbMaxTrumps(); i++) {
-                    try {
-                        Card c = new Card(Suit.Trump,i);
-                        if(!wholeCardsDeck.add(c))
-                            throw new CardNumberException("Card number limit has been reached.",
-                                    wholeCardsDeck.getNbMaxCards());
-
-                    } catch (CardUniquenessException | CardNumberException e) {
-                        System.err.println(e.getMessage());
-                    }
-                }
-            }
-            else {
-                try {
-                    Card c = new Card(Suit.Excuse, -1);
-                    if(!wholeCardsDeck.add(c))
-                        throw new CardNumberException("Card number limit has been reached.", wholeCardsDeck.getNbMaxCards());
-                } catch (CardNumberException | CardUniquenessException e) {
-                    System.err.println(e.getMessage());
-                }
+        for (Card c : Card.getAllCards()) {
+            try {
+                table.registerCard();
+                if(!wholeCardsDeck.add(c))
+                    throw new CardNumberException("Card number limit has been reached.",
+                            wholeCardsDeck.getNbMaxCards());
+            } catch (CardNumberException e) {
+                System.err.println(e.getMessage());
             }
         }
         changeGameState(GameState.CARDS_SPREADING);
@@ -178,7 +154,7 @@ class ConsoleGameModel extends Observable {
         Card minCard = null;
         for (Map.Entry<Card, Hand> mapEntry : pickedCardsMap.entrySet())
             if (Objects.isNull(minCard) ||
-                    (new Card.CardComparator().compare(mapEntry.getKey(), minCard) == -1))
+                    (Card.getComparator().compare(mapEntry.getKey(), minCard) == -1))
                 minCard = mapEntry.getKey();
 
         playerHandler.setFirstDealer(pickedCardsMap.get(minCard));
@@ -247,7 +223,7 @@ class ConsoleGameModel extends Observable {
                     chienReceiveCard = true;
                 }
                 else {
-                    chienReceiveCard = ( (new Random().nextInt(4) == 0)); //25% it chooses to put it in Talon
+                    chienReceiveCard = ( (table.getRandom().getDealingRandom().nextInt(4) == 0)); //25% it chooses to put it in Talon
                     if (chienReceiveCard) {
                         moveCardBetweenDecks(wholeCardsDeck, chien, wholeCardsDeck.get(0));
                     }
@@ -321,7 +297,12 @@ class ConsoleGameModel extends Observable {
             if ( player == myPlayer) {
                 flipDeck(myPlayer, true);
                 System.out.println("Here are your cards :");
-                System.out.println(myPlayer.cardListToString());
+                System.out.println(myPlayer.cardListToString(shownCards));
+                BidAdvice advice = new BidAdvisor().advise(myPlayer,
+                        playerHandler.getPlayerCardinalPoint(myPlayer).ordinal(),
+                        playerHandler.getPlayerCardinalPoint(playerHandler.getCurrentPlayer()).ordinal(),
+                        table.getRandom().getAiRandom());
+                System.out.println("Advised bid : " + advice.getBestBid() + "  " + advice);
                 System.out.println("Choose your Bids among those one :");
                 System.out.println("1. Small\n2. Guard\n3. GuardWithoutTheKitty\n4. GuardAgainstTheKitty\n5. Pass");
                 Scanner sc = new Scanner(System.in);
@@ -365,7 +346,7 @@ class ConsoleGameModel extends Observable {
         changeGameState(GameState.ECART_CONSTITUTING);
         System.out.println("Showing the chien to all...");
         flipDeck(chien, true);
-        System.out.println(chien.cardListToString());
+        System.out.println(chien.cardListToString(shownCards));
         System.out.println("Placing chien's cards into taker's deck...");
 
         while ( !chien.isEmpty() ) {
@@ -373,7 +354,7 @@ class ConsoleGameModel extends Observable {
         }
 
         System.out.println("Now, constitute your ecart by putting 6 of your deck's cards in the chien :");
-        System.out.println(myPlayer.cardListToString());
+        System.out.println(myPlayer.cardListToString(shownCards));
 
         for (int i=0; i < 6; i++) {
             Scanner sc = new Scanner(System.in);
@@ -388,8 +369,7 @@ class ConsoleGameModel extends Observable {
                     if ( c.getSuit() != Suit.Trump && c.getSuit() != Suit.Excuse && c.getRank() != Rank.King) {
                         choiceValid = true;
                     }
-                    else if ( c.getSuit() == Suit.Trump && !Objects.equals(c.getName(), "Trump1")
-                            && !Objects.equals(c.getName(), "Trump21") && checkTrumpPossibility() ) {
+                    else if ( c.getSuit() == Suit.Trump && !c.isOudler() && checkTrumpPossibility() ) {
                         choiceValid = true;
                     }
                     else {
@@ -407,8 +387,8 @@ class ConsoleGameModel extends Observable {
                 flipCard(c, false);
             }
             moveCardBetweenDecks(myPlayer, chien, c);
-            System.out.println("Taker : " + myPlayer.cardListToString());
-            System.out.println("Talon : " + chien.cardListToString());
+            System.out.println("Taker : " + myPlayer.cardListToString(shownCards));
+            System.out.println("Talon : " + chien.cardListToString(shownCards));
         }
         System.out.println("Ecart done...");
         sortDeck(myPlayer);
@@ -429,9 +409,7 @@ class ConsoleGameModel extends Observable {
         while ( !wholeCardsDeck.isEmpty() ) {
             wholeCardsDeck.remove(0);
         }
-        Talon.resetClass();
-        Hand.resetClass();
-        Card.resetClass();
+        table.releaseCards();
     }
 
 
@@ -451,14 +429,12 @@ class ConsoleGameModel extends Observable {
     /**
      * Shuffles cards
      * @since v0.5
-     * @see Collections
-     * @see Random
+     * @see GameRandom
      */
     private void shuffleCards() {
         changeGameState(GameState.CARDS_SHUFFLING);
         System.out.println("Shuffling cards...");
-        long seed = System.nanoTime();
-        Collections.shuffle(wholeCardsDeck, new Random(seed));
+        wholeCardsDeck.shuffle(table.getRandom().getShuffleRandom());
     }
 
 
@@ -469,7 +445,7 @@ class ConsoleGameModel extends Observable {
      * @param cardGroup the cardGroup that has to be sorted
      */
     private void sortDeck(CardGroup cardGroup) {
-        cardGroup.sort(new Card.CardComparator());
+        cardGroup.sort(Card.getComparator());
     }
 
 
@@ -536,25 +512,20 @@ class ConsoleGameModel extends Observable {
      * @return a boolean indicating if Trump discard is possible
      */
     private boolean checkTrumpPossibility() {
-        int cpt = 0;
-        for ( Card c : myPlayer) {
-            if ( c.getSuit() == Suit.Trump || c.getSuit() == Suit.Excuse || c.getRank() == Rank.King)
-                cpt++;
-        }
-        return cpt == myPlayer.size();
+        return myPlayer.checkHasOnlyTrumpsKingsAndExcuse();
     }
 
 
     /**
      * Gets a random card in a card list
      * @since v0.5
-     * @see Random
+     * @see GameRandom
      * @param list the list used to return a random card
      *
      * @return a random card
      */
     private Card randomCard(List<Card> list) {
-        int index = new Random().nextInt(list.size());
+        int index = table.getRandom().getAiRandom().nextInt(list.size());
         return list.get(index);
     }
 
@@ -574,7 +545,10 @@ class ConsoleGameModel extends Observable {
      * @param isShown the state that is passed to the card (if different)
      */
     private void flipCard(Card c, boolean isShown) {
-        c.setShown(isShown);
+        if (isShown)
+            shownCards.add(c.getId());
+        else
+            shownCards.remove(c.getId());
     }
 
 
@@ -593,7 +567,7 @@ class ConsoleGameModel extends Observable {
      * @param state the state that is passed to the card (if different)
      */
     private void flipDeck(CardGroup cardGroup, boolean state) {
-        cardGroup.forEach(c -> c.setShown(state));
+        cardGroup.forEach(c -> flipCard(c, state));
     }
 
 
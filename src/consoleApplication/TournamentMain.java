@@ -0,0 +1,91 @@
+/*
+Copyright 2016 Jacquot Alexandre, Jolivet Arthur
+Licensed under the Apache License, Version 2.0 (the "License");
+you may not use this file except in compliance with the License.
+You may obtain a copy of the License at
+    http://www.apache.org/licenses/LICENSE-2.0
+Unless required by applicable law or agreed to in writing, software
+distributed under the License is distributed on an "AS IS" BASIS,
+WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+See the License for the specific language governing permissions and
+limitations under the License.
+*/
+package consoleApplication;
+
+import app.model.DealPool;
+import app.model.HeuristicBiddingStrategy;
+import app.model.IsmctsCardPlayStrategy;
+import app.model.RandomCardPlayStrategy;
+import app.model.TournamentPlayer;
+import app.model.TournamentResult;
+import app.model.TournamentRunner;
+
+/**
+ * The {@code TournamentMain} class plays a headless tournament between 4 AI players
+ * and prints their scores.
+ *
+ * Usage : TournamentMain nbDeals nbThreads seed player1 player2 player3 player4 [duplicate]
+ * where a player is one of :
+ *  - random : heuristic bids and random legal cards
+ *  - bold : bolder heuristic bids and random legal cards
+ *  - ismctsN : heuristic bids and an ISMCTS search of N iterations per card
+ * In duplicate mode, nbDeals deals are generated once and each one is played
+ * with the 4 rotations of the players
+ * @author Arthur
+ * @version v1.1.0
+ * @since v1.1.0
+ */
+public class TournamentMain {
+    private static final int[] BOLD_THRESHOLDS = {0, 50, 70, 80};
+    private static final long ISMCTS_BUDGET_MILLIS = 60000;
+
+    public static void main(String[] args) {
+        if ( args.length != 7 && !(args.length == 8 && args[7].equals("duplicate"))) {
+            System.err.println("Usage : TournamentMain nbDeals nbThreads seed player1 player2 player3 player4 [duplicate]");
+            System.exit(1);
+        }
+
+        try {
+            long nbDeals = Long.parseLong(args[0]);
+            int nbThreads = Integer.parseInt(args[1]);
+            long seed = Long.parseLong(args[2]);
+            TournamentPlayer[] players = new TournamentPlayer[4];
+            for (int i = 0; i < players.length; i++)
+                players[i] = createPlayer(args[3 + i]);
+
+            TournamentRunner runner = new TournamentRunner(players, true, nbThreads);
+            TournamentResult result = (args.length == 8)
+                    ? runner.runDuplicate(DealPool.generate(seed, Math.toIntExact(nbDeals)), seed)
+                    : runner.run(nbDeals, seed);
+            System.out.println(result);
+        }
+        catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+        }
+
+        System.exit(0);
+    }
+
+    /**
+     * Create a player from its command line name
+     * @since v1.1.0
+     *
+     * @param name the player name
+     * @return the player
+     * @throws IllegalArgumentException if the name isn't known
+     */
+    private static TournamentPlayer createPlayer(String name) {
+        if ( name.equals("random"))
+            return new TournamentPlayer(name, random -> new HeuristicBiddingStrategy(), RandomCardPlayStrategy::new);
+        if ( name.equals("bold"))
+            return new TournamentPlayer(name, random -> new HeuristicBiddingStrategy(BOLD_THRESHOLDS),
+                    RandomCardPlayStrategy::new);
+        if ( name.startsWith("ismcts")) {
+            int nbIterations = Integer.parseInt(name.substring("ismcts".length()));
+            return new TournamentPlayer(name, random -> new HeuristicBiddingStrategy(),
+                    random -> new IsmctsCardPlayStrategy(null, ISMCTS_BUDGET_MILLIS, nbIterations, random));
+        }
+        throw new IllegalArgumentException("Unknown player : " + name);
+    }
+}
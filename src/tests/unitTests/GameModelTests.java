@@ -20,6 +20,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.Assert.*;
 
@@ -239,6 +241,7 @@ public class GameModelTests {
 
     /**
      * Test quitGame method
+     * Cards come from the registry so none is instantiated by the game
      * @since v0.11
      *
      */
@@ -246,11 +249,294 @@ public class GameModelTests {
     public void quitGameTest() {
 
         assertTrue(gameModel.getWholeCardsDeck().size() == 78);
-        assertTrue(Card.getNbCards() == 78);
+        assertTrue(gameModel.getWholeCardsDeck().get(0) == Card.valueOf(0));
+        assertTrue(gameModel.getTable().getNbCards() == 78);
+        assertTrue(Card.getNbCards() == 0);
 
         gameModel.quitGame();
 
         assertTrue(gameModel.getWholeCardsDeck().size() == 0);
+        assertTrue(gameModel.getTable().getNbCards() == 0);
         assertTrue(Card.getNbCards() == 0);
     }
-}
\ No newline at end of file
+
+
+    /**
+     * Test that many games can run at the same time
+     * without resetting any static field
+     * @since v1.1.0
+     *
+     */
+    @Test
+    public void multipleTablesTest() {
+        List<GameModel> gameModels = new ArrayList<>();
+        try {
+            for (int i = 0; i < 200; i++) {
+                GameModel model = new GameModel(false);
+                model.createCards();
+                gameModels.add(model);
+            }
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+
+        gameModels.parallelStream().forEach(GameModel::dealAllCards);
+
+        for (GameModel model : gameModels) {
+            assertTrue(model.getWholeCardsDeck().isEmpty());
+            assertTrue(model.getTable().getNbHands() == 4);
+            assertTrue(model.getTable().hasTalon());
+            model.getPlayerHandler().getPlayersMap().forEach( (cardinal,player)->
+                    assertTrue(player.size() == 18) );
+        }
+    }
+
+    /**
+     * Test headless games are played to their end without any game thread,
+     * the incremental score matching the taker pile
+     * @since v1.1.0
+     */
+    @Test
+    public void headlessGameTest() {
+        GameModel headlessModel = null;
+        try {
+            headlessModel = new GameModel(true, true);
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+        GameModel model = headlessModel;
+        model.createCards();
+        assertTrue(model.isHeadless());
+        assertNull(model.getGameThread());
+
+        int nbGames = 2000;
+        for (int i = 0; i < nbGames; i++) {
+            model.playHeadlessGame();
+
+            assertTrue(model.getGameState() == GameState.GAME_ENDED);
+            assertTrue(model.getTalon().isEmpty());
+            assertTrue(model.getWholeCardsDeck().isEmpty());
+            assertTrue(model.getTrickDeck().isEmpty());
+            assertTrue(model.getNbTricksPlayed() == 18);
+            assertTrue(model.getTakerPile().size() + model.getDefensePile().size() == 78);
+            model.getPlayerHandler().getPlayersMap().forEach( (cardinal,player)->
+                    assertTrue(player.isEmpty()) );
+
+            //Incremental score matches taker pile, up to the Excuse exchange
+            DealScore score = model.getDealScore();
+            int pileHalfPoints = 0;
+            int pileOudlers = 0;
+            for (Card c : model.getTakerPile()) {
+                pileHalfPoints += c.getHalfPoints();
+                pileOudlers += c.isOudler() ? 1 : 0;
+            }
+            assertTrue(Math.abs(score.getTakerHalfPoints() - pileHalfPoints) <= 1);
+            assertTrue(score.getTakerOudlers() == pileOudlers);
+            assertTrue(score.getTakerScore() == -3 * score.getDefenderScore());
+        }
+
+        assertTrue(model.getNbDeals() >= nbGames);
+        assertTrue(model.getRedealStatistics().getNbDeals() == model.getNbDeals());
+    }
+
+    /**
+     * Test two tables built with the same seed play the same games
+     * @since v1.1.0
+     */
+    @Test
+    public void seededGameTest() {
+        try {
+            GameModel model = new GameModel(true, true, new GameRandom(2016));
+            GameModel sameSeedModel = new GameModel(true, true, new GameRandom(2016));
+            model.createCards();
+            sameSeedModel.createCards();
+
+            for (int i = 0; i < 50; i++) {
+                model.playHeadlessGame();
+                sameSeedModel.playHeadlessGame();
+
+                assertTrue(model.getNbDeals() == sameSeedModel.getNbDeals());
+                assertEquals(new ArrayList<>(model.getTakerPile()), new ArrayList<>(sameSeedModel.getTakerPile()));
+                assertEquals(new ArrayList<>(model.getDefensePile()),
+                        new ArrayList<>(sameSeedModel.getDefensePile()));
+            }
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Test each seat but our player's gets a default bidding strategy,
+     * and the taker holds the highest bid when South bids with a bolder one
+     * @since v1.1.0
+     */
+    @Test
+    public void biddingStrategiesTest() {
+        try {
+            GameModel model = new GameModel(false, true, new GameRandom(13));
+            model.createCards();
+            assertNull(model.getBiddingStrategy(PlayerHandler.PlayersCardinalPoint.South));
+            assertNotNull(model.getBiddingStrategy(PlayerHandler.PlayersCardinalPoint.North));
+
+            HeuristicBiddingStrategy bold = new HeuristicBiddingStrategy(new int[]{0, 50, 70, 80});
+            model.setBiddingStrategy(PlayerHandler.PlayersCardinalPoint.South, bold);
+            for (int i = 0; i < 500; i++) {
+                model.playHeadlessGame();
+
+                Hand taker = model.getTaker();
+                assertNotNull(taker);
+                for (Hand player : model.getPlayerHandler().getPlayersMap().values())
+                    assertTrue(!player.getBidChosen().isHigherThan(taker.getBidChosen()));
+                assertTrue(model.getNbTricksPlayed() == 18);
+            }
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests headless games with a search based card play strategy for West,
+     * other seats playing random cards, the recorded history and the card tracker
+     * @since v1.1.0
+     */
+    @Test
+    public void cardPlayStrategiesTest() {
+        try {
+            GameModel model = new GameModel(false, true, new GameRandom(17));
+            model.createCards();
+            assertNull(model.getCardPlayStrategy(PlayerHandler.PlayersCardinalPoint.South));
+            assertTrue(model.getCardPlayStrategy(PlayerHandler.PlayersCardinalPoint.West)
+                    instanceof RandomCardPlayStrategy);
+
+            model.setCardPlayStrategy(PlayerHandler.PlayersCardinalPoint.West, new IsmctsCardPlayStrategy(
+                    ForkJoinPool.commonPool(), 1000, 100, new SplittableRandom(17)));
+            for (int i = 0; i < 5; i++) {
+                model.playHeadlessGame();
+                assertTrue(model.getNbTricksPlayed() == 18);
+                assertTrue(model.getPlayHistory().getNbCards() == 72);
+                assertTrue(model.getCardTracker().getNbCards() == 72);
+                for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                    assertTrue(model.getCardTracker().getNbPlayed(seat) == 18);
+                assertTrue(model.getTakerPile().size() + model.getDefensePile().size() == 78);
+            }
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Test a tournament gives the same scores whatever its number of threads
+     * @since v1.1.0
+     */
+    @Test
+    public void tournamentRunnerTest() {
+        TournamentPlayer random = new TournamentPlayer("random",
+                r -> new HeuristicBiddingStrategy(), RandomCardPlayStrategy::new);
+        TournamentPlayer bold = new TournamentPlayer("bold",
+                r -> new HeuristicBiddingStrategy(new int[]{0, 50, 70, 80}), RandomCardPlayStrategy::new);
+        TournamentPlayer[] players = {random, bold, random, bold};
+        int nbDeals = 2 * TournamentRunner.DEALS_PER_BLOCK + 96;
+
+        TournamentResult single = new TournamentRunner(players, true, 1).run(nbDeals, 2016);
+        TournamentResult parallel = new TournamentRunner(players, true, 3).run(nbDeals, 2016);
+        assertTrue(single.getNbDeals() == nbDeals);
+        assertTrue(single.hasSameScores(parallel));
+        assertFalse(single.hasSameScores(new TournamentRunner(players, true, 1).run(nbDeals, 2017)));
+
+        for (int p = 0; p < players.length; p++) {
+            assertTrue(single.getPlayerStatistics(p).getCount() == nbDeals);
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                assertTrue(single.getStatistics(p, seat).getCount() == nbDeals / Trick.NB_SEATS);
+        }
+        assertTrue(single.getNbPassedDeals() < nbDeals);
+        long zeroSum = 0;
+        for (int p = 0; p < players.length; p++)
+            zeroSum += single.getPlayerStatistics(p).getSum();
+        assertTrue(zeroSum == 0);
+
+        //Duplicate : same scores whatever the number of threads
+        DealPool pool = DealPool.generate(2016, 300);
+        TournamentResult duplicate = new TournamentRunner(players, false, 1).runDuplicate(pool, 5);
+        assertTrue(duplicate.getNbDeals() == 4 * 300);
+        assertTrue(duplicate.hasSameScores(new TournamentRunner(players, false, 2).runDuplicate(pool, 5)));
+        for (int p = 0; p < players.length; p++)
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                assertTrue(duplicate.getStatistics(p, seat).getCount() == 300);
+    }
+
+    /**
+     * Test rotating players bid from every position relative to the dealer as often
+     * @since v1.1.0
+     */
+    @Test
+    public void tournamentDealerRotationTest() {
+        int[][] nbBidsByPosition = new int[Trick.NB_SEATS][Trick.NB_SEATS];
+        int[] nbBids = new int[1];
+        TournamentPlayer[] players = new TournamentPlayer[Trick.NB_SEATS];
+        for (int p = 0; p < players.length; p++) {
+            int player = p;
+            players[p] = new TournamentPlayer("player" + p, r -> {
+                BiddingStrategy strategy = new HeuristicBiddingStrategy();
+                return (hand, highestBid) -> {
+                    //Bids are chosen from the dealer's right, the dealer bidding last
+                    nbBidsByPosition[player][nbBids[0]++ % Trick.NB_SEATS]++;
+                    return strategy.chooseBid(hand, highestBid);
+                };
+            }, RandomCardPlayStrategy::new);
+        }
+        int nbDeals = 4 * Trick.NB_SEATS * 25;
+        TournamentResult result = new TournamentRunner(players, true, 1).run(nbDeals, 2016);
+
+        assertTrue(nbBids[0] == Trick.NB_SEATS * nbDeals);
+        for (int p = 0; p < players.length; p++) {
+            for (int position = 0; position < Trick.NB_SEATS; position++)
+                assertTrue(nbBidsByPosition[p][position] == nbDeals / Trick.NB_SEATS);
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++)
+                assertTrue(result.getStatistics(p, seat).getCount() == nbDeals / Trick.NB_SEATS);
+        }
+    }
+
+    /**
+     * Test each player of a duplicate tournament holds each hand of every pooled deal exactly once
+     * @since v1.1.0
+     */
+    @Test
+    public void duplicateHandsTest() {
+        DealPool pool = DealPool.generate(2016, 300);
+        List<List<CardSet>> receivedHands = new ArrayList<>();
+        TournamentPlayer[] players = new TournamentPlayer[Trick.NB_SEATS];
+        for (int p = 0; p < players.length; p++) {
+            List<CardSet> hands = new ArrayList<>();
+            receivedHands.add(hands);
+            players[p] = new TournamentPlayer("player" + p, r -> {
+                BiddingStrategy strategy = new HeuristicBiddingStrategy();
+                return (hand, highestBid) -> {
+                    synchronized (hands) {
+                        hands.add(new CardSet(hand.getLowMask(), hand.getHighMask()));
+                    }
+                    return strategy.chooseBid(hand, highestBid);
+                };
+            }, RandomCardPlayStrategy::new);
+        }
+        new TournamentRunner(players, false, 2).runDuplicate(pool, 5);
+
+        Map<CardSet, Integer> expectedHands = new HashMap<>();
+        for (int d = 0; d < pool.getNbDeals(); d++) {
+            Deal deal = pool.getDeal(d);
+            for (int seat = 0; seat < Deal.NB_SEATS; seat++)
+                expectedHands.put(deal.getHand(seat), 1);
+        }
+        assertTrue(expectedHands.size() == Deal.NB_SEATS * pool.getNbDeals());
+        for (List<CardSet> hands : receivedHands) {
+            Map<CardSet, Integer> handCounts = new HashMap<>();
+            for (CardSet hand : hands)
+                handCounts.merge(hand, 1, Integer::sum);
+            assertEquals(expectedHands, handCounts);
+        }
+    }
+}
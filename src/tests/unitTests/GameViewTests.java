@@ -24,6 +24,8 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -72,6 +74,7 @@ public class GameViewTests extends Application
         root = new Group();
         try {
             gameModel = new GameModel(false);
+            gameModel.getAnimationClock().setTimeScale(0);
             gameModel.createCards();
         } catch (CardGroupNumberException e) {
             e.getMessage();
@@ -135,6 +138,32 @@ public class GameViewTests extends Application
         assertTrue(scene.getTalon().getChildren().size() == nbNodeTalonBefore + 1);
     }
 
+    /**
+     * Add cards to the view then move them all to the talon with one batch of moves
+     * and verify the batch is completed once every card has reached the talon
+     * @since v1.1.0
+     */
+    @Test
+    public void moveCardsBatch()
+    {
+        Talon talon = gameModel.getTalon();
+        int nbNodeTalonBefore = scene.getTalon().getChildren().size();
+        CardUpdate batch = new CardUpdate(CardUpdateType.MOVE_CARDS);
+        for (int i = 0; i < 6; i++) {
+            Card card = gameModel.getWholeCardsDeck().get(i);
+            gameModel.notifyObserversOfCardUpdate(new CardUpdate(CardUpdateType.ADD_CARD, card));
+            batch.addMove(card, talon, 10 * i);
+        }
+        gameModel.notifyObserversOfCardUpdate(batch);
+        try {
+            batch.getCompletion().get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            System.err.println(e.toString());
+        }
+        assertTrue(batch.isCompleted());
+        assertTrue(scene.getTalon().getChildren().size() == nbNodeTalonBefore + 6);
+    }
+
     /**
      * Add a card to the view then delete and verify the number of cards of the group have been decrease
      * @since v0.6
@@ -19,6 +19,22 @@ import exceptions.CardUniquenessException;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -305,4 +321,1134 @@ public class StandaloneModelClassesTests {
             assertTrue( Talon.exists() );
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests card group mask when adding, removing
+     * and reordering cards
+     * No exception should be fired
+     * @since v1.1.0
+     *
+     * @throws CardNumberException if user tries to create too much cards
+     * @throws CardUniquenessException if user tries to create too identical cards
+     * @throws CardGroupNumberException if user tries to create too much hands
+     */
+    @Test
+    public void CardGroupMaskTest()
+            throws CardNumberException, CardUniquenessException, CardGroupNumberException {
+        try {
+            Card heartKing = new Card(Suit.Heart, Rank.King);
+            Card trump1 = new Card(Suit.Trump, 1);
+            Card trump21 = new Card(Suit.Trump, 21);
+            Card excuse = new Card(Suit.Excuse, -1);
+            Hand hand = new Hand(18);
+
+            assertTrue(heartKing.getId() == 27);
+            assertTrue(trump1.getId() == 28);
+            assertTrue(excuse.getId() == 77);
+
+            hand.add(trump21);
+            hand.add(heartKing);
+            hand.add(excuse);
+            hand.add(0, trump1);
+
+            assertTrue(hand.size() == 4);
+            assertTrue(hand.get(0) == trump1 && hand.get(3) == excuse);
+            assertTrue(hand.contains(heartKing) && hand.findInCardsList("Trump21"));
+            assertTrue(hand.countSuit(Suit.Trump) == 2 && hand.countSuit(Suit.Club) == 0);
+
+            java.util.Collections.swap(hand, 0, 3);
+            assertTrue(hand.get(0) == excuse && hand.contains(trump1));
+
+            assertTrue(hand.remove(heartKing));
+            assertTrue(!hand.contains(heartKing) && hand.indexOf(heartKing) == -1);
+            assertTrue(hand.remove(0) == excuse);
+            assertTrue(hand.countSuit(Suit.Excuse) == 0 && hand.getInCardsList("Excuse") == null);
+            assertTrue(hand.size() == 2 && hand.get(0) == trump21);
+
+            //A full group refuses cards
+            CardGroup pair = new CardGroup(2);
+            assertTrue(pair.add(heartKing) && pair.add(trump1));
+            assertTrue(!pair.add(excuse) && !pair.contains(excuse));
+            try {
+                pair.add(0, excuse);
+                fail("A card shouldn't be inserted in a full group");
+            } catch (IllegalStateException e) {
+                assertTrue(pair.size() == 2 && !pair.contains(excuse));
+            }
+        } catch (CardNumberException | CardUniquenessException | CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests the canonical cards registry :
+     * each card is preallocated once and found by id, suit and rank
+     * @since v1.1.0
+     */
+    @Test
+    public void CardRegistryTest() {
+        assertTrue(Card.getAllCards().size() == Card.getNbMaxCards());
+        for (int id = 0; id < Card.getNbMaxCards(); id++) {
+            assertTrue(Card.valueOf(id).getId() == id);
+            assertTrue(Card.getIdFromName(Card.valueOf(id).getName()) == id);
+        }
+        assertTrue(Card.valueOf(Suit.Club, Rank.Queen) == Card.valueOf(Suit.Club, Rank.Queen));
+        assertTrue(Card.valueOf(Suit.Club, Rank.Queen).getName().equals("ClubQueen"));
+        assertTrue(Card.valueOfTrump(1).getName().equals("Trump1"));
+        assertTrue(Card.valueOfExcuse().getSuit() == Suit.Excuse);
+        assertTrue(Card.getNbCards() == 0);
+    }
+
+    /**
+     * Tests the bulk deal generator :
+     * each deal gives 18 cards to each seat and 6 to the talon,
+     * and a seed always generates the same deals
+     * @since v1.1.0
+     */
+    @Test
+    public void DealGeneratorTest() {
+        int nbDeals = 5000;
+        long[] buffer = new long[nbDeals * Deal.DEAL_LENGTH];
+        long[] sameSeedBuffer = new long[nbDeals * Deal.DEAL_LENGTH];
+        new DealGenerator(42).generate(buffer, 0, nbDeals);
+        new DealGenerator(42).generate(sameSeedBuffer, 0, nbDeals);
+        assertTrue(Arrays.equals(buffer, sameSeedBuffer));
+
+        for (int d = 0; d < nbDeals; d++) {
+            Deal deal = new Deal(buffer, d * Deal.DEAL_LENGTH);
+            long low = 0, high = 0;
+            for (int seat = 0; seat <= Deal.TALON; seat++) {
+                CardSet cards = deal.getCards(seat);
+                assertTrue(cards.size() == (seat == Deal.TALON ? 6 : 18));
+                assertTrue((low & cards.getLow()) == 0 && (high & cards.getHigh()) == 0);
+                low |= cards.getLow();
+                high |= cards.getHigh();
+            }
+            assertTrue(new CardSet(low, high).size() == Card.getNbMaxCards());
+        }
+
+        List<Deal> streamedDeals = new DealGenerator(42).stream(nbDeals).collect(Collectors.toList());
+        assertTrue(streamedDeals.size() == nbDeals);
+        for (int d = 0; d < nbDeals; d += 999)
+            for (int seat = 0; seat <= Deal.TALON; seat++)
+                assertTrue(streamedDeals.get(d).getCards(seat).equals(new Deal(buffer, d * Deal.DEAL_LENGTH).getCards(seat)));
+
+        for (int i = 0; i < 1000; i++)
+            assertTrue(Integer.bitCount(DealGenerator.drawTalonGaps(new Random(i)::nextInt)) == 6);
+
+        //Petit Sec deals are dealt again, about 0.18% of deals
+        nbDeals = 100000;
+        buffer = new long[nbDeals * Deal.DEAL_LENGTH];
+        RedealStatistics statistics = new RedealStatistics();
+        new DealGenerator(42).generate(buffer, 0, nbDeals, statistics);
+        for (int d = 0; d < nbDeals; d++)
+            assertTrue(new Deal(buffer, d * Deal.DEAL_LENGTH).getPetitSecSeat() == -1);
+        assertTrue(statistics.getNbDeals() == nbDeals);
+        long nbRedealsBySeat = 0;
+        for (int seat = 0; seat < Deal.NB_SEATS; seat++)
+            nbRedealsBySeat += statistics.getNbRedeals(seat);
+        assertTrue(nbRedealsBySeat == statistics.getNbRedeals());
+        assertTrue(statistics.getRedealRate() > 0.0009 && statistics.getRedealRate() < 0.0030);
+    }
+
+    /**
+     * Tests pooled deals are unpacked as generated, with their dealer
+     * @since v1.1.0
+     */
+    @Test
+    public void DealPoolTest() {
+        int nbDeals = 3000;
+        long[] buffer = new long[nbDeals * Deal.DEAL_LENGTH];
+        new DealGenerator(7).generate(buffer, 0, nbDeals);
+        PlayerHandler.PlayersCardinalPoint[] dealers = new PlayerHandler.PlayersCardinalPoint[nbDeals];
+        for (int d = 0; d < nbDeals; d++)
+            dealers[d] = PlayerHandler.PlayersCardinalPoint.values()[(d * 7) % 4];
+        DealPool pool = new DealPool(buffer, 0, dealers);
+        assertTrue(pool.getNbDeals() == nbDeals);
+
+        long[] unpacked = new long[Deal.DEAL_LENGTH + 3];
+        for (int d = 0; d < nbDeals; d++) {
+            pool.copyDeal(d, unpacked, 3);
+            for (int i = 0; i < Deal.DEAL_LENGTH; i++)
+                assertTrue(unpacked[3 + i] == buffer[d * Deal.DEAL_LENGTH + i]);
+            assertTrue(pool.getDealer(d) == dealers[d]);
+        }
+        assertTrue(pool.getDeal(12).getTalon().equals(new Deal(buffer, 12 * Deal.DEAL_LENGTH).getTalon()));
+
+        DealPool generated = DealPool.generate(7, 500);
+        DealPool sameSeed = DealPool.generate(7, 500);
+        for (int d = 0; d < 500; d++) {
+            assertTrue(generated.getDeal(d).getPetitSecSeat() == -1);
+            assertTrue(generated.getDealer(d) == sameSeed.getDealer(d));
+            assertTrue(generated.getDeal(d).getHand(0).equals(sameSeed.getDeal(d).getHand(0)));
+        }
+
+        buffer[0] |= buffer[2];
+        try {
+            new DealPool(buffer, 0, new PlayerHandler.PlayersCardinalPoint[]{PlayerHandler.PlayersCardinalPoint.North});
+            fail("A card dealt twice should be refused");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().length() > 0);
+        }
+    }
+
+    /**
+     * Tests in place cut, rotation and top cards moves
+     * on full and partially filled groups, and on batches of decks
+     * @since v1.1.0
+     */
+    @Test
+    public void CardGroupCutTest() {
+        try {
+            CardGroup fullDeck = new CardGroup(78);
+            CardGroup partialDeck = new CardGroup(78);
+            fullDeck.addAll(Card.getAllCards());
+            partialDeck.addAll(Card.getAllCards().subList(10, 50));
+            partialDeck.remove(0);
+            partialDeck.add(Card.valueOf(5));
+
+            for (CardGroup deck : Arrays.asList(fullDeck, partialDeck)) {
+                List<Card> expected = new ArrayList<>(deck);
+                for (int distance : new int[] {0, 1, 5, 37, deck.size() - 1, deck.size(), -3}) {
+                    deck.rotate(distance);
+                    Collections.rotate(expected, -distance);
+                    assertTrue(expected.equals(deck));
+                }
+                deck.cut(DealGenerator.MIN_CUT);
+                Collections.rotate(expected, -DealGenerator.MIN_CUT);
+                assertTrue(expected.equals(deck));
+            }
+
+            CardGroup target = new CardGroup(18);
+            Card top = fullDeck.get(0);
+            assertTrue(fullDeck.takeTop(3, target) == 3);
+            assertTrue(target.size() == 3 && target.get(0) == top && target.contains(top));
+            assertTrue(fullDeck.size() == 75 && !fullDeck.contains(top));
+            assertTrue(fullDeck.takeTop(20, target) == 15 && target.size() == 18);
+            assertTrue(fullDeck.size() + target.size() == 78);
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+
+        int nbDecks = 3000;
+        byte[] decks = new byte[nbDecks * Card.getNbMaxCards()];
+        new DealGenerator(7).generateDecks(decks, 0, nbDecks);
+        for (int d = 0; d < nbDecks; d++) {
+            CardSet cards = new CardSet();
+            for (int i = 0; i < Card.getNbMaxCards(); i++)
+                cards.add(decks[d * Card.getNbMaxCards() + i]);
+            assertTrue(cards.size() == Card.getNbMaxCards());
+        }
+        byte[] deck = new byte[] {0, 1, 2, 3, 4, 5, 6};
+        DealGenerator.rotate(deck, 0, deck.length, 5);
+        assertTrue(Arrays.equals(deck, new byte[] {5, 6, 0, 1, 2, 3, 4}));
+    }
+
+    /**
+     * Tests hand statistics kept up to date on each card move,
+     * compared with a scan of the hand
+     * @since v1.1.0
+     */
+    @Test
+    public void HandStatisticsTest() {
+        try {
+            Hand hand = new Hand(24);
+            Random random = new Random(78);
+            for (int i = 0; i < 5000; i++) {
+                if (hand.isEmpty() || (hand.size() < 24 && random.nextBoolean()))
+                    hand.add(Card.valueOf(random.nextInt(Card.getNbMaxCards())));
+                else if (random.nextInt(10) == 0)
+                    hand.set(random.nextInt(hand.size()), Card.valueOf(random.nextInt(Card.getNbMaxCards())));
+                else
+                    hand.remove(random.nextInt(hand.size()));
+
+                int nbTrumps = 0, nbOudlers = 0, nbKings = 0, nbHearts = 0, halfPoints = 0;
+                boolean hasPetit = false, hasExcuse = false;
+                for (Card c : hand) {
+                    nbTrumps += (c.getSuit() == Suit.Trump) ? 1 : 0;
+                    nbOudlers += (c.getName().equals("Trump1") || c.getName().equals("Trump21")
+                            || c.getName().equals("Excuse")) ? 1 : 0;
+                    nbKings += (c.getRank() == Rank.King) ? 1 : 0;
+                    nbHearts += (c.getSuit() == Suit.Heart) ? 1 : 0;
+                    halfPoints += c.getHalfPoints();
+                    hasPetit |= c.getName().equals("Trump1");
+                    hasExcuse |= c.getSuit() == Suit.Excuse;
+                }
+                assertTrue(hand.getNbTrumps() == nbTrumps && hand.getNbOudlers() == nbOudlers);
+                assertTrue(hand.getNbKings() == nbKings && hand.getHalfPoints() == halfPoints);
+                assertTrue(hand.hasPetit() == hasPetit && hand.hasExcuse() == hasExcuse);
+                assertTrue(hand.getNbCards(Suit.Heart) == nbHearts);
+                assertTrue(hand.checkHasPetitSec() == (nbTrumps == 1 && hasPetit && !hasExcuse));
+                assertTrue(hand.checkHasOnlyTrumpsKingsAndExcuse()
+                        == (nbTrumps + nbKings + hand.getNbCards(Suit.Excuse) == hand.size()));
+            }
+
+            hand.clear();
+            assertTrue(hand.getNbTrumps() == 0 && hand.getHalfPoints() == 0 && !hand.hasExcuse());
+
+            int totalHalfPoints = 0;
+            for (Card c : Card.getAllCards())
+                totalHalfPoints += c.getHalfPoints();
+            assertTrue(totalHalfPoints == 2 * 91);
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests the linear sort following cards sort keys
+     * and the comparator consistency
+     * @since v1.1.0
+     */
+    @Test
+    public void CardSortTest() {
+        try {
+            Card.CardComparator comparator = Card.getComparator();
+            for (Card c1 : Card.getAllCards())
+                for (Card c2 : Card.getAllCards())
+                    assertTrue(comparator.compare(c1, c2) == -comparator.compare(c2, c1)
+                            && (comparator.compare(c1, c2) == 0) == (c1 == c2));
+
+            CardGroup hand = new CardGroup(24);
+            List<Card> deck = new ArrayList<>(Card.getAllCards());
+            Random random = new Random(24);
+            for (int i = 0; i < 200; i++) {
+                Collections.shuffle(deck, random);
+                hand.clear();
+                hand.addAll(deck.subList(0, 1 + random.nextInt(24)));
+                hand.rotate(random.nextInt(hand.size()));
+
+                List<Card> expected = new ArrayList<>(hand);
+                expected.sort((c1, c2) -> Integer.compare(c1.getId(), c2.getId()));
+                hand.sort(comparator);
+                assertTrue(expected.equals(hand));
+                assertTrue(hand.getCardById(hand.get(0).getId()) == hand.get(0));
+            }
+
+            //void cards are put at the end
+            Card voidCard = new Card();
+            hand.clear();
+            hand.addAll(Arrays.asList(Card.valueOf(40), Card.valueOf(3), Card.valueOf(12)));
+            hand.add(0, voidCard);
+            hand.add(Card.valueOf(3));
+            hand.sort(comparator);
+            assertTrue(hand.get(hand.size() - 1) == voidCard);
+            assertTrue(hand.get(0) == Card.valueOf(3) && hand.get(1) == Card.valueOf(3));
+        } catch (CardGroupNumberException | CardNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests trick winner and legal moves :
+     * follow suit, must trump, must overtrump and the Excuse
+     * @since v1.1.0
+     */
+    @Test
+    public void TrickRulesTest() {
+        Card heartTwo = Card.valueOf(Suit.Heart, Rank.Two);
+        Card heartKing = Card.valueOf(Suit.Heart, Rank.King);
+        Card spadeAce = Card.valueOf(Suit.Spade, Rank.Ace);
+        Card clubQueen = Card.valueOf(Suit.Club, Rank.Queen);
+        Card trumpFive = Card.valueOfTrump(5);
+        Card trumpTen = Card.valueOfTrump(10);
+        Card trumpTwenty = Card.valueOfTrump(20);
+        Card excuse = Card.valueOfExcuse();
+
+        CardSet hand = new CardSet();
+        for (Card c : Arrays.asList(heartKing, spadeAce, clubQueen, trumpFive, trumpTwenty, excuse))
+            hand.add(c.getId());
+        CardSet result = new CardSet();
+        Trick trick = new Trick();
+
+        //Leader plays any card
+        trick.legalMoves(hand.getLow(), hand.getHigh(), result);
+        assertTrue(result.equals(hand));
+
+        //Led suit must be followed, Excuse is always allowed
+        trick.play(0, heartTwo.getId());
+        trick.legalMoves(hand.getLow(), hand.getHigh(), result);
+        assertTrue(result.size() == 2 && result.contains(heartKing.getId()) && result.contains(excuse.getId()));
+
+        //Without led suit, a higher Trump must be played
+        hand.remove(heartKing.getId());
+        trick.play(1, trumpTen.getId());
+        trick.legalMoves(hand.getLow(), hand.getHigh(), result);
+        assertTrue(result.size() == 2 && result.contains(trumpTwenty.getId()) && result.contains(excuse.getId()));
+
+        //Without higher Trump, any Trump must be played
+        hand.remove(trumpTwenty.getId());
+        trick.legalMoves(hand.getLow(), hand.getHigh(), result);
+        assertTrue(result.size() == 2 && result.contains(trumpFive.getId()));
+
+        //Without Trump, any card can be played
+        hand.remove(trumpFive.getId());
+        trick.legalMoves(hand.getLow(), hand.getHigh(), result);
+        assertTrue(result.equals(hand));
+
+        //Excuse never wins, highest Trump wins
+        trick.play(2, excuse.getId());
+        trick.play(3, heartKing.getId());
+        assertTrue(trick.isComplete());
+        assertTrue(trick.getWinnerSeat() == 1 && trick.getExcuseSeat() == 2);
+        assertTrue(trick.getHalfPoints() == heartTwo.getHalfPoints() + trumpTen.getHalfPoints()
+                + excuse.getHalfPoints() + heartKing.getHalfPoints());
+
+        //Excuse lead : next card gives the led suit, off-suit cards never win
+        trick.reset();
+        trick.play(0, excuse.getId());
+        trick.play(1, clubQueen.getId());
+        trick.play(2, spadeAce.getId());
+        assertTrue(trick.getLedSuit() == Suit.Club && trick.getWinnerSeat() == 1);
+
+        //n-th id follows id order
+        for (int n = 0; n < hand.size(); n++)
+            assertTrue(hand.getNthId(n) >= 0 && (n == 0 || hand.getNthId(n) > hand.getNthId(n - 1)));
+        assertTrue(hand.getNthId(hand.size()) == -1);
+    }
+
+    /**
+     * Tests incremental deal scoring : Excuse exchange, oudlers threshold,
+     * multiplier, Petit au bout, poignée and chelem
+     * @since v1.1.0
+     */
+    @Test
+    public void DealScoreTest() {
+        try {
+            DealScore score = new DealScore();
+            score.start(Bids.Guard, 0);
+            assertTrue(score.declarePoignee(9) == 0);
+            assertTrue(score.declarePoignee(13) == 30);
+            assertTrue(score.declarePoignee(10) == 20);
+            assertTrue(score.getPoigneeBonus() == 50);
+
+            CardGroup talon = new CardGroup(12);
+            for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club))
+                talon.addAll(Arrays.asList(Card.valueOf(suit, Rank.King), Card.valueOf(suit, Rank.Queen),
+                        Card.valueOf(suit, Rank.Knight)));
+            score.addTalon(talon, true);
+            assertTrue(score.getTakerHalfPoints() == 84 && score.getTakerOudlers() == 0);
+
+            //Defense keeps its Excuse and gives a half point card instead
+            Trick trick = new Trick();
+            trick.play(0, Card.valueOfTrump(21).getId());
+            trick.play(1, Card.valueOf(Suit.Heart, Rank.Two).getId());
+            trick.play(2, Card.valueOfExcuse().getId());
+            trick.play(3, Card.valueOf(Suit.Heart, Rank.Three).getId());
+            score.addTrick(trick, false);
+            assertTrue(score.getTakerHalfPoints() == 84 + 9 + 1 + 1 + 1);
+            assertTrue(score.getTakerOudlers() == 1 && score.getThreshold() == 51);
+
+            //Petit au bout won by the taker
+            trick.reset();
+            trick.play(1, Card.valueOfTrump(1).getId());
+            trick.play(2, Card.valueOf(Suit.Club, Rank.Two).getId());
+            trick.play(3, Card.valueOf(Suit.Club, Rank.Three).getId());
+            trick.play(0, Card.valueOfTrump(10).getId());
+            score.addTrick(trick, true);
+            assertTrue(score.getTakerHalfPoints() == 96 + 9 + 1 + 1 + 1);
+            assertTrue(score.getTakerOudlers() == 2 && score.getThreshold() == 41);
+            assertTrue(score.isContractMade() && score.getPetitAuBoutSide() == 1);
+
+            //(25 + 54 - 41) * 2 + 10 * 2 + poignées 30 + 20 + chelem 200
+            assertTrue(score.getDefenderScore() == -(76 + 20 + 50 + 200));
+            assertTrue(score.getTakerScore() == -3 * score.getDefenderScore());
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests the heuristic bidding strategy hand evaluation and overbidding
+     * @since v1.1.0
+     */
+    @Test
+    public void HeuristicBiddingStrategyTest() {
+        try {
+            TableContext table = new TableContext();
+            Hand hand = new Hand(table, 24);
+            HeuristicBiddingStrategy strategy = new HeuristicBiddingStrategy();
+
+            //Weak hand : 3 small trumps and low cards
+            for (int i = 2; i <= 4; i++)
+                hand.add(Card.valueOfTrump(i));
+            for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club))
+                for (Rank rank : Arrays.asList(Rank.Ace, Rank.Two, Rank.Three))
+                    hand.add(Card.valueOf(suit, rank));
+            hand.addAll(Arrays.asList(Card.valueOf(Suit.Spade, Rank.Four), Card.valueOf(Suit.Heart, Rank.Four),
+                    Card.valueOf(Suit.Club, Rank.Four)));
+            assertTrue(hand.size() == 18);
+            assertTrue(strategy.evaluate(hand) == 6);
+            assertTrue(strategy.chooseBid(hand, null) == Bids.Pass);
+
+            //Strong hand : 21, Excuse, protected Petit, 9 trumps, 4 kings, a five cards suit
+            hand.clear();
+            hand.addAll(Arrays.asList(Card.valueOfTrump(21), Card.valueOfExcuse(), Card.valueOfTrump(1)));
+            for (int i = 15; i <= 20; i++)
+                hand.add(Card.valueOfTrump(i));
+            for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club))
+                hand.add(Card.valueOf(suit, Rank.King));
+            for (Rank rank : Arrays.asList(Rank.Ace, Rank.Two, Rank.Three, Rank.Four))
+                hand.add(Card.valueOf(Suit.Heart, rank));
+            hand.add(Card.valueOf(Suit.Club, Rank.Ace));
+            assertTrue(hand.size() == 18);
+            assertTrue(strategy.evaluate(hand) == 2 * 8 + 10 + 8 + 8 + 4 * 6 + 5);
+            assertTrue(strategy.chooseBid(hand, null) == Bids.GuardWithoutTheKitty);
+            assertTrue(strategy.chooseBid(hand, Bids.Guard) == Bids.GuardWithoutTheKitty);
+            assertTrue(strategy.chooseBid(hand, Bids.GuardWithoutTheKitty) == Bids.Pass);
+
+            //Custom thresholds
+            HeuristicBiddingStrategy careful = new HeuristicBiddingStrategy(new int[]{90, 100, 110, 120});
+            assertTrue(careful.chooseBid(hand, null) == Bids.Pass);
+            assertTrue(Bids.Small.isHigherThan(Bids.Pass) && !Bids.Pass.isHigherThan(null)
+                    && !Bids.Small.isHigherThan(Bids.Guard));
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests random playouts and the Monte Carlo bid advisor time budget
+     * @since v1.1.0
+     */
+    @Test
+    public void BidAdvisorTest() {
+        SplittableRandom random = new SplittableRandom(14);
+        long[] deal = new long[Deal.DEAL_LENGTH];
+        new DealGenerator(14).generate(deal, 0, 1);
+
+        DealScore[] scores = {new DealScore()};
+        scores[0].start(Bids.Guard, 2);
+        new DealPlayout().play(deal, 0, 0, random, scores);
+        assertTrue(scores[0].getTakerTricks() + scores[0].getDefenseTricks() == 18);
+
+        //Strong hand : all trumps but 3 and the Excuse
+        CardSet strong = new CardSet();
+        for (int i = 4; i <= 21; i++)
+            strong.add(Card.valueOfTrump(i).getId());
+        strong.remove(Card.valueOfTrump(20).getId());
+        strong.add(Card.valueOfExcuse().getId());
+        assertTrue(strong.size() == 18);
+
+        BidAdvisor advisor = new BidAdvisor();
+        BidAdvice advice = advisor.advise(strong.getLow(), strong.getHigh(), 2, 0, 10000, 400, random);
+        assertTrue(!advice.isBudgetExpired() && advice.getNbSamples() >= 400);
+        assertTrue(advice.getBestBid() != Bids.Pass);
+        assertTrue(advice.getExpectedScore(Bids.GuardAgainstTheKitty) > advice.getExpectedScore(Bids.Small));
+
+        //Weak hand : small cards only
+        CardSet weak = new CardSet();
+        for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart, Suit.Diamond))
+            for (Rank rank : Arrays.asList(Rank.Ace, Rank.Two, Rank.Three, Rank.Four, Rank.Five, Rank.Six))
+                weak.add(Card.valueOf(suit, rank).getId());
+        advice = advisor.advise(weak.getLow(), weak.getHigh(), 2, 0, 10000, 400, random);
+        assertTrue(advice.getBestBid() == Bids.Pass && advice.getExpectedScore(Bids.Small) < 0);
+
+        //Partial result when the budget expires
+        advice = advisor.advise(weak.getLow(), weak.getHigh(), 2, 0, 50, Integer.MAX_VALUE, random);
+        assertTrue(advice.isBudgetExpired() && advice.getNbSamples() > 0);
+    }
+
+    /**
+     * Tests the exhaustive Ecart optimizer against a plain enumeration,
+     * and the Trumps completing the Ecart
+     * @since v1.1.0
+     */
+    @Test
+    public void EcartOptimizerTest() {
+        EcartEvaluator evaluator = new WeightedEcartEvaluator();
+        EcartOptimizer optimizer = new EcartOptimizer(evaluator);
+
+        //4 kings, 3 oudlers and 17 allowed cards
+        CardSet hand = new CardSet();
+        List<Integer> allowed = new ArrayList<>();
+        for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart, Suit.Diamond, Suit.Club))
+            hand.add(Card.valueOf(suit, Rank.King).getId());
+        for (Card c : Arrays.asList(Card.valueOfTrump(1), Card.valueOfTrump(21), Card.valueOfExcuse()))
+            hand.add(c.getId());
+        for (Rank rank : Arrays.asList(Rank.Ace, Rank.Two, Rank.Three, Rank.Queen, Rank.Knight, Rank.Jack,
+                Rank.Ten, Rank.Nine))
+            allowed.add(Card.valueOf(Suit.Heart, rank).getId());
+        for (Rank rank : Arrays.asList(Rank.Ace, Rank.Two, Rank.Three, Rank.Four, Rank.Five))
+            allowed.add(Card.valueOf(Suit.Club, rank).getId());
+        for (Rank rank : Arrays.asList(Rank.Queen, Rank.Two, Rank.Three))
+            allowed.add(Card.valueOf(Suit.Diamond, rank).getId());
+        allowed.add(Card.valueOf(Suit.Spade, Rank.Seven).getId());
+        allowed.forEach(hand::add);
+        assertTrue(hand.size() == 24);
+        assertTrue(EcartOptimizer.countEcarts(hand.getLow(), hand.getHigh()) == 12376);
+
+        int bestScore = Integer.MIN_VALUE;
+        int n = allowed.size();
+        for (int a = 0; a < n; a++) for (int b = a + 1; b < n; b++) for (int c = b + 1; c < n; c++)
+            for (int d = c + 1; d < n; d++) for (int e = d + 1; e < n; e++) for (int f = e + 1; f < n; f++) {
+                CardSet ecart = new CardSet();
+                for (int i : new int[]{a, b, c, d, e, f})
+                    ecart.add(allowed.get(i));
+                bestScore = Math.max(bestScore, evaluator.evaluate(hand.getLow() & ~ecart.getLow(),
+                        hand.getHigh() & ~ecart.getHigh(), ecart.getLow(), ecart.getHigh()));
+            }
+
+        EcartChoice[] choices = optimizer.optimize(hand.getLow(), hand.getHigh(), 5);
+        assertTrue(choices.length == 5 && choices[0].getScore() == bestScore);
+        for (int i = 0; i < choices.length; i++) {
+            CardSet ecart = choices[i].getCards();
+            assertTrue(ecart.size() == 6);
+            for (int id = ecart.nextId(0); id >= 0; id = ecart.nextId(id + 1))
+                assertTrue(allowed.contains(id));
+            assertTrue(i == 0 || choices[i - 1].compareTo(choices[i]) < 0);
+        }
+        //Kings keep a card of their suit, honours are put in the Ecart
+        for (Card c : Arrays.asList(Card.valueOf(Suit.Heart, Rank.Queen), Card.valueOf(Suit.Heart, Rank.Knight),
+                Card.valueOf(Suit.Heart, Rank.Jack), Card.valueOf(Suit.Diamond, Rank.Queen)))
+            assertTrue(choices[0].getCards().contains(c.getId()));
+        assertTrue(!choices[0].getCards().contains(Card.valueOf(Suit.Spade, Rank.Seven).getId()));
+
+        //2 allowed cards : Trumps which aren't oudlers complete the Ecart
+        CardSet trumpHand = new CardSet();
+        for (int i = 1; i <= 21; i++)
+            trumpHand.add(Card.valueOfTrump(i).getId());
+        trumpHand.add(Card.valueOf(Suit.Heart, Rank.King).getId());
+        trumpHand.add(Card.valueOf(Suit.Heart, Rank.Two).getId());
+        trumpHand.add(Card.valueOf(Suit.Club, Rank.Two).getId());
+        EcartChoice trumpEcart = optimizer.optimize(trumpHand.getLow(), trumpHand.getHigh(), 1)[0];
+        assertTrue(trumpEcart.getCards().size() == 6 && trumpEcart.getCards().countSuit(Suit.Trump) == 4);
+        assertTrue(trumpEcart.getCards().contains(Card.valueOf(Suit.Club, Rank.Two).getId())
+                && !trumpEcart.getCards().contains(Card.valueOfTrump(1).getId())
+                && !trumpEcart.getCards().contains(Card.valueOfTrump(21).getId()));
+
+        //Worst case : 24 allowed cards
+        CardSet wide = new CardSet();
+        for (Suit suit : Arrays.asList(Suit.Spade, Suit.Heart))
+            for (Rank rank : Rank.values())
+                if ( rank != Rank.King && rank != Rank.Queen)
+                    wide.add(Card.valueOf(suit, rank).getId());
+        assertTrue(EcartOptimizer.countEcarts(wide.getLow(), wide.getHigh()) == 134596);
+        assertTrue(optimizer.optimize(wide.getLow(), wide.getHigh(), EcartOptimizer.DEFAULT_TOP).length == 5);
+    }
+
+    /**
+     * Tests the double-dummy solver against a plain minimax on small open-hand deals,
+     * from a trick start and from a trick in progress
+     * @since v1.1.0
+     */
+    @Test
+    public void DoubleDummySolverTest() {
+        Random random = new Random(16);
+        DoubleDummySolver parallelSolver = new DoubleDummySolver(18, true);
+        DoubleDummySolver sequentialSolver = new DoubleDummySolver(18, false);
+        for (int n = 0; n < 30; n++) {
+            List<Integer> ids = new ArrayList<>();
+            for (int id = 0; id < CardSet.NB_IDS; id++)
+                ids.add(id);
+            Collections.shuffle(ids, random);
+            long[] hands = new long[DealPlayout.HANDS_LENGTH];
+            for (int i = 0; i < 16; i++) {
+                int id = ids.get(i);
+                hands[2 * (i % 4) + id / 64] |= 1L << (id % 64);
+            }
+            int takerSeat = random.nextInt(4);
+            int leaderSeat = random.nextInt(4);
+            Trick trick = new Trick();
+            int expected = minimax(hands, takerSeat, trick, leaderSeat);
+            assertTrue(parallelSolver.solve(hands, takerSeat, trick, leaderSeat) == expected);
+            assertTrue(sequentialSolver.solve(hands, takerSeat, trick, leaderSeat) == expected);
+            assertTrue(parallelSolver.getNbNodes() > 0);
+
+            //the best card keeps the value
+            int bestId = parallelSolver.getBestCardId();
+            long[] afterBest = hands.clone();
+            afterBest[2 * leaderSeat + bestId / 64] &= ~(1L << (bestId % 64));
+            trick.play(leaderSeat, bestId);
+            assertTrue(minimax(afterBest, takerSeat, trick, (leaderSeat + 1) % 4) == expected);
+            assertTrue(parallelSolver.solve(afterBest, takerSeat, trick, (leaderSeat + 1) % 4) == expected);
+        }
+    }
+
+    /**
+     * Compute the value of an open-hand position by trying every legal card
+     * @since v1.1.0
+     */
+    private static int minimax(long[] hands, int takerSeat, Trick trick, int seat) {
+        if ( trick.isEmpty() && (hands[2 * seat] | hands[2 * seat + 1]) == 0)
+            return 0;
+        CardSet moves = new CardSet();
+        trick.legalMoves(hands[2 * seat], hands[2 * seat + 1], moves);
+        int best = (seat == takerSeat) ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        for (int id = moves.nextId(0); id >= 0; id = moves.nextId(id + 1)) {
+            long[] next = hands.clone();
+            next[2 * seat + id / 64] &= ~(1L << (id % 64));
+            Trick nextTrick = new Trick();
+            nextTrick.copyFrom(trick);
+            nextTrick.play(seat, id);
+            int value;
+            if ( nextTrick.isComplete()) {
+                DealScore score = new DealScore();
+                score.start(Bids.Small, takerSeat);
+                score.addTrick(nextTrick, false);
+                int winner = nextTrick.getWinnerSeat();
+                nextTrick.reset();
+                value = score.getTakerHalfPoints() + minimax(next, takerSeat, nextTrick, winner);
+            }
+            else
+                value = minimax(next, takerSeat, nextTrick, (seat + 1) % 4);
+            best = (seat == takerSeat) ? Math.max(best, value) : Math.min(best, value);
+        }
+        return best;
+    }
+
+    /**
+     * Tests the information set MCTS card play : legal cards within the iterations budget,
+     * tree reuse from a move to the next one and an endgame choice
+     * @since v1.1.0
+     */
+    @Test
+    public void IsmctsCardPlayStrategyTest() {
+        try {
+            long[] deal = new long[Deal.DEAL_LENGTH];
+            new DealGenerator(17).generate(deal, 0, 1);
+            Hand[] hands = new Hand[Trick.NB_SEATS];
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++) {
+                hands[seat] = new Hand(18);
+                CardSet cards = new CardSet(deal[2 * seat], deal[2 * seat + 1]);
+                for (int id = cards.nextId(0); id >= 0; id = cards.nextId(id + 1))
+                    hands[seat].add(Card.valueOf(id));
+            }
+
+            //South takes and leads : the search stops after its iterations
+            IsmctsCardPlayStrategy strategy = new IsmctsCardPlayStrategy(ForkJoinPool.commonPool(), 60000,
+                    2000, new SplittableRandom(17));
+            PlayHistory history = new PlayHistory();
+            history.start(2, 2, 0, 0);
+            CardTracker tracker = new CardTracker();
+            Trick trick = new Trick();
+            int id = strategy.chooseCard(2, hands[2], trick, history, tracker);
+            assertTrue(hands[2].contains(Card.valueOf(id)));
+            assertTrue(strategy.getLastNbIterations() >= 2000 && strategy.getLastReusedVisits() == 0);
+
+            //South holds Trumps 4 to 21 and wins every trick : after 15 tricks,
+            //the tree searched for its next lead is reused for the lead after
+            for (Hand hand : hands)
+                while ( !hand.isEmpty() )
+                    hand.remove(hand.get(0));
+            int[] otherSeats = {0, 1, 3};
+            CardSet ecart = new CardSet();
+            int nbOthers = 0;
+            for (id = 0; id < CardSet.NB_IDS; id++) {
+                Card card = Card.valueOf(id);
+                if ( card.getSuit() == Suit.Trump && card.getTrumpRank() >= 4)
+                    hands[2].add(card);
+                else if ( nbOthers++ < 6)
+                    ecart.add(id);
+                else
+                    hands[otherSeats[(nbOthers - 7) / 18]].add(card);
+            }
+
+            IsmctsCardPlayStrategy endgame = new IsmctsCardPlayStrategy(ForkJoinPool.commonPool(), 60000,
+                    20000, new SplittableRandom(17));
+            SplittableRandom random = new SplittableRandom(17);
+            CardSet legalMoves = new CardSet();
+            history.start(2, 2, ecart.getLow(), ecart.getHigh());
+            tracker.start();
+            for (int t = 0; t < 17; t++) {
+                trick.reset();
+                for (int i = 0; i < Trick.NB_SEATS; i++) {
+                    int seat = (2 + i) % Trick.NB_SEATS;
+                    if ( seat == 2 && t >= 15) {
+                        id = endgame.chooseCard(seat, hands[seat], trick, history, tracker);
+                        if ( t == 16)
+                            assertTrue(endgame.getLastReusedVisits() > 0);
+                    }
+                    else {
+                        trick.legalMoves(hands[seat].getLowMask(), hands[seat].getHighMask(), legalMoves);
+                        id = legalMoves.getNthId(random.nextInt(legalMoves.size()));
+                    }
+                    assertTrue(hands[seat].contains(Card.valueOf(id)));
+                    trick.play(seat, id);
+                    history.add(seat, id);
+                    tracker.cardPlayed(seat, id);
+                    hands[seat].remove(Card.valueOf(id));
+                }
+                assertTrue(trick.getWinnerSeat() == 2);
+            }
+
+            //South trumps a Heart trick : the small Trump is played, the 21 kept for the last trick
+            Hand south = hands[2];
+            while ( !south.isEmpty() )
+                south.remove(south.get(0));
+            south.add(Card.valueOfTrump(2));
+            south.add(Card.valueOfTrump(21));
+            history.start(2, 3, 0, 0);
+            tracker.start();
+            trick.reset();
+            int[] heartTrick = {Card.valueOf(Suit.Heart, Rank.King).getId(), Card.valueOf(Suit.Heart, Rank.Two).getId(),
+                    Card.valueOf(Suit.Heart, Rank.Three).getId()};
+            for (int i = 0; i < heartTrick.length; i++) {
+                trick.play((3 + i) % Trick.NB_SEATS, heartTrick[i]);
+                history.add((3 + i) % Trick.NB_SEATS, heartTrick[i]);
+                tracker.cardPlayed((3 + i) % Trick.NB_SEATS, heartTrick[i]);
+            }
+            IsmctsCardPlayStrategy bounded = new IsmctsCardPlayStrategy(ForkJoinPool.commonPool(), 10000,
+                    2000, new SplittableRandom(17));
+            assertTrue(bounded.chooseCard(2, south, trick, history, tracker) == Card.valueOfTrump(2).getId());
+            assertTrue(bounded.getLastNbIterations() >= 2000);
+        } catch (CardGroupNumberException e) {
+            System.err.println(e.getMessage());
+            fail("Exception shouldn't be fired");
+        }
+    }
+
+    /**
+     * Tests the card tracker inferences and the sampled deals respecting them
+     * @since v1.1.0
+     */
+    @Test
+    public void CardTrackerTest() {
+        CardTracker tracker = new CardTracker();
+        //North leads a Spade, West trumps, South doesn't overtrump, East discards a Heart
+        int[] seats = {0, 1, 2, 3};
+        int[] ids = {Card.valueOf(Suit.Spade, Rank.King).getId(), Card.valueOfTrump(10).getId(),
+                Card.valueOfTrump(5).getId(), Card.valueOf(Suit.Heart, Rank.Two).getId()};
+        for (int i = 0; i < ids.length; i++)
+            tracker.cardPlayed(seats[i], ids[i]);
+        assertTrue(tracker.getNbCards() == 4 && tracker.getNbPlayed(1) == 1);
+        assertTrue(tracker.isPlayed(ids[0]) && tracker.isPlayed(ids[3]) && !tracker.isPlayed(Card.valueOfExcuse().getId()));
+        assertTrue(!tracker.isVoid(0, Suit.Spade));
+        assertTrue(tracker.isVoid(1, Suit.Spade) && !tracker.isVoid(1, Suit.Trump));
+        assertTrue(tracker.isVoid(2, Suit.Spade) && tracker.getMaxTrumpId(2) == Card.valueOfTrump(9).getId());
+        assertTrue(tracker.isVoid(3, Suit.Spade) && tracker.isVoid(3, Suit.Trump) && tracker.getMaxTrumpId(3) == -1);
+        assertTrue(tracker.getMaxTrumpId(1) == Card.valueOfTrump(21).getId());
+
+        //the next trick starts by itself : the Excuse lead gives no information
+        tracker.cardPlayed(1, Card.valueOfExcuse().getId());
+        tracker.cardPlayed(2, Card.valueOf(Suit.Club, Rank.Ace).getId());
+        tracker.cardPlayed(3, Card.valueOf(Suit.Club, Rank.Two).getId());
+        assertTrue(!tracker.isVoid(2, Suit.Club) && !tracker.isVoid(3, Suit.Club));
+        tracker.cardPlayed(0, Card.valueOf(Suit.Diamond, Rank.Two).getId());
+        assertTrue(tracker.isVoid(0, Suit.Club) && tracker.isVoid(0, Suit.Trump));
+        long unseenLow = tracker.getUnseenLow(0);
+        long unseenHigh = tracker.getUnseenHigh(0);
+        assertTrue(Long.bitCount(unseenLow) + Long.bitCount(unseenHigh) == 70);
+
+        //South's view : 16 cards in hand, the others hold 16 cards each, 6 cards are aside
+        CardSet south = new CardSet();
+        for (int id = 0; id < CardSet.NB_IDS && south.size() < 16; id++)
+            if ( !tracker.isPlayed(id) && Card.valueOf(id).getSuit() != Suit.Trump)
+                south.add(id);
+        CardTracker.Sampler sampler = tracker.newSampler(2, south.getLow(), south.getHigh(), 0, 0);
+        assertTrue(sampler.getNbUnseen() == 54);
+        assertTrue(sampler.getCardCount(0) == 16 && sampler.getCardCount(1) == 16 && sampler.getCardCount(3) == 16);
+        assertTrue(sampler.getCardCount(CardTracker.ASIDE) == 6);
+        SplittableRandom random = new SplittableRandom(18);
+        long[] hands = new long[DealPlayout.HANDS_LENGTH];
+        for (int n = 0; n < 1000; n++) {
+            assertTrue(sampler.sample(random, hands));
+            assertTrue(hands[4] == south.getLow() && hands[5] == south.getHigh());
+            CardSet all = new CardSet();
+            for (int seat = 0; seat < Trick.NB_SEATS; seat++) {
+                CardSet hand = new CardSet(hands[2 * seat], hands[2 * seat + 1]);
+                assertTrue(seat == 2 || hand.size() == 16);
+                for (Suit suit : Suit.values())
+                    assertTrue(!tracker.isVoid(seat, suit) || hand.countSuit(suit) == 0 || seat == 2);
+                for (int id = hand.nextId(0); id >= 0; id = hand.nextId(id + 1)) {
+                    assertTrue(!tracker.isPlayed(id) && all.add(id));
+                    assertTrue(Card.valueOf(id).getSuit() != Suit.Trump || id <= tracker.getMaxTrumpId(seat));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests events are delivered in order to every subscriber,
+     * that a blocked subscriber neither stalls publishing nor the other subscribers,
+     * and that a lossless subscriber is waited for instead of losing events
+     * @since v1.1.0
+     */
+    @Test
+    public void EventChannelTest() {
+        EventChannel<Integer> channel = new EventChannel<>("test", 64);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        CountDownLatch blocker = new CountDownLatch(1);
+        EventChannel<Integer>.Subscription fast = channel.subscribe("fast", received::add);
+        EventChannel<Integer>.Subscription slow = channel.subscribe("slow", event -> {
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(channel.getNbSubscribers() == 2);
+
+        int nbEvents = 50;
+        for (int i = 0; i < nbEvents; i++)
+            channel.publish(i);
+        awaitUpToDate(fast);
+        assertTrue(received.size() == nbEvents);
+        for (int i = 0; i < nbEvents; i++)
+            assertTrue(received.get(i) == i);
+
+        //The slow subscriber is overtaken by a whole ring : publishing doesn't wait for it
+        for (int i = 0; i < 10 * channel.getCapacity(); i++)
+            channel.publish(i);
+        assertTrue(channel.getNbPublished() == nbEvents + 10 * channel.getCapacity());
+        blocker.countDown();
+        awaitUpToDate(slow);
+        awaitUpToDate(fast);
+        assertTrue(slow.getNbDropped() > 0);
+        assertTrue(slow.getNbDelivered() + slow.getNbDropped() == channel.getNbPublished());
+        assertTrue(fast.getNbDelivered() + fast.getNbDropped() == channel.getNbPublished());
+
+        slow.cancel();
+        fast.cancel();
+        assertTrue(!channel.hasSubscribers());
+
+        //A blocked lossless subscriber holds the publisher a ring ahead of it
+        List<Integer> lossless = new CopyOnWriteArrayList<>();
+        CountDownLatch losslessBlocker = new CountDownLatch(1);
+        EventChannel<Integer>.Subscription waited = channel.subscribe("lossless", event -> {
+            try {
+                losslessBlocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lossless.add(event);
+        }, true);
+        assertTrue(waited.isLossless());
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 3 * channel.getCapacity(); i++)
+                channel.publish(i);
+        });
+        publisher.start();
+        try {
+            publisher.join(200);
+            assertTrue(publisher.isAlive());
+            losslessBlocker.countDown();
+            publisher.join(5000);
+        } catch (InterruptedException e) {
+            fail("Test thread shouldn't be interrupted");
+        }
+        assertTrue(!publisher.isAlive());
+        awaitUpToDate(waited);
+        assertTrue(waited.getNbDropped() == 0 && lossless.size() == 3 * channel.getCapacity());
+        for (int i = 0; i < lossless.size(); i++)
+            assertTrue(lossless.get(i) == i);
+        waited.cancel();
+
+        try {
+            new EventChannel<Integer>("test", 100);
+            fail("A capacity which isn't a power of 2 should be refused");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().length() > 0);
+        }
+    }
+
+    /**
+     * Tests the events of every kind reach the ordered subscriber in publishing order,
+     * typed subscribers receiving their own kind of events only
+     * @since v1.1.0
+     */
+    @Test
+    public void GameEventBusTest() {
+        GameEventBus bus = new GameEventBus();
+        assertTrue(!bus.hasSubscribers());
+        List<GameEvent> received = new CopyOnWriteArrayList<>();
+        List<GameState> states = new CopyOnWriteArrayList<>();
+        EventChannel<GameEvent>.Subscription ordered = bus.subscribe("ordered", received::add);
+        EventChannel<GameEvent>.Subscription typed = bus.subscribeGameStates("typed", states::add);
+        assertTrue(bus.hasSubscribers() && ordered.isLossless() && !typed.isLossless());
+
+        CardUpdate cardUpdate = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOfExcuse());
+        bus.publishGameState(GameState.TRICKS_PLAYING);
+        bus.publishCardUpdate(cardUpdate);
+        bus.publishNotification(NotificationType.PLAY_CARD);
+        bus.publishGameState(GameState.TRICK_ENDED);
+        bus.publishCardUpdate(cardUpdate);
+        bus.publishNotification(NotificationType.PLAY_CARD);
+        awaitUpToDate(ordered);
+        awaitUpToDate(typed);
+
+        GameEvent.Kind[] kinds = {GameEvent.Kind.GAME_STATE, GameEvent.Kind.CARD_UPDATE, GameEvent.Kind.NOTIFICATION};
+        assertTrue(received.size() == 6);
+        for (int i = 0; i < received.size(); i++)
+            assertTrue(received.get(i).getKind() == kinds[i % kinds.length]);
+        assertTrue(received.get(1).getCardUpdate() == cardUpdate && received.get(4).getCardUpdate() == cardUpdate);
+        assertTrue(received.get(3).getGameState() == GameState.TRICK_ENDED);
+        assertTrue(received.get(2).getNotification() == NotificationType.PLAY_CARD);
+        assertTrue(received.get(2) == GameEvent.of(NotificationType.PLAY_CARD));
+        assertTrue(states.equals(Arrays.asList(GameState.TRICKS_PLAYING, GameState.TRICK_ENDED)));
+
+        bus.close();
+        assertTrue(!bus.hasSubscribers());
+    }
+
+    /**
+     * Tests card updates completion futures, alone and in batches
+     * @since v1.1.0
+     */
+    @Test
+    public void CardUpdateCompletionTest() {
+        List<CardUpdate> batch = new ArrayList<>();
+        for (int id = 0; id < 3; id++)
+            batch.add(new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(id)));
+        CompletableFuture<Void> allCompleted = CardUpdate.allCompleted(batch);
+
+        batch.get(0).complete();
+        batch.get(0).complete();
+        assertTrue(batch.get(0).isCompleted());
+        assertTrue(batch.get(0).getCompletion().join() == batch.get(0));
+        batch.get(2).complete();
+        assertTrue(!allCompleted.isDone());
+        try {
+            allCompleted.get(10, TimeUnit.MILLISECONDS);
+            fail("A batch with an animation running shouldn't be completed");
+        } catch (TimeoutException e) {
+            assertTrue(!batch.get(1).isCompleted());
+        } catch (InterruptedException | ExecutionException e) {
+            fail("Exception shouldn't be fired");
+        }
+
+        new Thread(() -> batch.get(1).complete()).start();
+        allCompleted.join();
+        assertTrue(CardUpdate.allCompleted(new ArrayList<>()).isDone());
+    }
+
+    /**
+     * Tests an update is completed by the last animation of its tree,
+     * whatever the order and the threads animations end in
+     * @since v1.1.0
+     */
+    @Test
+    public void CardUpdateSubUpdatesTest() {
+        CardUpdate root = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(0));
+        CardUpdate child = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(1));
+        CardUpdate grandChild = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(2));
+        CardUpdate finishedChild = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(3));
+        finishedChild.setAnimationFinished();
+        root.addSubUpdate(child);
+        root.addSubUpdate(finishedChild);
+        child.addSubUpdate(grandChild);
+        assertTrue(root.getNbPendingAnimations() == 2);
+
+        root.setAnimationFinished();
+        root.setAnimationFinished();
+        child.setAnimationFinished();
+        assertTrue(root.getNbPendingAnimations() == 1 && !root.isCompleted() && !child.isCompleted());
+        grandChild.setAnimationFinished();
+        assertTrue(grandChild.isCompleted() && child.isCompleted() && root.isCompleted());
+
+        //Sub-updates ended concurrently
+        CardUpdate parent = new CardUpdate(CardUpdateType.DELETE_CARD, Card.valueOf(0));
+        List<CardUpdate> subUpdates = new ArrayList<>();
+        for (int id = 0; id < Card.getNbMaxCards(); id++) {
+            CardUpdate subUpdate = new CardUpdate(CardUpdateType.MOVE_CARD_BETWEEN_GROUPS, Card.valueOf(id), null);
+            parent.addSubUpdate(subUpdate);
+            subUpdates.add(subUpdate);
+        }
+        parent.setAnimationFinished();
+        subUpdates.parallelStream().forEach(CardUpdate::setAnimationFinished);
+        assertTrue(parent.isCompleted());
+        assertTrue(parent.getNbPendingAnimations() == 0);
+    }
+
+    /**
+     * Tests a batch of moves keeps its moves in order with their offsets,
+     * and is completed when its last move is
+     * @since v1.1.0
+     */
+    @Test
+    public void CardUpdateMovesTest() {
+        CardUpdate batch = new CardUpdate(CardUpdateType.MOVE_CARDS);
+        assertTrue(batch.getType() == CardUpdateType.MOVE_CARDS && batch.getNbMoves() == 0);
+        for (int id = 0; id < 6; id++)
+            batch.addMove(Card.valueOf(id), null, 50 * id);
+        assertTrue(batch.getNbMoves() == 6);
+        for (int i = 0; i < batch.getNbMoves(); i++) {
+            assertTrue(batch.getMoves().get(i).getCard() == Card.valueOf(i));
+            assertTrue(batch.getMoves().get(i).getType() == CardUpdateType.MOVE_CARD_BETWEEN_GROUPS);
+            assertTrue(batch.getMoveStartOffset(i) == 50 * i);
+        }
+
+        for (CardUpdate move : batch.getMoves())
+            batch.addSubUpdate(move);
+        batch.setAnimationFinished();
+        for (CardUpdate move : batch.getMoves()) {
+            assertTrue(!batch.isCompleted());
+            move.setAnimationFinished();
+        }
+        assertTrue(batch.isCompleted());
+
+        assertTrue(new CardUpdate(CardUpdateType.SORT_DECK).getType() == null);
+    }
+
+    /**
+     * Tests the animation clock scales waits, returns at once in instant mode
+     * and suspends waits while it is paused
+     * @since v1.1.0
+     */
+    @Test
+    public void AnimationClockTest() {
+        AnimationClock clock = new AnimationClock();
+        AtomicInteger nbChanges = new AtomicInteger();
+        clock.addListener(nbChanges::incrementAndGet);
+        assertTrue(clock.scale(1000) == 1000 && !clock.isInstant() && !clock.isPaused());
+        clock.setTimeScale(0.1);
+        assertTrue(clock.scale(1000) == 100);
+        clock.setTimeScale(0);
+        assertTrue(clock.isInstant() && clock.scale(3000) == 0);
+        try {
+            clock.setTimeScale(-1);
+            fail("A negative time scale should be refused");
+        } catch (IllegalArgumentException e) {
+            assertTrue(clock.isInstant());
+        }
+
+        try {
+            long start = System.nanoTime();
+            clock.sleep(3000);
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+
+            clock.setTimeScale(0.01);
+            start = System.nanoTime();
+            clock.sleep(3000);
+            long elapsed = System.nanoTime() - start;
+            assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(29) && elapsed < TimeUnit.MILLISECONDS.toNanos(2000));
+
+            //A paused clock holds the waits until it is resumed
+            clock.pause();
+            CountDownLatch slept = new CountDownLatch(1);
+            new Thread(() -> {
+                try {
+                    clock.sleep(0);
+                    slept.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).start();
+            assertTrue(!slept.await(100, TimeUnit.MILLISECONDS));
+            clock.resume();
+            assertTrue(slept.await(2, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            fail("Exception shouldn't be fired");
+        }
+        assertTrue(nbChanges.get() == 5);
+
+        Runnable listener = nbChanges::incrementAndGet;
+        clock.addListener(listener);
+        clock.removeListener(listener);
+        clock.setTimeScale(1);
+        assertTrue(nbChanges.get() == 6);
+    }
+
+    private static void awaitUpToDate(EventChannel<?>.Subscription subscription) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while ( !subscription.isUpToDate() && System.currentTimeMillis() < deadline)
+            Thread.yield();
+        assertTrue(subscription.isUpToDate());
+    }
+}